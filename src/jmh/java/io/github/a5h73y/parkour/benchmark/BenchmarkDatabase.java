@@ -0,0 +1,212 @@
+package io.github.a5h73y.parkour.benchmark;
+
+import static io.github.a5h73y.parkour.utility.PluginUtils.readContentsOfResource;
+
+import io.github.a5h73y.parkour.database.ConnectionPool;
+import io.github.a5h73y.parkour.database.DatabaseMigrator;
+import io.github.a5h73y.parkour.database.SQLite;
+import io.github.a5h73y.parkour.database.SqlConnectionProvider;
+import io.github.a5h73y.parkour.database.TimeWriteQueue;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * SQLite database seeded with the synthetic times, set up the same way as the plugin's.
+ * A single writer connection and several read-only connections are pooled, and writes are
+ * committed by the write-behind {@link TimeWriteQueue}, so the store behaves as it does on the server.
+ */
+public class BenchmarkDatabase implements SqlConnectionProvider, AutoCloseable {
+
+    private static final int READER_CONNECTIONS = 4;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long BORROW_TIMEOUT_MS = 30000;
+    private static final int WRITE_QUEUE_CAPACITY = 10000;
+    private static final int WRITE_BATCH_SIZE = 100;
+    private static final long WRITE_FLUSH_TIMEOUT_MS = 5000;
+    private static final int SEED_BATCH_SIZE = 10000;
+    private static final int SEED_PROGRESS_INTERVAL = 1_000_000;
+
+    private final SQLite sqlite;
+    private final ConnectionPool readConnectionPool;
+    private final ConnectionPool writeConnectionPool;
+    private final TimeWriteQueue timeWriteQueue;
+
+    private BenchmarkDatabase(File folder, String fileName) {
+        this.sqlite = new SQLite(folder.getPath() + File.separator, fileName);
+        this.writeConnectionPool = new ConnectionPool("Benchmark-Writer", sqlite::createConnection,
+                1, 0, VALIDATION_TIMEOUT_SECONDS, BORROW_TIMEOUT_MS);
+        this.readConnectionPool = new ConnectionPool("Benchmark-Reader", sqlite::createReadOnlyConnection,
+                READER_CONNECTIONS, 0, VALIDATION_TIMEOUT_SECONDS, BORROW_TIMEOUT_MS);
+        this.timeWriteQueue = new TimeWriteQueue(this, WRITE_QUEUE_CAPACITY, WRITE_BATCH_SIZE, null);
+    }
+
+    /**
+     * Open a copy of the database seeded with the synthetic times.
+     * The seeded database is kept in the folder and reused by later runs, as seeding millions of times is slow.
+     * Each run works on a fresh copy, so the times inserted while benchmarking never accumulate.
+     *
+     * @param folder folder holding the databases
+     * @param rows number of times
+     * @return benchmark database
+     * @throws Exception if the database couldn't be seeded or copied
+     */
+    public static BenchmarkDatabase open(File folder, int rows) throws Exception {
+        File seededFile = new File(folder, "parkour-" + rows + ".db");
+        if (!seededFile.exists()) {
+            seed(folder, seededFile, rows);
+        }
+
+        String runFileName = "parkour-" + rows + "-run.db";
+        deleteDatabase(folder, runFileName);
+        Files.copy(seededFile.toPath(), new File(folder, runFileName).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return new BenchmarkDatabase(folder, runFileName);
+    }
+
+    /**
+     * Seed a new database with the courses, players, times and personal bests.
+     * The database is only renamed to the seeded file once complete, so an interrupted seed is never reused.
+     */
+    private static void seed(File folder, File seededFile, int rows) throws Exception {
+        PluginUtils.log("Seeding " + rows + " times into " + seededFile.getName() + ", this may take a while.");
+        long startTime = System.currentTimeMillis();
+        String seedingFileName = "parkour-" + rows + "-seeding.db";
+        deleteDatabase(folder, seedingFileName);
+
+        SQLite seedDatabase = new SQLite(folder.getPath() + File.separator, seedingFileName);
+        seedDatabase.update(readContentsOfResource("sql/sqlite/course.sql"));
+        seedDatabase.update(readContentsOfResource("sql/sqlite/time.sql"));
+        new DatabaseMigrator(seedDatabase).migrate();
+        seedDatabase.closeConnection();
+
+        try (Connection connection = seedDatabase.createConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO course (courseId, name) VALUES (?, ?);")) {
+                for (int i = 0; i < SyntheticTimes.COURSES; i++) {
+                    statement.setInt(1, i + 1);
+                    statement.setString(2, SyntheticTimes.getCourseName(i));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO player (playerId, name) VALUES (?, ?);")) {
+                int players = SyntheticTimes.getPlayerCount(rows);
+                for (int i = 0; i < players; i++) {
+                    statement.setString(1, SyntheticTimes.getPlayerId(i));
+                    statement.setString(2, SyntheticTimes.getPlayerName(i));
+                    statement.addBatch();
+                    if ((i + 1) % SEED_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO time (courseId, playerId, time, deaths) VALUES (?, ?, ?, ?);")) {
+                int[] inserted = new int[1];
+                SyntheticTimes.generate(rows, (courseIndex, playerIndex, time, deaths) -> {
+                    statement.setInt(1, courseIndex + 1);
+                    statement.setString(2, SyntheticTimes.getPlayerId(playerIndex));
+                    statement.setLong(3, time);
+                    statement.setInt(4, deaths);
+                    statement.addBatch();
+
+                    if (++inserted[0] % SEED_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                    if (inserted[0] % SEED_PROGRESS_INTERVAL == 0) {
+                        PluginUtils.log("Seeded " + inserted[0] + " / " + rows + " times.");
+                    }
+                });
+                statement.executeBatch();
+                connection.commit();
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                // SQLite takes the deaths from the row holding the minimum time
+                statement.executeUpdate("INSERT INTO personal_best (courseId, playerId, time, deaths)"
+                        + " SELECT courseId, playerId, MIN(time), deaths FROM time GROUP BY courseId, playerId;");
+                connection.commit();
+                statement.execute("PRAGMA wal_checkpoint(TRUNCATE);");
+            }
+        }
+
+        Files.move(new File(folder, seedingFileName).toPath(), seededFile.toPath());
+        deleteDatabase(folder, seedingFileName);
+        PluginUtils.log("Seeded " + rows + " times in " + (System.currentTimeMillis() - startTime) + "ms.");
+    }
+
+    private static void deleteDatabase(File folder, String fileName) throws IOException {
+        Files.deleteIfExists(new File(folder, fileName).toPath());
+        Files.deleteIfExists(new File(folder, fileName + "-wal").toPath());
+        Files.deleteIfExists(new File(folder, fileName + "-shm").toPath());
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return readConnectionPool.getConnection();
+    }
+
+    @Override
+    public Connection getWriteConnection() throws SQLException {
+        return writeConnectionPool.getConnection();
+    }
+
+    @Override
+    public boolean isMySql() {
+        return false;
+    }
+
+    @Override
+    public boolean isConnectionUnavailable() {
+        return false;
+    }
+
+    @Override
+    public boolean recordConnectionFailure(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("08");
+    }
+
+    @Override
+    public void logSqlException(SQLException e) {
+        PluginUtils.log("[SQL] Error occurred: " + e.getMessage(), 2);
+        e.printStackTrace();
+    }
+
+    @Override
+    public void submitWrite(@NotNull TimeWriteQueue.TimeWrite write) {
+        timeWriteQueue.submit(write);
+    }
+
+    @Override
+    public boolean awaitSubmittedWrites() {
+        return timeWriteQueue.awaitWrites(timeWriteQueue.getSubmittedWrites(), WRITE_FLUSH_TIMEOUT_MS);
+    }
+
+    @Override
+    public void cachePlayerName(@NotNull String playerId, @NotNull String playerName) {
+        // the benchmarks never display the player names
+    }
+
+    @Override
+    public void close() throws SQLException {
+        timeWriteQueue.shutdown();
+        readConnectionPool.close();
+        writeConnectionPool.close();
+        sqlite.closeConnection();
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.a5h73y.parkour.benchmark;
+
+import io.github.a5h73y.parkour.database.LeaderboardCache;
+import io.github.a5h73y.parkour.database.LeaderboardStore;
+import io.github.a5h73y.parkour.database.MemoryLeaderboardStore;
+import io.github.a5h73y.parkour.database.SqlLeaderboardStore;
+import io.github.a5h73y.parkour.database.TimeEntry;
+import java.io.File;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency percentiles of the leaderboard queries made when a Player finishes a Course.
+ * Each benchmark performs the same store calls as the matching {@link io.github.a5h73y.parkour.database.DatabaseManager}
+ * method, which can't be constructed outside of the server, against SQLite and the in-memory store.
+ * Courses, players and times are picked at random for each call, from a fixed seed per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final int TOP_RESULTS = 10;
+    private static final long CACHE_BYTES = 4L * 1024 * 1024 * 1024;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"sqlite", "memory"})
+    public String store;
+
+    private LeaderboardStore leaderboardStore;
+    private BenchmarkDatabase database;
+    private int[] courseIds;
+    private int players;
+
+    /**
+     * Seed the store, then resolve the course IDs.
+     *
+     * @throws Exception if the store couldn't be seeded
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if ("memory".equals(store)) {
+            leaderboardStore = new MemoryLeaderboardStore();
+            SyntheticTimes.seed(leaderboardStore, rows);
+        } else {
+            File folder = new File(System.getProperty("parkour.benchmark.folder", "target/benchmark"));
+            folder.mkdirs();
+            database = BenchmarkDatabase.open(folder, rows);
+            leaderboardStore = new SqlLeaderboardStore(database,
+                    new LeaderboardCache(SyntheticTimes.COURSES, CACHE_BYTES));
+        }
+
+        courseIds = new int[SyntheticTimes.COURSES];
+        for (int i = 0; i < courseIds.length; i++) {
+            courseIds[i] = leaderboardStore.getCourseId(SyntheticTimes.getCourseName(i));
+        }
+        players = SyntheticTimes.getPlayerCount(rows);
+    }
+
+    /**
+     * Close the database, waiting for the inserted times to be committed.
+     *
+     * @throws Exception if the database couldn't be closed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    /**
+     * Random course, player and time for each call.
+     */
+    @State(Scope.Thread)
+    public static class Attempt {
+
+        private static final AtomicLong THREAD_SEEDS = new AtomicLong();
+
+        private final SplittableRandom random = new SplittableRandom(THREAD_SEEDS.incrementAndGet());
+
+        private int courseId(LeaderboardBenchmark benchmark) {
+            return benchmark.courseIds[random.nextInt(benchmark.courseIds.length)];
+        }
+
+        private int playerIndex(LeaderboardBenchmark benchmark) {
+            return random.nextInt(benchmark.players);
+        }
+
+        private long time() {
+            return 10_000 + random.nextInt(590_000);
+        }
+    }
+
+    /**
+     * DatabaseManager#getTopCourseResults.
+     */
+    @Benchmark
+    public List<TimeEntry> getTopCourseResults(Attempt attempt) {
+        return leaderboardStore.getTopResults(attempt.courseId(this), TOP_RESULTS);
+    }
+
+    /**
+     * DatabaseManager#getPositionEntryOnLeaderboard.
+     */
+    @Benchmark
+    public int getPositionEntryOnLeaderboard(Attempt attempt) {
+        int fasterTimes = leaderboardStore.countFasterThan(attempt.courseId(this), attempt.time());
+        return fasterTimes >= 0 ? fasterTimes + 1 : -1;
+    }
+
+    /**
+     * DatabaseManager#getPositionOnLeaderboard.
+     */
+    @Benchmark
+    public int getPositionOnLeaderboard(Attempt attempt) {
+        int courseId = attempt.courseId(this);
+        TimeEntry bestTime = leaderboardStore.getPlayerBest(courseId,
+                SyntheticTimes.getPlayerId(attempt.playerIndex(this)));
+        return bestTime != null ? leaderboardStore.countFasterThan(courseId, bestTime.getTime()) : -1;
+    }
+
+    /**
+     * DatabaseManager#isBestCourseTime.
+     */
+    @Benchmark
+    public boolean isBestCourseTime(Attempt attempt) {
+        return leaderboardStore.countFasterThan(attempt.courseId(this), attempt.time()) == 0;
+    }
+
+    /**
+     * DatabaseManager#insertTime.
+     * With SQLite the time is queued for the writer, so this includes waiting for space when the queue is full.
+     */
+    @Benchmark
+    public void insertTime(Attempt attempt) {
+        int playerIndex = attempt.playerIndex(this);
+        leaderboardStore.insertTime(attempt.courseId(this), SyntheticTimes.getPlayerId(playerIndex),
+                SyntheticTimes.getPlayerName(playerIndex), attempt.time(), 0, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.a5h73y.parkour.benchmark;
+
+import io.github.a5h73y.parkour.database.LeaderboardStore;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic times used to seed the benchmarked stores.
+ * The same seed always produces the same times, so every store is benchmarked against identical data.
+ * Times are spread evenly across the courses, and randomly across the players.
+ */
+public final class SyntheticTimes {
+
+    public static final int COURSES = 1000;
+
+    private static final long SEED = 0x5EEDL;
+    private static final int MINIMUM_PLAYERS = 1000;
+    private static final int TIMES_PER_PLAYER = 10;
+    private static final int MINIMUM_TIME_MS = 10_000;
+    private static final int TIME_RANGE_MS = 590_000;
+    private static final int MAXIMUM_DEATHS = 20;
+
+    /**
+     * Consumer of each synthetic time.
+     */
+    public interface TimeConsumer {
+
+        void accept(int courseIndex, int playerIndex, long time, int deaths) throws Exception;
+    }
+
+    /**
+     * Generate the synthetic times.
+     *
+     * @param rows number of times
+     * @param consumer consumer of each time
+     * @throws Exception if the consumer fails
+     */
+    public static void generate(int rows, TimeConsumer consumer) throws Exception {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int players = getPlayerCount(rows);
+
+        for (int row = 0; row < rows; row++) {
+            consumer.accept(row % COURSES, random.nextInt(players),
+                    MINIMUM_TIME_MS + random.nextInt(TIME_RANGE_MS), random.nextInt(MAXIMUM_DEATHS));
+        }
+    }
+
+    /**
+     * Seed the store with the courses and synthetic times.
+     *
+     * @param store leaderboard store
+     * @param rows number of times
+     * @throws Exception if the store fails
+     */
+    public static void seed(LeaderboardStore store, int rows) throws Exception {
+        int[] courseIds = new int[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            store.insertCourse(getCourseName(i));
+            courseIds[i] = store.getCourseId(getCourseName(i));
+        }
+
+        long achieved = System.currentTimeMillis();
+        generate(rows, (courseIndex, playerIndex, time, deaths) ->
+                store.insertTime(courseIds[courseIndex], getPlayerId(playerIndex), getPlayerName(playerIndex),
+                        time, deaths, achieved));
+    }
+
+    public static int getPlayerCount(int rows) {
+        return Math.max(MINIMUM_PLAYERS, rows / TIMES_PER_PLAYER);
+    }
+
+    public static String getCourseName(int courseIndex) {
+        return "course" + courseIndex;
+    }
+
+    public static String getPlayerId(int playerIndex) {
+        return String.format("%032x", playerIndex);
+    }
+
+    public static String getPlayerName(int playerIndex) {
+        return "Player" + playerIndex;
+    }
+
+    private SyntheticTimes() {}
+}
@@ -135,6 +135,7 @@ public class Parkour extends JavaPlugin {
         }
 
         teardownManagers();
+        configManager.closePlayerDataStore();
         Bukkit.getScheduler().cancelTasks(this);
         PluginUtils.log("Disabled Parkour v" + getDescription().getVersion());
         instance = null;
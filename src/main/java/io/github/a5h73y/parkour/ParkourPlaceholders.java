@@ -5,6 +5,8 @@ import static io.github.a5h73y.parkour.other.ParkourConstants.PLAYER_PLACEHOLDER
 import static io.github.a5h73y.parkour.other.ParkourConstants.POSITION_PLACEHOLDER;
 import static io.github.a5h73y.parkour.other.ParkourConstants.TIME_PLACEHOLDER;
 
+import io.github.a5h73y.parkour.database.CourseStatistics;
+import io.github.a5h73y.parkour.database.LeaderboardPeriod;
 import io.github.a5h73y.parkour.database.TimeEntry;
 import io.github.a5h73y.parkour.type.course.CourseConfig;
 import io.github.a5h73y.parkour.type.player.PlayerConfig;
@@ -15,7 +17,11 @@ import io.github.a5h73y.parkour.utility.ValidationUtils;
 import io.github.a5h73y.parkour.utility.cache.GenericCache;
 import io.github.a5h73y.parkour.utility.time.DateTimeUtils;
 import java.util.Date;
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
@@ -38,6 +44,8 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
 
     private final Parkour parkour;
     private final GenericCache<String, String> cache;
+    private final Map<String, String> previousValues = new ConcurrentHashMap<>();
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
 
     /**
      * Construct the Parkour Placeholders functionality.
@@ -110,12 +118,23 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
 
             case "lb":
             case "leaderboard":
+                if (arguments.length == 5 && LeaderboardPeriod.fromKey(arguments[1]) != null
+                        && ValidationUtils.isPositiveInteger(arguments[3])) {
+                    return getCoursePeriodLeaderboardPlaceholderValue(arguments);
+                }
                 if (arguments.length != 4 || !ValidationUtils.isPositiveInteger(arguments[2])) {
                     return INVALID_SYNTAX;
                 }
 
                 return getCourseLeaderboardPlaceholderValue(arguments);
 
+            case "st":
+            case "stats":
+                if (arguments.length != 3) {
+                    return INVALID_SYNTAX;
+                }
+                return getCourseStatisticsPlaceholderValue(arguments[1], arguments[2]);
+
             case "tt":
             case "topten":
                 if (arguments.length != 3 || !ValidationUtils.isPositiveInteger(arguments[2])) {
@@ -148,7 +167,7 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
         if (offlinePlayer == null) {
             return "";
         }
-        PlayerConfig playerConfig = PlayerConfig.getConfig(offlinePlayer);
+        PlayerConfig playerConfig = parkour.getConfigManager().getPlayerConfig(offlinePlayer);
 
         switch (arguments[1]) {
             case "level":
@@ -202,9 +221,13 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
                                 () -> getCompletedMessage(offlinePlayer, arguments[3]));
 
                     case "position":
-                        return getOrRetrieveCache(offlinePlayer.getName() + arguments[2] + arguments[3],
+                        return getOrRetrieveCacheAsync(offlinePlayer.getName() + arguments[2] + arguments[3],
                                 () -> getLeaderboardPosition(offlinePlayer, arguments[3]));
 
+                    case "percentile":
+                        return getOrRetrieveCacheAsync(offlinePlayer.getName() + arguments[2] + arguments[3],
+                                () -> getLeaderboardPercentile(offlinePlayer, arguments[3]));
+
                     default:
                         return INVALID_SYNTAX;
                 }
@@ -404,14 +427,74 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
         }
     }
 
+    private String getCourseStatisticsPlaceholderValue(String courseName, String key) {
+        if (!parkour.getCourseManager().doesCourseExist(courseName)) {
+            return UNKNOWN_COURSE;
+        }
+
+        CourseStatistics statistics = parkour.getDatabaseManager().getCourseStatistics().getStatistics(courseName);
+        boolean hasCompletions = statistics != null && statistics.getCompletions() > 0;
+
+        switch (key) {
+            case "attempts":
+                return String.valueOf(statistics != null ? statistics.getAttempts() : 0);
+
+            case "completions":
+                return String.valueOf(hasCompletions ? statistics.getCompletions() : 0);
+
+            case "rate":
+                return String.valueOf(statistics != null ? statistics.getCompletionPercent() : 0);
+
+            case "fastest":
+                return hasCompletions ? getTimeValue(statistics.getFastestTime()) : NO_TIME_RECORDED;
+
+            case "mean":
+                return hasCompletions ? getTimeValue(statistics.getMeanTime()) : NO_TIME_RECORDED;
+
+            case "median":
+                return hasCompletions ? getTimeValue(statistics.getTimeAtPercentile(50)) : NO_TIME_RECORDED;
+
+            case "p90":
+                return hasCompletions ? getTimeValue(statistics.getTimeAtPercentile(90)) : NO_TIME_RECORDED;
+
+            case "p99":
+                return hasCompletions ? getTimeValue(statistics.getTimeAtPercentile(99)) : NO_TIME_RECORDED;
+
+            case "deaths":
+                return hasCompletions ? String.format("%.1f", statistics.getMeanDeaths()) : NO_TIME_RECORDED;
+
+            case "deathless":
+                return hasCompletions ? String.valueOf(Math.round(statistics.countCompletionsWithDeaths(0, 0)
+                        * 100.0 / statistics.getCompletions())) : NO_TIME_RECORDED;
+
+            default:
+                return INVALID_SYNTAX;
+        }
+    }
+
     private String getCourseLeaderboardPlaceholderValue(String... arguments) {
         return getCourseRecord(arguments[1], arguments[3], Integer.parseInt(arguments[2]));
     }
 
+    private String getCoursePeriodLeaderboardPlaceholderValue(String... arguments) {
+        LeaderboardPeriod period = LeaderboardPeriod.fromKey(arguments[1]);
+        String courseName = arguments[2];
+        int position = Integer.parseInt(arguments[3]);
+        String key = arguments[4];
+
+        return getOrRetrieveCacheAsync(period.getKey() + courseName + key + position,
+                () -> parkour.getDatabaseManager().getNthBestPeriodTimeAsync(courseName, period, position)
+                        .thenApply(result -> extractResultDetails(result, key)));
+    }
+
     private String getTopTenPlaceholderValue(String... arguments) {
         int position = Integer.parseInt(arguments[2]);
-        TimeEntry result = parkour.getDatabaseManager().getNthBestTime(arguments[1], position);
+        return getOrRetrieveCacheAsync(arguments[1] + "topten" + position,
+                () -> parkour.getDatabaseManager().getNthBestTimeAsync(arguments[1], position)
+                        .thenApply(result -> formatTopTenResult(result, position)));
+    }
 
+    private String formatTopTenResult(TimeEntry result, int position) {
         if (result == null) {
             return NO_TIME_RECORDED;
 
@@ -423,9 +506,9 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
         }
     }
 
-    private TimeEntry getTopPlayerResultForCourse(Player player, String courseName) {
-        List<TimeEntry> time = parkour.getDatabaseManager().getTopPlayerCourseResults(player, courseName, 1);
-        return time.isEmpty() ? null : time.get(0);
+    private CompletableFuture<TimeEntry> getTopPlayerResultForCourse(Player player, String courseName) {
+        return parkour.getDatabaseManager().getTopPlayerCourseResultsAsync(player, courseName, 1)
+                .thenApply(time -> time.isEmpty() ? null : time.get(0));
     }
 
     private String getCompletedMessage(OfflinePlayer player, String courseName) {
@@ -439,18 +522,31 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
     }
 
     private String getCourseRecord(String courseName, String key, Integer position) {
-        return getOrRetrieveCache(courseName + key + position,
-                () -> extractResultDetails(parkour.getDatabaseManager().getNthBestTime(courseName, position), key));
+        return getOrRetrieveCacheAsync(courseName + key + position,
+                () -> parkour.getDatabaseManager().getNthBestTimeAsync(courseName, position)
+                        .thenApply(result -> extractResultDetails(result, key)));
     }
 
     private String getPersonalCourseRecord(Player player, String courseName, String key) {
-        return getOrRetrieveCache(player.getName() + courseName + key,
-                () -> extractResultDetails(getTopPlayerResultForCourse(player, courseName), key));
+        return getOrRetrieveCacheAsync(player.getName() + courseName + key,
+                () -> getTopPlayerResultForCourse(player, courseName)
+                        .thenApply(result -> extractResultDetails(result, key)));
     }
 
-    private String getLeaderboardPosition(OfflinePlayer player, String courseName) {
-        int result = parkour.getDatabaseManager().getPositionOnLeaderboard(player, courseName);
-        return result < 0 ? NO_TIME_RECORDED : String.valueOf(result + 1);
+    private CompletableFuture<String> getLeaderboardPosition(OfflinePlayer player, String courseName) {
+        return parkour.getDatabaseManager().getPositionOnLeaderboardAsync(player, courseName)
+                .thenApply(result -> result < 0 ? NO_TIME_RECORDED : String.valueOf(result + 1));
+    }
+
+    private CompletableFuture<String> getLeaderboardPercentile(OfflinePlayer player, String courseName) {
+        return parkour.getDatabaseManager().getTopPlayerCourseResultsAsync(player, courseName, 1)
+                .thenApply(results -> {
+                    CourseStatistics statistics = parkour.getDatabaseManager().getCourseStatistics()
+                            .getStatistics(courseName);
+                    int topPercent = results.isEmpty() || statistics == null
+                            ? -1 : statistics.getTopPercent(results.get(0).getTime());
+                    return topPercent < 0 ? NO_TIME_RECORDED : String.valueOf(topPercent);
+                });
     }
 
     private String extractResultDetails(TimeEntry result, String key) {
@@ -496,6 +592,33 @@ public class ParkourPlaceholders extends PlaceholderExpansion {
         return cache.get(key).orElse(NO_TIME_RECORDED);
     }
 
+    /**
+     * Get the cached value, otherwise retrieve it from the database without blocking the server thread.
+     * Until the retrieval completes, the previously known value is returned.
+     *
+     * @param key cache key
+     * @param callback asynchronous retrieval of the value
+     * @return cached or previously known value
+     */
+    private String getOrRetrieveCacheAsync(String key, Supplier<CompletableFuture<String>> callback) {
+        Optional<String> cachedValue = cache.containsKey(key) ? cache.get(key) : Optional.empty();
+        if (cachedValue.isPresent()) {
+            return cachedValue.get();
+        }
+
+        if (pendingKeys.add(key)) {
+            callback.get().whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    cache.put(key, value);
+                    previousValues.put(key, value);
+                }
+                pendingKeys.remove(key);
+            });
+        }
+
+        return previousValues.getOrDefault(key, NO_TIME_RECORDED);
+    }
+
     public void clearCache() {
         this.cache.clear();
     }
@@ -161,7 +161,6 @@ public class ParkourCommands extends AbstractPluginReceiver implements CommandEx
                 break;
 
             case "course":
-            case "stats":
                 if (!ValidationUtils.validateArgs(player, args, 2)) {
                     return false;
                 }
@@ -424,6 +423,14 @@ public class ParkourCommands extends AbstractPluginReceiver implements CommandEx
                 parkour.getDatabaseManager().displayInformation(player);
                 break;
 
+            case "stats":
+                if (!ValidationUtils.validateArgs(player, args, 2)) {
+                    return false;
+                }
+
+                parkour.getDatabaseManager().displayCourseStatistics(player, args[1]);
+                break;
+
             case "test":
             case "testmode":
                 if (!PermissionUtils.hasPermission(player, Permission.ADMIN_TESTMODE)) {
@@ -86,7 +86,6 @@ public class ParkourConsoleCommands extends AbstractPluginReceiver implements Co
                 }
                 break;
 
-            case "stats":
             case "course":
                 if (!ValidationUtils.validateArgs(commandSender, args, 2)) {
                     return false;
@@ -342,6 +341,14 @@ public class ParkourConsoleCommands extends AbstractPluginReceiver implements Co
                 parkour.getDatabaseManager().displayInformation(commandSender);
                 break;
 
+            case "stats":
+                if (!ValidationUtils.validateArgs(commandSender, args, 2)) {
+                    return false;
+                }
+
+                parkour.getDatabaseManager().displayCourseStatistics(commandSender, args[1]);
+                break;
+
             case "validatekit":
                 parkour.getParkourKitManager().validateParkourKit(commandSender, args.length == 2 ? args[1] : DEFAULT);
                 break;
@@ -7,6 +7,7 @@ import io.github.a5h73y.parkour.configuration.serializable.ItemStackArraySeriali
 import io.github.a5h73y.parkour.configuration.serializable.ItemStackSerializable;
 import io.github.a5h73y.parkour.configuration.serializable.LocationSerializable;
 import io.github.a5h73y.parkour.configuration.serializable.ParkourSessionSerializable;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
 import io.github.a5h73y.parkour.type.course.CourseConfig;
 import io.github.a5h73y.parkour.type.course.autostart.AutoStartConfig;
 import io.github.a5h73y.parkour.type.kit.ParkourKitConfig;
@@ -26,13 +27,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import de.leonhard.storage.internal.FlatFile;
 import de.leonhard.storage.internal.serialize.SimplixSerializer;
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Parkour Configuration Manager.
@@ -40,6 +45,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ConfigManager {
 
+	private static final long PLAYER_CONFIG_FLUSH_TIMEOUT_SECONDS = 30;
+
 	private final File dataFolder;
 
 	// core
@@ -54,8 +61,11 @@ public class ConfigManager {
 	private final QuietModeConfig quietModeConfig;
 	private final LobbyConfig lobbyConfig;
 
+	// player data store, when used instead of the player files
+	private final PlayerDataStore playerDataStore;
+
 	// cache
-	private final Map<UUID, PlayerConfig> playerConfigCache;
+	private final PlayerConfigCache playerConfigCache;
 	private final Map<String, CourseConfig> courseConfigCache;
 
 	// directories
@@ -67,6 +77,9 @@ public class ConfigManager {
 	// serializers
 	private final ItemStackSerializable itemStackSerializable = new ItemStackSerializable();
 
+	// writes the player configs in order, the thread will stop when idle
+	private final ThreadPoolExecutor playerConfigWriter;
+
 	/**
 	 * Initialise the Config Manager.
 	 * Will invoke setup for each available config type.
@@ -83,18 +96,26 @@ public class ConfigManager {
 
 		defaultConfig = new DefaultConfig(new File(dataFolder, "config.yml"));
 		stringsConfig = new StringsConfig(new File(dataFolder, "strings.yml"));
+		playerDataStore = createPlayerDataStore();
 
 		// everything else
 		parkourKitConfig = new ParkourKitConfig(new File(otherDir, "parkour-kits.yml"));
 		parkourRankConfig = new ParkourRankConfig(new File(otherDir, "parkour-ranks.yml"));
 		autoStartConfig = new AutoStartConfig(new File(otherDir, "auto-starts.yml"));
-		courseCompletionsConfig = new CourseCompletionConfig(new File(otherDir, "course-completions.yml"));
-		quietModeConfig = new QuietModeConfig(new File(otherDir, "quiet-players.yml"));
+		courseCompletionsConfig = new CourseCompletionConfig(
+				new File(otherDir, "course-completions.yml"), playerDataStore);
+		quietModeConfig = new QuietModeConfig(new File(otherDir, "quiet-players.yml"), playerDataStore);
 		lobbyConfig = new LobbyConfig(new File(otherDir, "parkour-lobbies.yml"));
 
-		this.playerConfigCache = new HashMap<>();
+		this.playerConfigCache = new PlayerConfigCache(
+				defaultConfig.getInt("Other.PlayerData.Cache.MaximumOfflinePlayers"),
+				TimeUnit.MINUTES.toMillis(defaultConfig.getInt("Other.PlayerData.Cache.ExpireAfterMinutes")));
 		this.courseConfigCache = new HashMap<>();
 
+		this.playerConfigWriter = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> new Thread(runnable, "Parkour Player Data Writer"));
+		this.playerConfigWriter.allowCoreThreadTimeOut(true);
+
 		SimplixSerializer.registerSerializable(itemStackSerializable);
 		SimplixSerializer.registerSerializable(new ItemStackArraySerializable());
 		SimplixSerializer.registerSerializable(new LocationSerializable());
@@ -110,8 +131,158 @@ public class ConfigManager {
 	 */
 	@NotNull
 	public PlayerConfig getPlayerConfig(@NotNull OfflinePlayer player) {
-		UUID key = player.getUniqueId();
-		return playerConfigCache.computeIfAbsent(key, id -> PlayerConfig.getConfig(player));
+		return playerConfigCache.get(player.getUniqueId(), id -> PlayerConfig.getConfig(player));
+	}
+
+	/**
+	 * Save the Player's data, if it has been modified.
+	 * The data is captured immediately, then written to the file asynchronously.
+	 *
+	 * @param player offline player
+	 */
+	public void savePlayerConfig(@NotNull OfflinePlayer player) {
+		PlayerConfig playerConfig = playerConfigCache.getIfPresent(player.getUniqueId());
+		if (playerConfig != null && savePlayerConfig(playerConfig)) {
+			flushPlayerDataStore();
+		}
+	}
+
+	/**
+	 * Save the data of each cached Player which has been modified.
+	 * The data is captured immediately, then written to the files asynchronously.
+	 *
+	 * @return number of players saved
+	 */
+	public int savePlayerConfigs() {
+		int saved = 0;
+		for (PlayerConfig playerConfig : playerConfigCache.getPlayerConfigs()) {
+			if (savePlayerConfig(playerConfig)) {
+				saved++;
+			}
+		}
+		// sessions, completions and quiet players are flushed alongside the player data
+		if (saved > 0 || (playerDataStore != null && playerDataStore.hasPendingWrites())) {
+			flushPlayerDataStore();
+		}
+		return saved;
+	}
+
+	/**
+	 * Save the data of each cached Player which has been modified, waiting for every write to complete.
+	 * Used when Parkour is disabled, any later saves will be written synchronously.
+	 */
+	public void flushPlayerConfigs() {
+		int saved = savePlayerConfigs();
+		playerConfigWriter.shutdown();
+
+		try {
+			if (!playerConfigWriter.awaitTermination(PLAYER_CONFIG_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				PluginUtils.log("Timed out saving player data, "
+						+ playerConfigWriter.getQueue().size() + " players weren't saved.", 2);
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		PluginUtils.debug("Saved data of " + saved + " players.");
+	}
+
+	/**
+	 * Evict the cached configs of offline Players which have expired, or exceed the maximum cached.
+	 * Configs are only evicted once their changes have been saved.
+	 */
+	public void evictPlayerConfigs() {
+		int evicted = playerConfigCache.evict(playerId -> Bukkit.getPlayer(playerId) != null);
+		if (evicted > 0) {
+			PluginUtils.debug("Evicted " + evicted + " player configs from the cache.");
+		}
+	}
+
+	/**
+	 * Delete the Player's JSON config file.
+	 * The cached config is discarded, along with any changes waiting to be saved.
+	 *
+	 * @param player offline player
+	 */
+	public void deletePlayerConfig(@NotNull OfflinePlayer player) {
+		PlayerConfig playerConfig = playerConfigCache.remove(player.getUniqueId());
+		if (playerConfig != null) {
+			playerConfig.discard();
+		} else {
+			PlayerConfig.deletePlayerData(player);
+		}
+	}
+
+	/**
+	 * Close the Player Data Store, once every Player's data has been saved.
+	 */
+	public void closePlayerDataStore() {
+		if (playerDataStore != null) {
+			playerDataStore.close();
+		}
+	}
+
+	@Nullable
+	public PlayerDataStore getPlayerDataStore() {
+		return playerDataStore;
+	}
+
+	private boolean savePlayerConfig(PlayerConfig playerConfig) {
+		String snapshot = playerConfig.createSnapshot();
+		if (snapshot == null) {
+			return false;
+		}
+
+		if (playerConfigWriter.isShutdown()) {
+			playerConfig.writeSnapshot(snapshot);
+		} else {
+			playerConfigWriter.execute(() -> playerConfig.writeSnapshot(snapshot));
+		}
+		return true;
+	}
+
+	private void flushPlayerDataStore() {
+		if (playerDataStore == null) {
+			return;
+		}
+
+		if (playerConfigWriter.isShutdown()) {
+			playerDataStore.flushPlayerData();
+		} else {
+			playerConfigWriter.execute(playerDataStore::flushPlayerData);
+		}
+	}
+
+	/**
+	 * Create the Player Data Store, when it's used instead of the player files.
+	 * Any existing player files are migrated into the store the first time it's used.
+	 * The player files continue to be used if the store can't be opened, or the files couldn't be migrated.
+	 *
+	 * @return player data store, or null if the player files are used
+	 */
+	@Nullable
+	private PlayerDataStore createPlayerDataStore() {
+		if (!defaultConfig.getBoolean("Other.PlayerData.UseSQLite")) {
+			return null;
+		}
+
+		PlayerDataStore store = new PlayerDataStore(new File(dataFolder, "sqlite-db").getPath(), "player-data.db");
+		if (!store.open()) {
+			PluginUtils.log("Unable to open the player data store, the player files will be used instead.", 2);
+			return null;
+		}
+
+		PlayerDataMigrator migrator = new PlayerDataMigrator(playersDir, parkourSessionsDir,
+				new File(otherDir, "course-completions.yml"), new File(otherDir, "quiet-players.yml"));
+		if (migrator.hasFilesToMigrate()) {
+			if (!migrator.migrate(store)) {
+				store.close();
+				return null;
+			}
+			createParkourFolders();
+		}
+		return store;
 	}
 
 	/**
@@ -130,6 +301,9 @@ public class ConfigManager {
 	 * Find every single Player UUID known to Parkour.
 	 */
 	public List<String> getAllPlayerUuids() {
+		if (playerDataStore != null) {
+			return playerDataStore.getPlayerKeys();
+		}
 		return findEveryJsonInDir(getPlayersDir().toURI());
 	}
 
@@ -196,6 +370,10 @@ public class ConfigManager {
 		return lobbyConfig;
 	}
 
+	public PlayerConfigCache getPlayerConfigCache() {
+		return playerConfigCache;
+	}
+
 	public File getPlayersDir() {
 		return playersDir;
 	}
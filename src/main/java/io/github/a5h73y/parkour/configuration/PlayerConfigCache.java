@@ -0,0 +1,204 @@
+package io.github.a5h73y.parkour.configuration;
+
+import io.github.a5h73y.parkour.type.player.PlayerConfig;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of each Player's {@link PlayerConfig}.
+ * Online Players are always kept, offline Players are evicted once they have been idle for too long,
+ * or the least recently used are evicted once there are too many offline Players cached.
+ * A Player's config is only evicted once its changes have been saved, otherwise it is kept until the next eviction.
+ * Configs are loaded without holding a lock over the cache, only lookups of the same Player wait for the load.
+ * Hits, misses and evictions are counted so the effectiveness of the cache can be reported.
+ */
+public class PlayerConfigCache {
+
+	private final int maximumOfflinePlayers;
+	private final long expireAfterMillis;
+	private final ConcurrentHashMap<UUID, CachedPlayerConfig> playerConfigs = new ConcurrentHashMap<>();
+
+	/**
+	 * Player IDs from least to most recently used. Guarded by itself.
+	 * May briefly contain a Player whose config was evicted while being accessed, which the next eviction removes.
+	 */
+	private final LinkedHashSet<UUID> recentlyUsed = new LinkedHashSet<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Construct a Player Config Cache.
+	 *
+	 * @param maximumOfflinePlayers maximum number of offline players cached
+	 * @param expireAfterMillis milliseconds an offline player is cached after last being accessed
+	 */
+	public PlayerConfigCache(int maximumOfflinePlayers, long expireAfterMillis) {
+		this.maximumOfflinePlayers = Math.max(0, maximumOfflinePlayers);
+		this.expireAfterMillis = Math.max(0, expireAfterMillis);
+	}
+
+	/**
+	 * Get the Player's cached config, loading it if it's not cached.
+	 * The config is loaded at most once, while only lookups of the same Player wait for it.
+	 *
+	 * @param playerId player UUID
+	 * @param loader function to load the config
+	 * @return player config
+	 */
+	@NotNull
+	public PlayerConfig get(@NotNull UUID playerId, @NotNull Function<UUID, PlayerConfig> loader) {
+		CachedPlayerConfig cached = playerConfigs.get(playerId);
+		if (cached == null) {
+			cached = playerConfigs.computeIfAbsent(playerId, key -> {
+				misses.incrementAndGet();
+				return new CachedPlayerConfig(loader.apply(key));
+			});
+		} else {
+			hits.incrementAndGet();
+		}
+		markUsed(playerId, cached);
+		return cached.playerConfig;
+	}
+
+	/**
+	 * Get the Player's cached config, without loading it or counting it as a hit.
+	 *
+	 * @param playerId player UUID
+	 * @return cached player config, or null if it's not cached
+	 */
+	@Nullable
+	public PlayerConfig getIfPresent(@NotNull UUID playerId) {
+		CachedPlayerConfig cached = playerConfigs.get(playerId);
+		if (cached == null) {
+			return null;
+		}
+		markUsed(playerId, cached);
+		return cached.playerConfig;
+	}
+
+	/**
+	 * Remove the Player's config from the cache.
+	 *
+	 * @param playerId player UUID
+	 * @return the removed player config, or null if it wasn't cached
+	 */
+	@Nullable
+	public PlayerConfig remove(@NotNull UUID playerId) {
+		CachedPlayerConfig cached = playerConfigs.remove(playerId);
+		synchronized (recentlyUsed) {
+			recentlyUsed.remove(playerId);
+		}
+		return cached == null ? null : cached.playerConfig;
+	}
+
+	/**
+	 * Get a snapshot of every cached config.
+	 *
+	 * @return cached player configs
+	 */
+	public List<PlayerConfig> getPlayerConfigs() {
+		List<PlayerConfig> results = new ArrayList<>(playerConfigs.size());
+		playerConfigs.values().forEach(cached -> results.add(cached.playerConfig));
+		return results;
+	}
+
+	/**
+	 * Evict the offline Players which have expired, then the least recently used
+	 * until no more than the maximum number of offline Players are cached.
+	 * Configs with unsaved changes are kept, to be evicted once they have been saved.
+	 *
+	 * @param isOnline check whether the Player is online
+	 * @return number of configs evicted
+	 */
+	public int evict(@NotNull Predicate<UUID> isOnline) {
+		long expiredBefore = System.currentTimeMillis() - expireAfterMillis;
+		int offlinePlayers = (int) playerConfigs.keySet().stream().filter(isOnline.negate()).count();
+		int evicted = 0;
+
+		synchronized (recentlyUsed) {
+			// iterated from least to most recently used
+			Iterator<UUID> iterator = recentlyUsed.iterator();
+			while (iterator.hasNext()) {
+				UUID playerId = iterator.next();
+				CachedPlayerConfig cached = playerConfigs.get(playerId);
+
+				if (cached == null) {
+					iterator.remove();
+					continue;
+				}
+
+				if (isOnline.test(playerId)
+						|| (offlinePlayers <= maximumOfflinePlayers && cached.lastAccessed > expiredBefore)
+						|| !cached.playerConfig.isSaved()) {
+					continue;
+				}
+
+				// a Player loaded again since the lookup has a new config, which is kept
+				if (playerConfigs.remove(playerId, cached)) {
+					evicted++;
+				}
+				iterator.remove();
+				offlinePlayers--;
+			}
+		}
+
+		evictions.addAndGet(evicted);
+		return evicted;
+	}
+
+	public int size() {
+		return playerConfigs.size();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * Get the percentage of requests which were cached.
+	 *
+	 * @return hit rate percentage
+	 */
+	public long getHitRatePercent() {
+		long hitCount = hits.get();
+		long requests = hitCount + misses.get();
+		return requests == 0 ? 0 : Math.round(hitCount * 100.0 / requests);
+	}
+
+	private void markUsed(UUID playerId, CachedPlayerConfig cached) {
+		cached.lastAccessed = System.currentTimeMillis();
+		synchronized (recentlyUsed) {
+			recentlyUsed.remove(playerId);
+			recentlyUsed.add(playerId);
+		}
+	}
+
+	private static class CachedPlayerConfig {
+
+		private final PlayerConfig playerConfig;
+		private volatile long lastAccessed;
+
+		private CachedPlayerConfig(PlayerConfig playerConfig) {
+			this.playerConfig = playerConfig;
+		}
+	}
+}
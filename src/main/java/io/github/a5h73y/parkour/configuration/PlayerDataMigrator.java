@@ -0,0 +1,211 @@
+package io.github.a5h73y.parkour.configuration;
+
+import de.leonhard.storage.Yaml;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
+import io.github.a5h73y.parkour.type.player.session.ParkourSessionFile;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Migrates the Player data files into the {@link PlayerDataStore}.
+ * Reads every Player's JSON file, their Parkour Session files (both JSON and binary),
+ * and the shared completion and quiet mode files, then inserts them all into the store together.
+ * Once migrated, the files are renamed so the migration only happens once, and the originals can be restored.
+ */
+public class PlayerDataMigrator {
+
+	private static final String MIGRATED_SUFFIX = "-migrated";
+	private static final String JSON_EXTENSION = ".json";
+	private static final String SESSIONS_EXTENSION = ".dat";
+
+	private final File playersDir;
+	private final File parkourSessionsDir;
+	private final File courseCompletionsFile;
+	private final File quietPlayersFile;
+
+	/**
+	 * Construct the Player Data Migrator.
+	 *
+	 * @param playersDir player json files folder
+	 * @param parkourSessionsDir parkour session json files folder
+	 * @param courseCompletionsFile course completions yml file
+	 * @param quietPlayersFile quiet players yml file
+	 */
+	public PlayerDataMigrator(@NotNull File playersDir, @NotNull File parkourSessionsDir,
+	                          @NotNull File courseCompletionsFile, @NotNull File quietPlayersFile) {
+		this.playersDir = playersDir;
+		this.parkourSessionsDir = parkourSessionsDir;
+		this.courseCompletionsFile = courseCompletionsFile;
+		this.quietPlayersFile = quietPlayersFile;
+	}
+
+	/**
+	 * Check if there are any files to migrate.
+	 *
+	 * @return files exist to be migrated
+	 */
+	public boolean hasFilesToMigrate() {
+		return !findJsonFiles(playersDir).isEmpty()
+				|| hasFiles(parkourSessionsDir)
+				|| hasEntries(courseCompletionsFile)
+				|| hasEntries(quietPlayersFile);
+	}
+
+	/**
+	 * Migrate the files into the store.
+	 * The files are only renamed once every row has been inserted.
+	 *
+	 * @param playerDataStore player data store
+	 * @return the files were migrated
+	 */
+	public boolean migrate(@NotNull PlayerDataStore playerDataStore) {
+		PluginUtils.log("Migrating the player data files into the player data store...");
+
+		Map<String, String> playerData = new HashMap<>();
+		for (File playerFile : findJsonFiles(playersDir)) {
+			String json = readJson(playerFile);
+			if (json != null) {
+				playerData.put(getKey(playerFile), json);
+			}
+		}
+
+		Map<String, Map<String, String>> parkourSessions = new HashMap<>();
+		File[] sessionFolders = parkourSessionsDir.listFiles(File::isDirectory);
+		if (sessionFolders != null) {
+			for (File sessionFolder : sessionFolders) {
+				Map<String, String> playerSessions = new HashMap<>();
+				for (File sessionFile : findJsonFiles(sessionFolder)) {
+					String json = readJson(sessionFile);
+					if (json != null) {
+						playerSessions.put(getKey(sessionFile), json);
+					}
+				}
+				parkourSessions.put(sessionFolder.getName(), playerSessions);
+			}
+		}
+
+		// the binary session files are newer than any json session files
+		// a file which can't be read in full is left in the renamed sessions folder, rather than partially migrated
+		for (File sessionsFile : findFiles(parkourSessionsDir, SESSIONS_EXTENSION)) {
+			ParkourSessionFile playerSessionsFile = ParkourSessionFile.read(sessionsFile);
+			if (playerSessionsFile.isCorrupt()) {
+				continue;
+			}
+
+			Map<String, String> playerSessions = new HashMap<>();
+			for (String courseName : playerSessionsFile.getCourseNames()) {
+				Map<String, Object> sessionData = playerSessionsFile.getSessionData(courseName);
+				if (sessionData == null) {
+					playerSessions = null;
+					break;
+				}
+				playerSessions.put(courseName, new JSONObject(sessionData).toString());
+			}
+
+			if (playerSessions != null) {
+				parkourSessions.computeIfAbsent(getKey(sessionsFile, SESSIONS_EXTENSION), playerKey -> new HashMap<>())
+						.putAll(playerSessions);
+			} else {
+				PluginUtils.log("Unable to migrate " + sessionsFile.getPath() + ", it contains an invalid session.", 1);
+			}
+		}
+
+		Map<String, List<String>> completedCourses = new HashMap<>();
+		if (courseCompletionsFile.exists()) {
+			Yaml courseCompletions = new Yaml(courseCompletionsFile);
+			for (String playerKey : courseCompletions.singleLayerKeySet()) {
+				completedCourses.put(playerKey, courseCompletions.getStringList(playerKey));
+			}
+		}
+
+		List<String> quietPlayers = quietPlayersFile.exists()
+				? new Yaml(quietPlayersFile).getStringList("Quiet") : Collections.emptyList();
+
+		if (!playerDataStore.insertAll(playerData, parkourSessions, completedCourses, quietPlayers)) {
+			PluginUtils.log("Unable to migrate the player data files, the player files will be used instead.", 2);
+			return false;
+		}
+
+		long suffix = System.currentTimeMillis();
+		renameMigrated(playersDir, suffix);
+		renameMigrated(parkourSessionsDir, suffix);
+		renameMigrated(courseCompletionsFile, suffix);
+		renameMigrated(quietPlayersFile, suffix);
+
+		PluginUtils.log("Migrated the data of " + playerData.size() + " players, "
+				+ parkourSessions.values().stream().mapToInt(Map::size).sum() + " parkour sessions and "
+				+ completedCourses.size() + " players' completions.");
+		return true;
+	}
+
+	private List<File> findJsonFiles(File folder) {
+		return findFiles(folder, JSON_EXTENSION);
+	}
+
+	private List<File> findFiles(File folder, String extension) {
+		File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(extension));
+		return files == null ? Collections.emptyList() : new ArrayList<>(Arrays.asList(files));
+	}
+
+	private boolean hasFiles(File folder) {
+		if (!folder.exists()) {
+			return false;
+		}
+
+		try (Stream<Path> paths = Files.walk(folder.toPath())) {
+			return paths.anyMatch(Files::isRegularFile);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private boolean hasEntries(File yamlFile) {
+		return yamlFile.exists() && !new Yaml(yamlFile).singleLayerKeySet().isEmpty();
+	}
+
+	private String getKey(File jsonFile) {
+		return getKey(jsonFile, JSON_EXTENSION);
+	}
+
+	private String getKey(File file, String extension) {
+		String fileName = file.getName();
+		return fileName.substring(0, fileName.length() - extension.length());
+	}
+
+	private String readJson(File jsonFile) {
+		try {
+			String json = new String(Files.readAllBytes(jsonFile.toPath()), StandardCharsets.UTF_8);
+			// validate the file before it's migrated
+			return new JSONObject(json).toString();
+
+		} catch (IOException | JSONException e) {
+			PluginUtils.log("Unable to migrate " + jsonFile.getPath() + ": " + e.getMessage(), 1);
+			return null;
+		}
+	}
+
+	private void renameMigrated(File file, long suffix) {
+		if (!file.exists()) {
+			return;
+		}
+
+		File migratedFile = new File(file.getParentFile(), file.getName() + MIGRATED_SUFFIX + "-" + suffix);
+		if (!file.renameTo(migratedFile)) {
+			PluginUtils.log("Unable to rename " + file.getName() + ", it should be removed manually.", 1);
+		}
+	}
+}
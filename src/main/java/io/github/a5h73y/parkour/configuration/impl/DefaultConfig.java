@@ -269,6 +269,16 @@ public class DefaultConfig extends Yaml {
 		this.setDefault("Other.LogAdminTasksToFile", true);
 		this.setDefault("Other.EnforceSafeCheckpoints", true);
 		this.setDefault("Other.PlayerConfigUsePlayerUUID", true);
+		this.setDefault("Other.PlayerData.UseSQLite", false);
+		this.setDefault("Other.PlayerData.SaveIntervalSeconds", 60);
+		this.setDefault("Other.PlayerData.Cache.MaximumOfflinePlayers", 500);
+		this.setDefault("Other.PlayerData.Cache.ExpireAfterMinutes", 10);
+		this.setDefault("Other.PlayerData.SessionSaveThreads", 4);
+		this.setDefault("Other.PlayerData.SessionSaveTimeoutSeconds", 30);
+		this.setDefault("Other.PlayerData.SessionJournal.Enabled", true);
+		this.setDefault("Other.PlayerData.SessionJournal.FlushIntervalMillis", 500);
+		this.setDefault("Other.PlayerData.SessionJournal.TimeIntervalSeconds", 15);
+		this.setDefault("Other.PlayerData.SessionJournal.CompactIntervalMinutes", 5);
 		this.setDefault("Other.Parkour.SignProtection", true);
 		this.setDefault("Other.Parkour.InventoryManagement", true);
 		this.setDefault("Other.Parkour.SignUsePermissions", false);
@@ -302,12 +312,32 @@ public class DefaultConfig extends Yaml {
 		this.setDefault("Plugin.PlaceholderAPI.CacheTime", 3);
 
 		this.setDefault("Database.MaximumCoursesCached", 10);
+		this.setDefault("Database.WriteQueue.Capacity", 10000);
+		this.setDefault("Database.WriteQueue.BatchSize", 100);
+		this.setDefault("Database.Cache.MaximumCourses", 500);
+		this.setDefault("Database.Cache.MaximumMegabytes", 64);
+		this.setDefault("Database.Compaction.Enabled", false);
+		this.setDefault("Database.Compaction.KeepBestTimes", 5);
+		this.setDefault("Database.Compaction.KeepDays", 30);
+		this.setDefault("Database.Compaction.IntervalHours", 24);
+		this.setDefault("Database.Compaction.BatchSize", 500);
+		this.setDefault("Database.Compaction.EnableIncrementalVacuum", false);
+		this.setDefault("Database.InMemory.Enabled", false);
+		this.setDefault("Database.InMemory.TimesPerPlayer", 10);
+		this.setDefault("Database.Statistics.SaveIntervalMinutes", 5);
 		this.setDefault("SQLite.PathOverride", "");
+		this.setDefault("SQLite.ReaderConnections", 4);
 		this.setDefault("MySQL.Use", false);
 		this.setDefault("MySQL.URL", "jdbc:mysql://HOST:PORT/DATABASE?useSSL=false");
 		this.setDefault("MySQL.Username", "Username");
 		this.setDefault("MySQL.Password", "Password");
 		this.setDefault("MySQL.LegacyDriver", false);
+		this.setDefault("MySQL.Pool.MaximumSize", 10);
+		this.setDefault("MySQL.Pool.MaxLifetimeSeconds", 1800);
+		this.setDefault("MySQL.Pool.ValidationTimeoutSeconds", 5);
+		this.setDefault("MySQL.Pool.ConnectionTimeoutSeconds", 30);
+		this.setDefault("MySQL.Reconnect.InitialBackoffSeconds", 1);
+		this.setDefault("MySQL.Reconnect.MaximumBackoffSeconds", 60);
 
 		this.setDefault("Version", Parkour.getInstance().getDescription().getVersion());
 
@@ -237,6 +237,15 @@ public class StringsConfig extends Yaml {
 		this.setDefault("GUI.CourseSettings.Setup.Line1", "qwertyui ");
 		this.setDefault("GUI.CourseSettings.Setup.Line2", "asdfghjkl");
 		this.setDefault("GUI.CourseSettings.Setup.Line3", "zxcvbnm  ");
+		this.setDefault("GUI.Leaderboard.Heading", "%VALUE% Leaderboard");
+		this.setDefault("GUI.Leaderboard.Setup.Line1", " GGGGGGG ");
+		this.setDefault("GUI.Leaderboard.Setup.Line2", " GGGGGGG ");
+		this.setDefault("GUI.Leaderboard.Setup.Line3", "p       n");
+		this.setDefault("GUI.Leaderboard.Entry", "&b#%POSITION% &f%PLAYER%");
+		this.setDefault("GUI.Leaderboard.Time", "Time: &b%VALUE%");
+		this.setDefault("GUI.Leaderboard.Deaths", "Deaths: &b%VALUE%");
+		this.setDefault("GUI.Leaderboard.PreviousPage", "Previous page (%VALUE%)");
+		this.setDefault("GUI.Leaderboard.NextPage", "Next page (%VALUE%)");
 
 		this.setDefault("Display.Day", "%VALUE% day");
 		this.setDefault("Display.Days", "%VALUE% days");
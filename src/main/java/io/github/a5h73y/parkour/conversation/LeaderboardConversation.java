@@ -2,6 +2,10 @@ package io.github.a5h73y.parkour.conversation;
 
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.conversation.other.ParkourConversation;
+import io.github.a5h73y.parkour.database.DatabaseManager;
+import io.github.a5h73y.parkour.database.TimeEntry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.conversations.Conversable;
@@ -103,15 +107,18 @@ public class LeaderboardConversation extends ParkourConversation {
             final Integer amount = (Integer) context.getSessionData("amount");
             final Player player = Bukkit.getPlayer((String) context.getSessionData(SESSION_PLAYER_NAME));
 
-            Bukkit.getScheduler().runTaskAsynchronously(Parkour.getInstance(), () -> {
-                if (leaderboardType.equals("personal")) {
-                    Parkour.getInstance().getDatabaseManager().displayTimeEntries(player, courseName,
-                            Parkour.getInstance().getDatabaseManager().getTopPlayerCourseResults(player, courseName, amount));
-                } else if (leaderboardType.equals("global")) {
-                    Parkour.getInstance().getDatabaseManager().displayTimeEntries(player, courseName,
-                            Parkour.getInstance().getDatabaseManager().getTopCourseResults(courseName, amount));
-                }
-            });
+            DatabaseManager databaseManager = Parkour.getInstance().getDatabaseManager();
+            CompletableFuture<List<TimeEntry>> results = null;
+            if (leaderboardType.equals("personal")) {
+                results = databaseManager.getTopPlayerCourseResultsAsync(player, courseName, amount);
+            } else if (leaderboardType.equals("global")) {
+                results = databaseManager.getTopCourseResultsAsync(courseName, amount);
+            }
+
+            if (results != null) {
+                databaseManager.acceptOnMainThread(results,
+                        times -> databaseManager.displayTimeEntries(player, courseName, times));
+            }
 
             return "";
         }
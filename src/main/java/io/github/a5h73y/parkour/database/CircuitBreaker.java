@@ -0,0 +1,140 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Circuit breaker guarding the connection to a remote database.
+ * Once a connection fails the circuit opens and requests fail immediately, rather than each waiting to time out.
+ * After a backoff a single trial request is allowed through, the backoff doubles with each consecutive failure
+ * up to the maximum, and the circuit closes again as soon as a connection succeeds.
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of the Circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final int MAXIMUM_BACKOFF_SHIFT = 20;
+
+    private final String name;
+    private final long initialBackoffMs;
+    private final long maximumBackoffMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long retryAt;
+
+    /**
+     * Construct a Circuit Breaker.
+     *
+     * @param name name, used in logging
+     * @param initialBackoffMs milliseconds to wait after the first failure
+     * @param maximumBackoffMs maximum milliseconds to wait between attempts
+     */
+    public CircuitBreaker(String name, long initialBackoffMs, long maximumBackoffMs) {
+        this.name = name;
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maximumBackoffMs = Math.max(this.initialBackoffMs, maximumBackoffMs);
+    }
+
+    /**
+     * Check if a request is allowed through the circuit.
+     * When the backoff has elapsed the circuit becomes half open and the request is allowed as a trial,
+     * should the trial never report back another is allowed once the backoff elapses again.
+     *
+     * @return request is allowed
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= retryAt) {
+            state = State.HALF_OPEN;
+            retryAt = now + calculateBackoff();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if the circuit is waiting for the backoff to elapse.
+     * Unlike {@link #allowRequest()} this never starts a trial request.
+     *
+     * @return requests are being rejected
+     */
+    public synchronized boolean isWaiting() {
+        return state != State.CLOSED && System.currentTimeMillis() < retryAt;
+    }
+
+    /**
+     * Record a successful connection, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            PluginUtils.log("[SQL] Reconnected to " + name + " after " + consecutiveFailures + " failed attempts.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Record a failed connection, opening the circuit until the backoff elapses.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        long backoff = calculateBackoff();
+        retryAt = System.currentTimeMillis() + backoff;
+
+        if (state == State.CLOSED) {
+            PluginUtils.log("[SQL] Lost connection to " + name + ", reconnecting in " + backoff + "ms.", 2);
+        } else {
+            PluginUtils.debug("Reconnecting to " + name + " failed, retrying in " + backoff + "ms.");
+        }
+        state = State.OPEN;
+    }
+
+    /**
+     * Create the exception thrown when a request isn't allowed through the circuit.
+     *
+     * @return open circuit exception
+     */
+    public synchronized OpenCircuitException createOpenException() {
+        long remaining = Math.max(0, retryAt - System.currentTimeMillis());
+        return new OpenCircuitException(name + " is unavailable, reconnecting in " + remaining + "ms.");
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    private long calculateBackoff() {
+        int shift = Math.min(Math.max(0, consecutiveFailures - 1), MAXIMUM_BACKOFF_SHIFT);
+        return Math.min(maximumBackoffMs, initialBackoffMs << shift);
+    }
+
+    /**
+     * Thrown when the connection has failed and the circuit is open.
+     */
+    public static class OpenCircuitException extends SQLTransientConnectionException {
+
+        public OpenCircuitException(String message) {
+            super(message);
+        }
+
+        public OpenCircuitException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
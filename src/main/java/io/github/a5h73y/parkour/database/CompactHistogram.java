@@ -0,0 +1,157 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.Arrays;
+
+/**
+ * Compact histogram of non-negative values, summarising a Course's times or deaths without holding each value.
+ * Values below 128 are counted exactly, larger values share a bucket with those within 1/64th of them,
+ * so percentiles are accurate to within half a bucket while the counts only take a few kilobytes.
+ * Not thread-safe, access is synchronised by the owning {@link CourseStatistics}.
+ */
+public class CompactHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_BUCKETS = SUB_BUCKETS * 2;
+
+    private int[] counts = new int[0];
+    private long totalCount;
+    private long sum;
+    private long minimum;
+    private long maximum;
+
+    /**
+     * Record the value.
+     * Negative values are recorded as zero.
+     *
+     * @param rawValue value
+     */
+    public void record(long rawValue) {
+        long value = Math.max(0, rawValue);
+        int index = getBucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKETS));
+        }
+
+        counts[index]++;
+        minimum = totalCount == 0 ? value : Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+        totalCount++;
+        sum += value;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinimum() {
+        return minimum;
+    }
+
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Get the mean of the recorded values.
+     *
+     * @return mean value, or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Get the value below which the percentage of the recorded values fall.
+     * The middle of the bucket is used, limited to the recorded minimum and maximum.
+     *
+     * @param percentile percentile (0 - 100)
+     * @return value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * totalCount));
+        long cumulative = 0;
+
+        for (int index = 0; index < counts.length; index++) {
+            cumulative += counts[index];
+            if (cumulative >= target) {
+                long middle = getBucketLowerBound(index) + (getBucketWidth(index) - 1) / 2;
+                return Math.max(minimum, Math.min(maximum, middle));
+            }
+        }
+        return maximum;
+    }
+
+    /**
+     * Count the recorded values which are lower than the value.
+     * Values sharing the value's bucket are not counted.
+     *
+     * @param value value
+     * @return number of lower values
+     */
+    public long countBelow(long value) {
+        int bucketIndex = Math.min(getBucketIndex(Math.max(0, value)), counts.length);
+        long count = 0;
+
+        for (int index = 0; index < bucketIndex; index++) {
+            count += counts[index];
+        }
+        return count;
+    }
+
+    /**
+     * Count the recorded values between the minimum and maximum, inclusive.
+     * Exact for values below 128.
+     *
+     * @param from minimum value
+     * @param to maximum value
+     * @return number of values within the range
+     */
+    public long countBetween(long from, long to) {
+        return countBelow(to + 1) - countBelow(from);
+    }
+
+    /**
+     * Copy the histogram.
+     *
+     * @return copy of the histogram
+     */
+    public CompactHistogram copy() {
+        CompactHistogram copy = new CompactHistogram();
+        copy.counts = Arrays.copyOf(counts, counts.length);
+        copy.totalCount = totalCount;
+        copy.sum = sum;
+        copy.minimum = minimum;
+        copy.maximum = maximum;
+        return copy;
+    }
+
+    private static int getBucketIndex(long value) {
+        if (value < EXACT_BUCKETS) {
+            return (int) value;
+        }
+
+        // the highest bits of the value select the bucket within its power of two
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return EXACT_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getBucketLowerBound(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index - EXACT_BUCKETS) / SUB_BUCKETS + 1;
+        int subBucket = (index - EXACT_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    private static long getBucketWidth(int index) {
+        return index < EXACT_BUCKETS ? 1 : 1L << ((index - EXACT_BUCKETS) / SUB_BUCKETS + 1);
+    }
+}
@@ -0,0 +1,236 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small JDBC Connection pool.
+ * Connections are borrowed and must be closed by the caller, which returns them to the pool.
+ * Idle connections are validated before being handed out, and are retired once they exceed their maximum lifetime.
+ */
+public class ConnectionPool {
+
+    private final String name;
+    private final ConnectionFactory connectionFactory;
+    private final int maximumSize;
+    private final long maxLifetimeMs;
+    private final int validationTimeoutSeconds;
+    private final long borrowTimeoutMs;
+
+    private final BlockingQueue<PooledConnection> idleConnections = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+
+    private volatile boolean closed;
+
+    /**
+     * Construct a Connection Pool.
+     *
+     * @param name pool name, used in logging
+     * @param connectionFactory creates new physical connections
+     * @param maximumSize maximum number of open connections
+     * @param maxLifetimeMs maximum lifetime of a connection in milliseconds (0 to disable)
+     * @param validationTimeoutSeconds seconds to wait when validating an idle connection
+     * @param borrowTimeoutMs maximum milliseconds to wait for a connection to become available
+     */
+    public ConnectionPool(String name, ConnectionFactory connectionFactory, int maximumSize,
+                          long maxLifetimeMs, int validationTimeoutSeconds, long borrowTimeoutMs) {
+        this.name = name;
+        this.connectionFactory = connectionFactory;
+        this.maximumSize = Math.max(1, maximumSize);
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validationTimeoutSeconds = Math.max(1, validationTimeoutSeconds);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.permits = new Semaphore(this.maximumSize, true);
+    }
+
+    /**
+     * Borrow a Connection from the pool.
+     * The Connection must be closed once finished with, which will return it to the pool.
+     *
+     * @return pooled connection
+     * @throws SQLException if no connection could be acquired
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' has been closed.");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a connection from pool '" + name + "'.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection from pool '" + name + "'.", e);
+        }
+
+        try {
+            PooledConnection pooledConnection = findIdleConnection();
+            if (pooledConnection == null) {
+                PluginUtils.debug("Opening new connection for pool '" + name + "'.");
+                pooledConnection = new PooledConnection(connectionFactory.create());
+            }
+            return pooledConnection.createHandle();
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    public int getActiveConnections() {
+        return maximumSize - permits.availablePermits();
+    }
+
+    /**
+     * Close the pool and every idle connection.
+     * Connections still borrowed will be closed as they are returned.
+     */
+    public void close() {
+        closed = true;
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.poll()) != null) {
+            pooledConnection.closeQuietly();
+        }
+    }
+
+    private PooledConnection findIdleConnection() {
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.poll()) != null) {
+            if (pooledConnection.isExpired() || !pooledConnection.isValid()) {
+                PluginUtils.debug("Retiring connection from pool '" + name + "'.");
+                pooledConnection.closeQuietly();
+            } else {
+                return pooledConnection;
+            }
+        }
+        return null;
+    }
+
+    private void release(PooledConnection pooledConnection) {
+        try {
+            if (closed || pooledConnection.isExpired() || pooledConnection.connection.isClosed()) {
+                pooledConnection.closeQuietly();
+                return;
+            }
+
+            if (!pooledConnection.connection.getAutoCommit()) {
+                pooledConnection.connection.rollback();
+                pooledConnection.connection.setAutoCommit(true);
+            }
+            idleConnections.offer(pooledConnection);
+
+        } catch (SQLException e) {
+            pooledConnection.closeQuietly();
+
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Creates a new physical Connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection create() throws SQLException;
+
+    }
+
+    /**
+     * A physical Connection managed by the pool.
+     */
+    private class PooledConnection {
+
+        private final Connection connection;
+        private final long createdAt = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        private boolean isExpired() {
+            return maxLifetimeMs > 0 && System.currentTimeMillis() - createdAt > maxLifetimeMs;
+        }
+
+        private boolean isValid() {
+            try {
+                return connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                PluginUtils.debug("Failed to close connection: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Create a handle to the Connection, where closing the handle returns the Connection to the pool.
+         */
+        private Connection createHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ConnectionHandle(this));
+        }
+    }
+
+    /**
+     * Delegates to the physical Connection until closed, at which point it is returned to the pool.
+     */
+    private class ConnectionHandle implements InvocationHandler {
+
+        private final PooledConnection pooledConnection;
+        private boolean released;
+
+        private ConnectionHandle(PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooledConnection);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return released || pooledConnection.connection.isClosed();
+
+                default:
+                    if (released && method.getDeclaringClass() != Object.class) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    try {
+                        return method.invoke(pooledConnection.connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.Collections;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Result of reconciling the Courses known by Parkour with those in the {@link LeaderboardStore}.
+ */
+public class CourseReconciliation {
+
+    private final List<String> insertedCourses;
+    private final List<String> orphanedCourses;
+
+    /**
+     * Construct the Course Reconciliation result.
+     *
+     * @param insertedCourses courses which were missing, and have been inserted
+     * @param orphanedCourses courses in the store which Parkour doesn't know about
+     */
+    public CourseReconciliation(@NotNull List<String> insertedCourses, @NotNull List<String> orphanedCourses) {
+        this.insertedCourses = Collections.unmodifiableList(insertedCourses);
+        this.orphanedCourses = Collections.unmodifiableList(orphanedCourses);
+    }
+
+    public List<String> getInsertedCourses() {
+        return insertedCourses;
+    }
+
+    public List<String> getOrphanedCourses() {
+        return orphanedCourses;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.a5h73y.parkour.database;
+
+/**
+ * Aggregate statistics of a Course, updated as each attempt is started and each time is achieved.
+ * The times and deaths are summarised in {@link CompactHistogram}s, so the mean, median and percentiles
+ * are available without reading the Course's times from the database.
+ */
+public class CourseStatistics {
+
+    private long attempts;
+    private CompactHistogram times = new CompactHistogram();
+    private CompactHistogram deaths = new CompactHistogram();
+
+    public synchronized void recordAttempt() {
+        attempts++;
+    }
+
+    /**
+     * Record the completion of the Course.
+     *
+     * @param time time in milliseconds
+     * @param deathCount deaths accumulated
+     */
+    public synchronized void recordCompletion(long time, int deathCount) {
+        times.record(time);
+        deaths.record(deathCount);
+    }
+
+    public synchronized long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Set the number of attempts.
+     * Used when the statistics are rebuilt, using the number of Course views.
+     *
+     * @param attempts number of attempts
+     */
+    public synchronized void setAttempts(long attempts) {
+        this.attempts = attempts;
+    }
+
+    public synchronized long getCompletions() {
+        return times.getTotalCount();
+    }
+
+    /**
+     * Get the percentage of attempts which were completed.
+     *
+     * @return completion percentage
+     */
+    public synchronized long getCompletionPercent() {
+        return attempts == 0 ? 0 : Math.min(100, Math.round(times.getTotalCount() * 100.0 / attempts));
+    }
+
+    public synchronized long getFastestTime() {
+        return times.getMinimum();
+    }
+
+    public synchronized long getMeanTime() {
+        return Math.round(times.getMean());
+    }
+
+    /**
+     * Get the time which the percentage of completions were achieved within.
+     *
+     * @param percentile percentile (0 - 100)
+     * @return time in milliseconds
+     */
+    public synchronized long getTimeAtPercentile(double percentile) {
+        return times.getValueAtPercentile(percentile);
+    }
+
+    public synchronized double getMeanDeaths() {
+        return deaths.getMean();
+    }
+
+    /**
+     * Count the completions which accumulated the number of deaths, inclusive.
+     *
+     * @param from minimum deaths
+     * @param to maximum deaths
+     * @return number of completions
+     */
+    public synchronized long countCompletionsWithDeaths(int from, int to) {
+        return deaths.countBetween(from, to);
+    }
+
+    /**
+     * Count the completions which accumulated at least the number of deaths.
+     *
+     * @param from minimum deaths
+     * @return number of completions
+     */
+    public synchronized long countCompletionsWithDeaths(int from) {
+        return deaths.getTotalCount() - deaths.countBelow(from);
+    }
+
+    /**
+     * Get the percentage of completions the time is within the fastest of.
+     * For example a result of 3 means the time is in the top 3% of completions.
+     *
+     * @param time time in milliseconds
+     * @return top percentage (1 - 100), or -1 if the Course has no completions
+     */
+    public synchronized int getTopPercent(long time) {
+        long completions = times.getTotalCount();
+        if (completions == 0) {
+            return -1;
+        }
+
+        long fasterCompletions = times.countBelow(time);
+        return (int) Math.max(1, Math.min(100, Math.ceil((fasterCompletions + 1) * 100.0 / completions)));
+    }
+
+    /**
+     * Copy the statistics.
+     * Used to persist the statistics without holding the lock while they're written.
+     *
+     * @return copy of the statistics
+     */
+    public synchronized CourseStatistics copy() {
+        CourseStatistics copy = new CourseStatistics();
+        copy.attempts = attempts;
+        copy.times = times.copy();
+        copy.deaths = deaths.copy();
+        return copy;
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.a5h73y.parkour.database;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the {@link CourseStatistics} of each Course, keyed by the lowercase course name.
+ * The statistics are updated incrementally, and periodically saved to a JSON file when modified.
+ * When no file exists yet, the statistics can be rebuilt once by streaming the times from the database.
+ */
+public class CourseStatisticsStore {
+
+    private static final Type STATISTICS_TYPE = new TypeToken<Map<String, CourseStatistics>>() {}.getType();
+
+    private static final String SELECT_TIMES_QUERY =
+            "SELECT c.name, t.time, t.deaths FROM time t JOIN course c ON c.courseId = t.courseId;";
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private final Gson gson = new Gson();
+    private final File statisticsFile;
+    private final Map<String, CourseStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    /**
+     * Updates made while the statistics are being rebuilt, to be applied to the rebuilt statistics before they're used.
+     * Null when not rebuilding. Guarded by the statistics.
+     */
+    private List<Consumer<Map<String, CourseStatistics>>> rebuildUpdates;
+
+    /**
+     * Construct the Course Statistics Store.
+     *
+     * @param statisticsFile file the statistics are saved to, or null to only hold them in memory
+     */
+    public CourseStatisticsStore(@Nullable File statisticsFile) {
+        this.statisticsFile = statisticsFile;
+    }
+
+    /**
+     * Load the statistics from the file.
+     *
+     * @return statistics were loaded, false if there were none to load
+     */
+    public boolean load() {
+        if (statisticsFile == null || !statisticsFile.exists()) {
+            return false;
+        }
+
+        try (Reader reader = Files.newBufferedReader(statisticsFile.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, CourseStatistics> loaded = gson.fromJson(reader, STATISTICS_TYPE);
+            if (loaded != null) {
+                statistics.putAll(loaded);
+            }
+            PluginUtils.debug("Loaded statistics for " + statistics.size() + " courses.");
+            return true;
+
+        } catch (IOException | JsonParseException e) {
+            PluginUtils.log("Unable to load the course statistics: " + e.getMessage(), 2);
+            return false;
+        }
+    }
+
+    /**
+     * Save the statistics to the file, if they've been modified since last saved.
+     * Each Course is copied before being written, and the file is replaced once completely written.
+     */
+    public synchronized void save() {
+        if (statisticsFile == null || !modified.getAndSet(false)) {
+            return;
+        }
+
+        Map<String, CourseStatistics> snapshot = new HashMap<>();
+        statistics.forEach((courseName, courseStatistics) -> snapshot.put(courseName, courseStatistics.copy()));
+
+        File partFile = new File(statisticsFile.getParentFile(), statisticsFile.getName() + ".part");
+        try {
+            Files.createDirectories(statisticsFile.getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(partFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, STATISTICS_TYPE, writer);
+            }
+            Files.move(partFile.toPath(), statisticsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            PluginUtils.debug("Saved statistics for " + snapshot.size() + " courses.");
+
+        } catch (IOException e) {
+            modified.set(true);
+            PluginUtils.log("Unable to save the course statistics: " + e.getMessage(), 2);
+        }
+    }
+
+    /**
+     * Rebuild the statistics by streaming every time from the database.
+     * The attempts can't be found from the times, so the number of Course views are used instead.
+     * Updates made during the rebuild are applied to the rebuilt statistics too, so none are lost by the swap.
+     *
+     * @param connectionProvider connection provider
+     * @param courseViews number of views of each Course
+     */
+    public void rebuild(@NotNull SqlConnectionProvider connectionProvider, @NotNull Map<String, Integer> courseViews) {
+        Map<String, CourseStatistics> rebuilt = new HashMap<>();
+        courseViews.forEach((courseName, views) ->
+                rebuilt.computeIfAbsent(courseName, key -> new CourseStatistics()).setAttempts(views));
+        long rows = 0;
+
+        // completions recorded from now on may not be committed before the query, so they are applied afterwards
+        connectionProvider.awaitSubmittedWrites();
+        synchronized (statistics) {
+            rebuildUpdates = new ArrayList<>();
+        }
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_TIMES_QUERY,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // the MySQL driver will only stream the results row by row with this fetch size
+            statement.setFetchSize(connectionProvider.isMySql() ? Integer.MIN_VALUE : REBUILD_FETCH_SIZE);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rebuilt.computeIfAbsent(resultSet.getString(1).toLowerCase(), key -> new CourseStatistics())
+                            .recordCompletion(resultSet.getLong(2), resultSet.getInt(3));
+                    rows++;
+                }
+            }
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+            synchronized (statistics) {
+                rebuildUpdates = null;
+            }
+            return;
+        }
+
+        synchronized (statistics) {
+            rebuildUpdates.forEach(update -> update.accept(rebuilt));
+            rebuildUpdates = null;
+            statistics.clear();
+            statistics.putAll(rebuilt);
+        }
+        modified.set(true);
+        PluginUtils.log("Rebuilt the statistics of " + rebuilt.size() + " courses from " + rows + " times.");
+    }
+
+    /**
+     * Record an attempt of the Course.
+     *
+     * @param courseName name of the course
+     */
+    public void recordAttempt(@NotNull String courseName) {
+        update(courses -> getOrCreateStatistics(courses, courseName).recordAttempt());
+    }
+
+    /**
+     * Record a completion of the Course.
+     *
+     * @param courseName name of the course
+     * @param time time in milliseconds
+     * @param deaths deaths accumulated
+     */
+    public void recordCompletion(@NotNull String courseName, long time, int deaths) {
+        update(courses -> getOrCreateStatistics(courses, courseName).recordCompletion(time, deaths));
+    }
+
+    /**
+     * Get the statistics of the Course.
+     *
+     * @param courseName name of the course
+     * @return course statistics, or null if nothing has been recorded
+     */
+    @Nullable
+    public CourseStatistics getStatistics(@NotNull String courseName) {
+        return statistics.get(courseName.toLowerCase());
+    }
+
+    /**
+     * Move the statistics to the Course's new name.
+     *
+     * @param courseName name of the course
+     * @param newCourseName new name of the course
+     */
+    public void renameCourse(@NotNull String courseName, @NotNull String newCourseName) {
+        update(courses -> {
+            CourseStatistics courseStatistics = courses.remove(courseName.toLowerCase());
+            if (courseStatistics != null) {
+                courses.put(newCourseName.toLowerCase(), courseStatistics);
+            }
+        });
+    }
+
+    /**
+     * Delete the statistics of the Course.
+     *
+     * @param courseName name of the course
+     */
+    public void deleteCourse(@NotNull String courseName) {
+        update(courses -> courses.remove(courseName.toLowerCase()));
+    }
+
+    public int getNumberOfCourses() {
+        return statistics.size();
+    }
+
+    /**
+     * Apply the update to the statistics, and to the rebuilt statistics if they're being rebuilt.
+     *
+     * @param update update of the statistics of each course
+     */
+    private void update(Consumer<Map<String, CourseStatistics>> update) {
+        synchronized (statistics) {
+            update.accept(statistics);
+            if (rebuildUpdates != null) {
+                rebuildUpdates.add(update);
+            }
+        }
+        modified.set(true);
+    }
+
+    private static CourseStatistics getOrCreateStatistics(Map<String, CourseStatistics> courses, String courseName) {
+        return courses.computeIfAbsent(courseName.toLowerCase(), key -> new CourseStatistics());
+    }
+}
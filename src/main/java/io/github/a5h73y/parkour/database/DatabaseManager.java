@@ -12,26 +12,43 @@ import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.configuration.impl.DefaultConfig;
 import io.github.a5h73y.parkour.type.CacheableParkourManager;
 import io.github.a5h73y.parkour.type.Initializable;
+import io.github.a5h73y.parkour.type.player.TimeResult;
+import io.github.a5h73y.parkour.utility.PlayerUtils;
 import io.github.a5h73y.parkour.utility.PluginUtils;
+import io.github.a5h73y.parkour.utility.StringUtils;
 import io.github.a5h73y.parkour.utility.TranslationUtils;
 import io.github.a5h73y.parkour.utility.ValidationUtils;
 import io.github.a5h73y.parkour.utility.time.DateTimeUtils;
 import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import pro.husk.Database;
@@ -40,20 +57,76 @@ import pro.husk.mysql.MySQL;
 /**
  * Parkour Database Manager.
  * Database Utility methods and the database implementation instance are managed here.
+ * Courses and Players are resolved here, the storage and ranking of the times is delegated to the {@link LeaderboardStore}.
  * Caching is used on course-specific related information.
  */
-public class DatabaseManager extends CacheableParkourManager implements Initializable {
-
-    private static final String SELECT_TIME_DATA_QUERY = "SELECT courseId, playerId, time, deaths FROM time";
+public class DatabaseManager extends CacheableParkourManager implements Initializable, SqlConnectionProvider {
+
+    private static final String UNKNOWN_PLAYER_NAME = "Unknown Player";
+
+    private static final int SQLITE_BORROW_TIMEOUT_SECONDS = 30;
+    private static final int SQLITE_VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long WRITE_FLUSH_TIMEOUT_MS = 5000;
+    private static final int MAXIMUM_PAGE_SIZE = 54;
+    private static final long COMPACTION_DELAY_TICKS = 20 * 60 * 5;
+    private static final long RECONNECT_CHECK_TICKS = 20;
+    private static final String JOURNAL_FOLDER = "journal";
+    private static final String JOURNAL_FILE = "mysql-time-writes.journal";
+    private static final int IN_MEMORY_QUERY_THREADS = 2;
+    private static final String STATISTICS_FOLDER = "statistics";
+    private static final String STATISTICS_FILE = "course-statistics.json";
+    private static final int[][] DEATH_RANGES = {{0, 0}, {1, 2}, {3, 5}, {6, 10}};
 
     private Database database;
-
-    private final Map<String, Integer> courseIdCache = new HashMap<>();
-    private final Map<String, List<TimeEntry>> resultsCache = new HashMap<>();
+    private ConnectionPool readConnectionPool;
+    private ConnectionPool writeConnectionPool;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeWriteQueue timeWriteQueue;
+    private final ExecutorService queryExecutor;
+
+    private final LeaderboardStore leaderboardStore;
+    private final Map<String, String> playerNames = new ConcurrentHashMap<>();
+    private final TimeDataTransfer timeDataTransfer;
+    private final TimeCompactionTask timeCompactionTask;
+    private final CourseStatisticsStore courseStatistics;
+    private BukkitTask scheduledCompaction;
+    private BukkitTask scheduledStatisticsSave;
 
     public DatabaseManager(final Parkour parkour) {
         super(parkour);
+        this.circuitBreaker = new CircuitBreaker("MySQL",
+                TimeUnit.SECONDS.toMillis(getConfig().getInt("MySQL.Reconnect.InitialBackoffSeconds")),
+                TimeUnit.SECONDS.toMillis(getConfig().getInt("MySQL.Reconnect.MaximumBackoffSeconds")));
+
+        if (getConfig().getBoolean("Database.InMemory.Enabled")) {
+            PluginUtils.log("[SQL] Using the in-memory store, times will not be persisted.", 1);
+            this.leaderboardStore = new MemoryLeaderboardStore(getConfig().getInt("Database.InMemory.TimesPerPlayer"));
+            this.queryExecutor = Executors.newFixedThreadPool(IN_MEMORY_QUERY_THREADS,
+                    createThreadFactory("Parkour-Database-"));
+            this.timeWriteQueue = null;
+            this.timeDataTransfer = null;
+            this.timeCompactionTask = null;
+            this.courseStatistics = new CourseStatisticsStore(null);
+            return;
+        }
+
         initiateConnection();
+        this.queryExecutor = Executors.newFixedThreadPool(readConnectionPool.getMaximumSize(),
+                createThreadFactory("Parkour-Database-"));
+        this.timeWriteQueue = new TimeWriteQueue(this,
+                getConfig().getInt("Database.WriteQueue.Capacity"),
+                getConfig().getInt("Database.WriteQueue.BatchSize"),
+                createWriteJournal());
+        this.leaderboardStore = new SqlLeaderboardStore(this,
+                new LeaderboardCache(getConfig().getInt("Database.Cache.MaximumCourses"),
+                        getConfig().getLong("Database.Cache.MaximumMegabytes") * 1024 * 1024));
+        this.timeDataTransfer = new TimeDataTransfer(parkour, this);
+        this.timeCompactionTask = new TimeCompactionTask(this,
+                getConfig().getInt("Database.Compaction.KeepBestTimes"),
+                getConfig().getInt("Database.Compaction.KeepDays"),
+                getConfig().getInt("Database.Compaction.BatchSize"));
+        this.courseStatistics = new CourseStatisticsStore(
+                new File(parkour.getDataFolder(), STATISTICS_FOLDER + File.separator + STATISTICS_FILE));
     }
 
     /**
@@ -91,26 +164,7 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         }
 
         String courseName = courseNameRaw.toLowerCase();
-        if (courseIdCache.containsKey(courseName)) {
-            PluginUtils.debug("Cached value found for " + courseName + ": " + courseIdCache.get(courseName));
-            return courseIdCache.get(courseName);
-        }
-
-        PluginUtils.debug("Finding course ID for " + courseName);
-        String courseIdQuery = "SELECT courseId FROM course WHERE name = ?;";
-
-        try (PreparedStatement statement = getDatabaseConnection().prepareStatement(courseIdQuery)) {
-            statement.setString(1, courseName);
-            ResultSet resultSet = statement.executeQuery();
-
-            if (resultSet.next()) {
-                courseId = resultSet.getInt("courseId");
-                courseIdCache.put(courseName, courseId);
-            }
-            resultSet.getStatement().close();
-        } catch (SQLException e) {
-            logSqlException(e);
-        }
+        courseId = leaderboardStore.getCourseId(courseName);
 
         if (courseId == -1 && printError) {
             PluginUtils.log("Course '" + courseName + "' was not found in the database. "
@@ -122,6 +176,7 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
 
     /**
      * Find the fastest times for the course.
+     * Only each Player's best time is included.
      * Limit the results based on the parameter.
      *
      * @param courseName name of the course
@@ -135,22 +190,59 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         if (courseId > 0) {
             int maxEntries = calculateResultsLimit(resultsLimit);
             PluginUtils.debug("Getting top " + maxEntries + " results for " + courseName);
-            String courseResultsQuery = SELECT_TIME_DATA_QUERY + " WHERE courseId=? ORDER BY time LIMIT ?";
-
-            try (PreparedStatement statement = getDatabaseConnection().prepareStatement(courseResultsQuery)) {
-                statement.setInt(1, courseId);
-                statement.setInt(2, resultsLimit);
-                ResultSet resultSet = statement.executeQuery();
-                results = extractTimeEntries(resultSet);
-                resultSet.getStatement().close();
-            } catch (SQLException e) {
-                logSqlException(e);
-            }
+            results = leaderboardStore.getTopResults(courseId, maxEntries);
         }
 
         return results;
     }
 
+    /**
+     * Find a page of the course's leaderboard, following on from the last entry of the previous page.
+     * Keyset pagination is used, ordered by time and then player ID, so each page costs the same
+     * regardless of how deep into the leaderboard it is.
+     *
+     * @param courseName name of the course
+     * @param afterTime time of the previous page's last entry, or -1 for the first page
+     * @param afterPlayerId player ID of the previous page's last entry, or null for the first page
+     * @param pageSize amount of results
+     * @return {@link TimeEntry} results
+     */
+    public List<TimeEntry> getCourseResultsPage(@NotNull String courseName, long afterTime,
+                                                @Nullable String afterPlayerId, int pageSize) {
+        List<TimeEntry> results = new ArrayList<>();
+        int courseId = getCourseId(courseName.toLowerCase());
+
+        if (courseId > 0) {
+            int maxEntries = Math.max(1, Math.min(pageSize, MAXIMUM_PAGE_SIZE));
+            PluginUtils.debug("Getting page of " + maxEntries + " results for " + courseName + " after " + afterTime);
+            results = leaderboardStore.getResultsPage(courseId, afterTime, afterPlayerId, maxEntries);
+        }
+
+        return results;
+    }
+
+    /**
+     * Find the page of the course's leaderboard.
+     * The nth best time is used to find the entry before the page starts,
+     * which is then used as the key to find the page.
+     *
+     * @param courseName name of the course
+     * @param page page number (starting at 1)
+     * @param pageSize amount of results per page
+     * @return {@link TimeEntry} results
+     */
+    public List<TimeEntry> getCourseResultsPage(@NotNull String courseName, int page, int pageSize) {
+        if (page <= 1) {
+            return getCourseResultsPage(courseName, -1, null, pageSize);
+        }
+
+        TimeEntry previousEntry = getNthBestTime(courseName, (page - 1) * pageSize);
+        if (previousEntry == null) {
+            return new ArrayList<>();
+        }
+        return getCourseResultsPage(courseName, previousEntry.getTime(), previousEntry.getPlayerId(), pageSize);
+    }
+
     /**
      * Find the fastest times for the player on a course.
      * Limit the results based on the parameter.
@@ -161,24 +253,17 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      * @return {@link TimeEntry} results
      */
     public List<TimeEntry> getTopPlayerCourseResults(OfflinePlayer player, String courseName, int limit) {
+        return findTopPlayerCourseResults(getPlayerId(player), courseName, limit);
+    }
+
+    private List<TimeEntry> findTopPlayerCourseResults(String playerId, String courseName, int limit) {
         List<TimeEntry> results = new ArrayList<>();
         int courseId = getCourseId(courseName.toLowerCase());
 
         if (courseId > 0) {
             int maxEntries = calculateResultsLimit(limit);
-            PluginUtils.debug("Getting top " + maxEntries + " results for " + player.getName() + " on " + courseName);
-            String playerResultsQuery = SELECT_TIME_DATA_QUERY + " WHERE courseId=? AND playerId=? ORDER BY time LIMIT ?";
-
-            try (PreparedStatement statement = getDatabaseConnection().prepareStatement(playerResultsQuery)) {
-                statement.setInt(1, courseId);
-                statement.setString(2, getPlayerId(player));
-                statement.setInt(3, maxEntries);
-                ResultSet resultSet = statement.executeQuery();
-                results = extractTimeEntries(resultSet);
-                resultSet.getStatement().close();
-            } catch (SQLException e) {
-                logSqlException(e);
-            }
+            PluginUtils.debug("Getting top " + maxEntries + " results for " + playerId + " on " + courseName);
+            results = leaderboardStore.getPlayerResults(courseId, playerId, maxEntries);
         }
 
         return results;
@@ -195,33 +280,20 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      * @return leaderboard position
      */
     public int getPositionEntryOnLeaderboard(@Nullable OfflinePlayer player, String courseName, long time) {
+        return calculatePositionEntry(player != null ? getPlayerId(player) : null, courseName, time);
+    }
+
+    private int calculatePositionEntry(@Nullable String playerId, String courseName, long time) {
         int result = -1;
-        int courseId = getCourseId(courseName);
+        int courseId = getCourseId(courseName.toLowerCase());
 
         if (courseId > 0) {
-            result = 1;
-            String leaderboardPositionQuery = "SELECT 1 FROM time WHERE courseId=? AND time < ?";
-
-            if (player != null) {
-                leaderboardPositionQuery += " AND playerId=?";
-            }
-
-            PluginUtils.debug("Checking leaderboard position for: " + leaderboardPositionQuery);
-
-            try (PreparedStatement statement = getDatabaseConnection().prepareStatement(leaderboardPositionQuery)) {
-                statement.setInt(1, courseId);
-                statement.setLong(2, time);
-
-                if (player != null) {
-                    statement.setString(3, getPlayerId(player));
-                }
-                ResultSet resultSet = statement.executeQuery();
-                while (resultSet.next()) {
-                    result++;
-                }
-                resultSet.getStatement().close();
-            } catch (SQLException e) {
-                logSqlException(e);
+            if (playerId != null) {
+                TimeEntry bestTime = leaderboardStore.getPlayerBest(courseId, playerId);
+                result = 1 + (bestTime != null && bestTime.getTime() < time ? 1 : 0);
+            } else {
+                int fasterTimes = leaderboardStore.countFasterThan(courseId, time);
+                result = fasterTimes >= 0 ? fasterTimes + 1 : -1;
             }
             PluginUtils.debug("Leaderboard position is: " + result);
         }
@@ -248,27 +320,18 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      * @return leaderboard position
      */
     public int getPositionOnLeaderboard(OfflinePlayer player, String courseName) {
-        int result = -1;
-        int courseId = getCourseId(courseName);
-
-        if (courseId > 0 && hasPlayerAchievedTime(player, courseName)) {
-            String leaderboardPositionQuery = "SELECT COUNT(*) AS position FROM time WHERE courseId=? AND time < "
-                    + "(SELECT time FROM time WHERE courseId=? AND playerId=? ORDER BY time LIMIT 1)";
+        return calculatePosition(getPlayerId(player), courseName);
+    }
 
-            PluginUtils.debug("Checking leaderboard position for: " + leaderboardPositionQuery);
+    private int calculatePosition(String playerId, String courseName) {
+        int result = -1;
+        int courseId = getCourseId(courseName.toLowerCase());
 
-            try (PreparedStatement statement = getDatabaseConnection().prepareStatement(leaderboardPositionQuery)) {
-                statement.setInt(1, courseId);
-                statement.setInt(2, courseId);
-                statement.setString(3, getPlayerId(player));
+        if (courseId > 0) {
+            TimeEntry bestTime = leaderboardStore.getPlayerBest(courseId, playerId);
 
-                ResultSet resultSet = statement.executeQuery();
-                if (resultSet.next()) {
-                    result = resultSet.getInt("position");
-                }
-                resultSet.getStatement().close();
-            } catch (SQLException e) {
-                logSqlException(e);
+            if (bestTime != null) {
+                result = leaderboardStore.countFasterThan(courseId, bestTime.getTime());
             }
             PluginUtils.debug("Leaderboard position is: " + result);
         }
@@ -276,22 +339,20 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     }
 
     /**
-     * Find the nth best time for the course.
-     * Uses cache to quickly find the result based on position in the list.
+     * Find the fastest times for the course.
+     * Only each Player's best time is included.
      *
      * @param courseName course
      * @param results results
      * @return matching {@link TimeEntry}
      */
     public List<TimeEntry> getTopBestTimes(String courseName, int results) {
-        List<TimeEntry> cachedResults = getCourseCache(courseName);
-        int maxResults = Math.min(results, cachedResults.size());
-        return cachedResults.subList(0, maxResults);
+        int courseId = getCourseId(courseName.toLowerCase());
+        return courseId > 0 ? leaderboardStore.getTopResults(courseId, results) : new ArrayList<>();
     }
 
     /**
      * Find the nth best time for the course.
-     * Uses cache to quickly find the result based on position in the list.
      *
      * @param courseName course
      * @param position position
@@ -299,36 +360,68 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      */
     @Nullable
     public TimeEntry getNthBestTime(String courseName, int position) {
-        List<TimeEntry> cachedResults = getCourseCache(courseName);
-        return position > cachedResults.size() ? null : cachedResults.get(position - 1);
+        int courseId = getCourseId(courseName.toLowerCase());
+        return courseId > 0 ? leaderboardStore.getNthBestTime(courseId, position) : null;
     }
 
     /**
-     * Determine if the player has achieved a time on the course.
+     * Find the fastest times for the course within the current leaderboard period.
+     * Only each Player's best time within the period is included.
      *
-     * @param player target offline player
      * @param courseName name of the course
-     * @return a time exists
+     * @param period leaderboard period
+     * @param resultsLimit amount of results
+     * @return {@link TimeEntry} results
      */
-    public boolean hasPlayerAchievedTime(OfflinePlayer player, String courseName) {
-        boolean result = false;
+    public List<TimeEntry> getTopPeriodResults(@NotNull String courseName,
+                                               @NotNull LeaderboardPeriod period,
+                                               int resultsLimit) {
+        return findPeriodResults(courseName, period, calculateResultsLimit(resultsLimit), 0);
+    }
+
+    /**
+     * Find the nth best time for the course within the current leaderboard period.
+     *
+     * @param courseName course
+     * @param period leaderboard period
+     * @param position position
+     * @return matching {@link TimeEntry}
+     */
+    @Nullable
+    public TimeEntry getNthBestPeriodTime(@NotNull String courseName, @NotNull LeaderboardPeriod period, int position) {
+        if (position < 1) {
+            return null;
+        }
+        List<TimeEntry> results = findPeriodResults(courseName, period, 1, position - 1);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    private List<TimeEntry> findPeriodResults(String courseName, LeaderboardPeriod period, int limit, int offset) {
+        List<TimeEntry> results = new ArrayList<>();
         int courseId = getCourseId(courseName.toLowerCase());
 
         if (courseId > 0) {
-            String timeExistsQuery = "SELECT 1 FROM time WHERE courseId=? AND playerId=? LIMIT 1;";
+            PluginUtils.debug("Getting " + period.getKey() + " results for " + courseName);
+            results = leaderboardStore.getPeriodResults(courseId, period, period.getCurrentPeriodStart(), limit, offset);
+        }
 
-            try (PreparedStatement statement = getDatabaseConnection().prepareStatement(timeExistsQuery)) {
-                statement.setInt(1, courseId);
-                statement.setString(2, getPlayerId(player));
-                ResultSet resultSet = statement.executeQuery();
+        return results;
+    }
 
-                result = resultSet.next();
-                resultSet.getStatement().close();
-            } catch (SQLException e) {
-                logSqlException(e);
-            }
-        }
-        return result;
+    /**
+     * Determine if the player has achieved a time on the course.
+     *
+     * @param player target offline player
+     * @param courseName name of the course
+     * @return a time exists
+     */
+    public boolean hasPlayerAchievedTime(OfflinePlayer player, String courseName) {
+        return hasPlayerIdAchievedTime(getPlayerId(player), courseName);
+    }
+
+    private boolean hasPlayerIdAchievedTime(String playerId, String courseName) {
+        int courseId = getCourseId(courseName.toLowerCase());
+        return courseId > 0 && leaderboardStore.getPlayerBest(courseId, playerId) != null;
     }
 
     /**
@@ -353,6 +446,154 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         return getPositionEntryOnLeaderboard(player, courseName, time) == 1;
     }
 
+    /**
+     * Find the fastest times for the course, without blocking the calling thread.
+     *
+     * @param courseName name of the course
+     * @param resultsLimit amount of results
+     * @return future {@link TimeEntry} results
+     */
+    public CompletableFuture<List<TimeEntry>> getTopCourseResultsAsync(@NotNull String courseName, int resultsLimit) {
+        return supplyAsync(() -> getTopCourseResults(courseName, resultsLimit));
+    }
+
+    /**
+     * Find the fastest times for the course within the current leaderboard period, without blocking the calling thread.
+     *
+     * @param courseName name of the course
+     * @param period leaderboard period
+     * @param resultsLimit amount of results
+     * @return future {@link TimeEntry} results
+     */
+    public CompletableFuture<List<TimeEntry>> getTopPeriodResultsAsync(@NotNull String courseName,
+                                                                       @NotNull LeaderboardPeriod period,
+                                                                       int resultsLimit) {
+        return supplyAsync(() -> getTopPeriodResults(courseName, period, resultsLimit));
+    }
+
+    /**
+     * Find the nth best time for the course within the current leaderboard period, without blocking the calling thread.
+     *
+     * @param courseName course
+     * @param period leaderboard period
+     * @param position position
+     * @return future matching {@link TimeEntry}, may complete with null
+     */
+    public CompletableFuture<TimeEntry> getNthBestPeriodTimeAsync(String courseName,
+                                                                  LeaderboardPeriod period, int position) {
+        return supplyAsync(() -> getNthBestPeriodTime(courseName, period, position));
+    }
+
+    /**
+     * Find the page of the course's leaderboard, without blocking the calling thread.
+     *
+     * @param courseName name of the course
+     * @param page page number (starting at 1)
+     * @param pageSize amount of results per page
+     * @return future {@link TimeEntry} results
+     */
+    public CompletableFuture<List<TimeEntry>> getCourseResultsPageAsync(@NotNull String courseName,
+                                                                        int page, int pageSize) {
+        return supplyAsync(() -> getCourseResultsPage(courseName, page, pageSize));
+    }
+
+    /**
+     * Find the fastest times for the player on a course, without blocking the calling thread.
+     *
+     * @param player target offline player
+     * @param courseName name of the course
+     * @param limit amount of results
+     * @return future {@link TimeEntry} results
+     */
+    public CompletableFuture<List<TimeEntry>> getTopPlayerCourseResultsAsync(OfflinePlayer player,
+                                                                            String courseName, int limit) {
+        String playerId = getPlayerId(player);
+        return supplyAsync(() -> findTopPlayerCourseResults(playerId, courseName, limit));
+    }
+
+    /**
+     * Find the nth best time for the course, without blocking the calling thread.
+     *
+     * @param courseName course
+     * @param position position
+     * @return future matching {@link TimeEntry}, may complete with null
+     */
+    public CompletableFuture<TimeEntry> getNthBestTimeAsync(String courseName, int position) {
+        return supplyAsync(() -> getNthBestTime(courseName, position));
+    }
+
+    /**
+     * Get the Player's best time position on specified Course, without blocking the calling thread.
+     *
+     * @param player player
+     * @param courseName course name
+     * @return future leaderboard position
+     */
+    public CompletableFuture<Integer> getPositionOnLeaderboardAsync(OfflinePlayer player, String courseName) {
+        String playerId = getPlayerId(player);
+        return supplyAsync(() -> calculatePosition(playerId, courseName));
+    }
+
+    /**
+     * Determine if the player has achieved a time on the course, without blocking the calling thread.
+     *
+     * @param player target offline player
+     * @param courseName name of the course
+     * @return future a time exists
+     */
+    public CompletableFuture<Boolean> hasPlayerAchievedTimeAsync(OfflinePlayer player, String courseName) {
+        String playerId = getPlayerId(player);
+        return supplyAsync(() -> hasPlayerIdAchievedTime(playerId, courseName));
+    }
+
+    /**
+     * Determine if this is the best time on the course, without blocking the calling thread.
+     * If a player is specified, only their times will be compared.
+     *
+     * @param player target offline player
+     * @param courseName name of the course
+     * @param time time in milliseconds
+     * @return future is best course time
+     */
+    public CompletableFuture<Boolean> isBestCourseTimeAsync(@Nullable OfflinePlayer player,
+                                                            String courseName, long time) {
+        String playerId = player != null ? getPlayerId(player) : null;
+        return supplyAsync(() -> calculatePositionEntry(playerId, courseName, time) == 1);
+    }
+
+    /**
+     * Run the consumer on the main server thread once the future has completed.
+     * Any failure will be logged rather than passed to the consumer.
+     *
+     * @param future future result
+     * @param consumer consumer of the result
+     * @param <T> result type
+     */
+    public <T> void acceptOnMainThread(CompletableFuture<T> future, Consumer<T> consumer) {
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                PluginUtils.log("[SQL] Asynchronous query failed: " + throwable.getMessage(), 2);
+                throwable.printStackTrace();
+            } else {
+                runOnMainThread(() -> consumer.accept(result));
+            }
+        });
+    }
+
+    /**
+     * Run the task on the main server thread.
+     * If already on the main thread, the task is run immediately.
+     *
+     * @param task task to run
+     */
+    public void runOnMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else if (parkour.isEnabled()) {
+            Bukkit.getScheduler().runTask(parkour, task);
+        }
+    }
+
     /**
      * Insert a Course into the Database.
      * Once a course has been created, a record will be entered into the database giving it a unique numeric identifier.
@@ -361,79 +602,121 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      * @param courseName name of the course
      */
     public void insertCourse(String courseName) {
-        String insertCourseUpdate = "INSERT INTO course (name) VALUES (?);";
-        PluginUtils.debug("Inserted course: " + insertCourseUpdate);
-
-        try (PreparedStatement statement = getDatabaseConnection().prepareStatement(insertCourseUpdate)) {
-            statement.setString(1, courseName);
-            statement.executeUpdate();
-        } catch (SQLException e) {
-            logSqlException(e);
-        }
+        PluginUtils.debug("Inserting course: " + courseName);
+        leaderboardStore.insertCourse(courseName.toLowerCase());
     }
 
     /**
      * Insert a time record into the database for the player's time.
+     * The Player's personal best and period bests are updated alongside.
      *
      * @param courseName name of the course
      * @param player target Player
      * @param time time in milliseconds
      * @param deaths deaths accumulated
+     * @param replaceSlowerTimes only keep the time if it's the Player's fastest, deleting their slower times
+     * @return course ID, or -1 if the course ID couldn't be found
      */
-    public void insertTime(String courseName, Player player, long time, int deaths) {
+    private int insertTime(String courseName, Player player, long time, int deaths, boolean replaceSlowerTimes) {
+        if (!ValidationUtils.isStringValid(courseName)) {
+            return -1;
+        }
+
+        PluginUtils.debug("Inserting time for: " + player.getName());
         int courseId = getCourseId(courseName);
+        String playerId = getPlayerId(player);
+        String playerName = player.getName();
+        long achieved = System.currentTimeMillis();
 
+        // the write is still queued while the database is unavailable, to be journaled and replayed later
         if (courseId > 0) {
-            String insertTimeUpdate = "INSERT INTO time (courseId, playerId, time, deaths) VALUES (?, ?, ?, ?);";
-            PluginUtils.debug("Inserting time for: " + player.getName());
+            leaderboardStore.insertTime(courseId, playerId, playerName, time, deaths, achieved, replaceSlowerTimes);
+        } else {
+            leaderboardStore.insertTime(courseName.toLowerCase(), playerId, playerName, time, deaths, achieved,
+                    replaceSlowerTimes);
+        }
+        playerNames.put(playerId, playerName);
+        return courseId;
+    }
 
-            try {
-                CompletableFuture.supplyAsync(() -> {
-                    int results = 0;
-                    try (PreparedStatement statement = getDatabaseConnection().prepareStatement(insertTimeUpdate)) {
-                        statement.setInt(1, courseId);
-                        statement.setString(2, getPlayerId(player));
-                        statement.setLong(3, time);
-                        statement.setInt(4, deaths);
-                        results = statement.executeUpdate();
-                    } catch (SQLException e) {
-                        logSqlException(e);
-                    }
-                    return results;
-                }).get();
-                resultsCache.remove(courseName.toLowerCase());
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
+    /**
+     * Get the Player's name using their Player ID.
+     * Names are loaded alongside the times from the player table, otherwise the server's
+     * OfflinePlayer information is used once and the result is stored for future lookups.
+     *
+     * @param playerId player ID
+     * @return player name
+     */
+    @NotNull
+    public String getPlayerName(@NotNull String playerId) {
+        String playerName = playerNames.get(playerId);
+
+        if (playerName == null) {
+            playerName = PlayerUtils.findDatabasePlayer(playerId).getName();
+            if (playerName != null) {
+                submitPlayerName(playerId, playerName);
+            } else {
+                playerName = UNKNOWN_PLAYER_NAME;
             }
+            playerNames.put(playerId, playerName);
+        }
+        return playerName;
+    }
+
+    /**
+     * Update the Player's name stored in the database.
+     * The name is only written when it differs from the last known name.
+     *
+     * @param player player
+     */
+    public void updatePlayerName(@NotNull Player player) {
+        String playerId = getPlayerId(player);
+        if (!player.getName().equals(playerNames.put(playerId, player.getName()))) {
+            PluginUtils.debug("Queueing player name update for: " + player.getName());
+            submitPlayerName(playerId, player.getName());
         }
     }
 
     /**
-     * Insert or Update player's time on course.
+     * Insert or Update player's time on course, then find whether it's a new record.
      * A time will be inserted or updated depending on a config option.
-     * Updating will only apply once the player has beaten their best time.
+     * Updating will only keep the time once the player has beaten their best time.
+     * The time is queued immediately, so it's never lost waiting for the result.
+     * When the leaderboard is held in memory, the time is ranked immediately too,
+     * otherwise it's ranked asynchronously against the leaderboard including the time.
      *
      * @param courseName name of the course
      * @param player target Player
      * @param time time in milliseconds
      * @param deaths deaths accumulated
+     * @return future time result
      */
-    public void insertOrUpdateTime(@NotNull String courseName,
-                                   @NotNull Player player,
-                                   long time, int deaths, boolean isNewRecord) {
+    public CompletableFuture<TimeResult> insertOrUpdateTime(@NotNull String courseName,
+                                                            @NotNull Player player,
+                                                            long time, int deaths) {
         boolean updatePlayerTime = getConfig().getBoolean("OnFinish.UpdatePlayerDatabaseTime");
-        PluginUtils.debug("Potentially Inserting or Updating Time for player: " + player.getName()
-                + ", isNewRecord: " + isNewRecord + ", updatePlayerTime: " + updatePlayerTime);
+        PluginUtils.debug("Inserting or Updating Time for player: " + player.getName()
+                + ", updatePlayerTime: " + updatePlayerTime);
+        courseStatistics.recordCompletion(courseName, time, deaths);
+        int courseId = insertTime(courseName, player, time, deaths, updatePlayerTime);
 
-        if (isNewRecord && updatePlayerTime) {
-            PluginUtils.debug("Updating the Time for player " + player.getName());
-            deletePlayerCourseTimes(player, courseName);
-            insertTime(courseName, player, time, deaths);
+        if (courseId <= 0 || (!updatePlayerTime && !getConfig().getBoolean("OnFinish.DisplayNewRecords"))) {
+            return CompletableFuture.completedFuture(TimeResult.NONE);
+        }
+
+        String playerId = getPlayerId(player);
+        int position = leaderboardStore.getLoadedTimePosition(courseId, playerId, time);
+        if (position >= 0) {
+            return CompletableFuture.completedFuture(getTimeResult(position));
+        }
+        return supplyAsync(() -> getTimeResult(leaderboardStore.getTimePosition(courseId, playerId, time)));
+    }
 
-        } else if (!updatePlayerTime) {
-            PluginUtils.debug("Inserting a Time for player " + player);
-            insertTime(courseName, player, time, deaths);
+    private TimeResult getTimeResult(int position) {
+        if (position == 1) {
+            return TimeResult.GLOBAL_BEST;
         }
+        return position > 1 ? TimeResult.PLAYER_BEST : TimeResult.NONE;
     }
 
     /**
@@ -444,25 +727,9 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      */
     public void renameCourse(String targetCourseName, String desiredCourseName) {
         PluginUtils.debug("Renaming course " + targetCourseName + " to " + desiredCourseName);
-        String renameCourseQuery = "UPDATE course SET name=? WHERE name=?";
-
-        try {
-            CompletableFuture.supplyAsync(() -> {
-                int results = 0;
-                try (PreparedStatement statement = getDatabaseConnection().prepareStatement(renameCourseQuery)) {
-                    statement.setString(1, targetCourseName);
-                    statement.setString(2, desiredCourseName);
-                    results = statement.executeUpdate();
-                } catch (SQLException e) {
-                    logSqlException(e);
-                }
-                return results;
-            }).get();
-            resultsCache.remove(targetCourseName);
-            courseIdCache.remove(targetCourseName);
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
+        leaderboardStore.renameCourse(targetCourseName.toLowerCase(), desiredCourseName.toLowerCase());
+        clearCourseCache(targetCourseName);
+        courseStatistics.renameCourse(targetCourseName, desiredCourseName);
     }
 
     /**
@@ -472,24 +739,8 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      * @param player target offline player
      */
     public void deletePlayerTimes(@NotNull OfflinePlayer player) {
-        String deletePlayerTimesUpdate = "DELETE FROM time WHERE playerId=?";
         PluginUtils.debug("Deleting all Player times for " + player.getName());
-
-        try {
-            CompletableFuture.supplyAsync(() -> {
-                int results = 0;
-                try (PreparedStatement statement = getDatabaseConnection().prepareStatement(deletePlayerTimesUpdate)) {
-                    statement.setString(1, getPlayerId(player));
-                    results = statement.executeUpdate();
-                } catch (SQLException e) {
-                    logSqlException(e);
-                }
-                return results;
-            }).get();
-            clearCache();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
+        leaderboardStore.deletePlayerTimes(getPlayerId(player));
     }
 
     /**
@@ -500,29 +751,15 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     public void deleteCourseTimes(@NotNull String courseName) {
         int courseId = getCourseId(courseName);
         if (courseId > 0) {
-            String deleteCourseTimesUpdate = "DELETE FROM time WHERE courseId=?";
             PluginUtils.debug("Deleting all Course times for " + courseName);
-
-            try {
-                CompletableFuture.supplyAsync(() -> {
-                    int results = 0;
-                    try (PreparedStatement statement = getDatabaseConnection().prepareStatement(deleteCourseTimesUpdate)) {
-                        statement.setInt(1, courseId);
-                        results = statement.executeUpdate();
-                    } catch (SQLException e) {
-                        logSqlException(e);
-                    }
-                    return results;
-                }).get();
-                resultsCache.remove(courseName.toLowerCase());
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
+            leaderboardStore.deleteCourseTimes(courseId);
         }
+        courseStatistics.deleteCourse(courseName);
     }
 
     /**
      * Delete player times from a certain course.
+     * The delete is queued behind any pending inserts, so it is applied in submission order.
      *
      * @param player target offline player
      * @param courseName name of the course
@@ -530,26 +767,11 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     public void deletePlayerCourseTimes(@NotNull OfflinePlayer player, @NotNull String courseName) {
         int courseId = getCourseId(courseName);
 
+        PluginUtils.debug("Deleting all times for player " + player.getName() + " for course " + courseName);
         if (courseId > 0) {
-            String deletePlayerCourseTimes = "DELETE FROM time WHERE playerId=? AND courseId=?";
-            PluginUtils.debug("Deleting all times for player " + player.getName() + " for course " + courseName);
-
-            try {
-                CompletableFuture.supplyAsync(() -> {
-                    int results = 0;
-                    try (PreparedStatement statement = getDatabaseConnection().prepareStatement(deletePlayerCourseTimes)) {
-                        statement.setString(1, getPlayerId(player));
-                        statement.setInt(2, courseId);
-                        results = statement.executeUpdate();
-                    } catch (SQLException e) {
-                        logSqlException(e);
-                    }
-                    return results;
-                }).get();
-                resultsCache.remove(courseName.toLowerCase());
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
+            leaderboardStore.deletePlayerCourseTimes(courseId, getPlayerId(player), true);
+        } else if (ValidationUtils.isStringValid(courseName)) {
+            leaderboardStore.deletePlayerCourseTimes(courseName.toLowerCase(), getPlayerId(player), true);
         }
     }
 
@@ -563,24 +785,9 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     public void deleteCourseAndReferences(@NotNull String courseNameRaw) {
         PluginUtils.debug("Completely deleting course " + courseNameRaw);
         String courseName = courseNameRaw.toLowerCase();
-        String deleteCourseUpdate = "DELETE FROM course WHERE name=?";
-
-        try {
-            CompletableFuture.supplyAsync(() -> {
-                int results = 0;
-                try (PreparedStatement statement = getDatabaseConnection().prepareStatement(deleteCourseUpdate)) {
-                    statement.setString(1, courseName);
-                    results = statement.executeUpdate();
-                } catch (SQLException e) {
-                    logSqlException(e);
-                }
-                return results;
-            }).get();
-            resultsCache.remove(courseName);
-            courseIdCache.remove(courseName);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        leaderboardStore.deleteCourse(courseName);
+        clearCourseCache(courseName);
+        courseStatistics.deleteCourse(courseName);
     }
 
     /**
@@ -591,8 +798,20 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     public void displayInformation(CommandSender commandSender) {
         try {
             TranslationUtils.sendHeading("Parkour Database", commandSender);
-            String databaseType = database instanceof MySQL ? "MySQL" : "SQLite";
-            TranslationUtils.sendValue(commandSender, "Database Type", databaseType);
+            TranslationUtils.sendValue(commandSender, "Database Type", leaderboardStore.getName());
+            if (database == null) {
+                TranslationUtils.sendValue(commandSender, "Personal Bests", leaderboardStore.getCacheSize());
+                return;
+            }
+
+            TranslationUtils.sendValue(commandSender, "Read Connections",
+                    readConnectionPool.getActiveConnections() + " / " + readConnectionPool.getMaximumSize());
+            TranslationUtils.sendValue(commandSender, "Write Connections",
+                    writeConnectionPool.getActiveConnections() + " / " + writeConnectionPool.getMaximumSize());
+            if (database instanceof MySQL) {
+                TranslationUtils.sendValue(commandSender, "Connection State", circuitBreaker.getState().name());
+                TranslationUtils.sendValue(commandSender, "Journaled Writes", timeWriteQueue.getJournaledWrites());
+            }
 
             ResultSet count = database.query("SELECT COUNT(*) FROM course;");
             TranslationUtils.sendValue(commandSender, "Courses", count.getInt(1));
@@ -600,35 +819,77 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
             count = database.query("SELECT COUNT(*) FROM time;");
             TranslationUtils.sendValue(commandSender, "Times", count.getInt(1));
 
+            count = database.query("SELECT COUNT(*) FROM personal_best;");
+            TranslationUtils.sendValue(commandSender, "Personal Bests", count.getInt(1));
+
             count.close();
+
+            if (database instanceof SQLite) {
+                TranslationUtils.sendValue(commandSender, "Database Size",
+                        (timeCompactionTask.getSqliteSize() / (1024 * 1024)) + "MB");
+            }
+            displayCompactionInformation(commandSender);
         } catch (SQLException throwables) {
             throwables.printStackTrace();
         }
     }
 
+    private void displayCompactionInformation(CommandSender commandSender) {
+        if (timeCompactionTask.isRunning()) {
+            TranslationUtils.sendValue(commandSender, "Last Compaction", "In progress");
+
+        } else if (timeCompactionTask.getLastCompacted() > 0) {
+            TranslationUtils.sendValue(commandSender, "Last Compaction", DateTimeUtils.convertMillisecondsToDateTime(
+                    System.currentTimeMillis() - timeCompactionTask.getLastCompacted()) + " ago");
+            TranslationUtils.sendValue(commandSender, "Times Compacted", timeCompactionTask.getTimesDeleted());
+            TranslationUtils.sendValue(commandSender, "Period Bests Compacted",
+                    timeCompactionTask.getPeriodBestsDeleted());
+            TranslationUtils.sendValue(commandSender, "Space Reclaimed",
+                    (timeCompactionTask.getBytesReclaimed() / 1024) + "KB");
+
+        } else if (!getConfig().getBoolean("Database.Compaction.Enabled")) {
+            TranslationUtils.sendValue(commandSender, "Last Compaction", "Disabled");
+        }
+    }
+
     /**
      * Recreate Parkour Courses.
      * Attempt to recreate all the parkour courses into the database.
      * This is required when the database becomes out of sync through manual editing.
      * Times cannot be stored until the course exists in the database.
+     * The missing courses are found and inserted together, and courses in the database
+     * which no longer exist are reported.
      */
     public void recreateAllCourses(boolean displayMessage) {
+        Set<String> courseNames = parkour.getCourseManager().getCourseNames().stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
         Bukkit.getScheduler().runTaskAsynchronously(parkour, () -> {
+            if (isConnectionUnavailable()) {
+                PluginUtils.log("Unable to recreate courses while the database is unavailable.", 1);
+                return;
+            }
             if (displayMessage) {
                 PluginUtils.log("Starting recreation of courses process...");
             }
-            int changes = 0;
-            for (String courseName : parkour.getCourseManager().getCourseNames()) {
-                if (getCourseId(courseName, false) == -1) {
-                    insertCourse(courseName);
-                    changes++;
-                }
+
+            CourseReconciliation reconciliation = leaderboardStore.reconcileCourses(courseNames);
+            if (reconciliation == null) {
+                PluginUtils.log("Unable to recreate courses, check the errors above.", 2);
+                return;
             }
+
+            int changes = reconciliation.getInsertedCourses().size();
             if (displayMessage) {
                 PluginUtils.log("Process complete. Courses recreated: " + changes);
             }
             if (changes > 0) {
-                PluginUtils.logToFile("Courses recreated: " + changes);
+                PluginUtils.logToFile("Courses recreated: " + String.join(", ", reconciliation.getInsertedCourses()));
+            }
+            if (!reconciliation.getOrphanedCourses().isEmpty()) {
+                PluginUtils.log(reconciliation.getOrphanedCourses().size() + " courses in the database no longer exist: "
+                        + String.join(", ", reconciliation.getOrphanedCourses()), 1);
             }
         });
     }
@@ -639,6 +900,11 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
      */
     public void closeConnection() {
         PluginUtils.debug("Closing the SQL connection.");
+        closeConnectionPools();
+        if (database == null) {
+            return;
+        }
+
         try {
             this.database.closeConnection();
         } catch (SQLException e) {
@@ -656,6 +922,21 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     public void displayTimeEntries(@NotNull CommandSender commandSender,
                                    @NotNull String courseName,
                                    @Nullable List<TimeEntry> times) {
+        displayTimeEntries(commandSender, courseName, times, 1);
+    }
+
+    /**
+     * Display Leaderboards Entries to player, starting from the leaderboard position.
+     *
+     * @param commandSender command sender
+     * @param courseName name of the course
+     * @param times {@link TimeEntry} results
+     * @param startPosition leaderboard position of the first entry
+     */
+    public void displayTimeEntries(@NotNull CommandSender commandSender,
+                                   @NotNull String courseName,
+                                   @Nullable List<TimeEntry> times,
+                                   int startPosition) {
         if (times == null || times.isEmpty()) {
             TranslationUtils.sendMessage(commandSender, "No results were found!");
             return;
@@ -670,7 +951,7 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         for (int i = 0; i < times.size(); i++) {
             TimeEntry entry = times.get(i);
             String translation = TranslationUtils.getTranslation("Parkour.LeaderboardEntry", false)
-                    .replace(POSITION_PLACEHOLDER, String.valueOf(i + 1))
+                    .replace(POSITION_PLACEHOLDER, String.valueOf(startPosition + i))
                     .replace(PLAYER_PLACEHOLDER, entry.getPlayerName())
                     .replace(TIME_PLACEHOLDER, DateTimeUtils.displayCurrentTime(entry.getTime()))
                     .replace(DEATHS_PLACEHOLDER, String.valueOf(entry.getDeaths()));
@@ -679,18 +960,129 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         }
     }
 
+    /**
+     * Display the statistics of the Course.
+     * If the sender is a Player, their personal best is displayed alongside how it compares to every completion.
+     *
+     * @param commandSender command sender
+     * @param courseNameRaw name of the course
+     */
+    public void displayCourseStatistics(@NotNull CommandSender commandSender, @NotNull String courseNameRaw) {
+        if (!parkour.getCourseManager().doesCourseExist(courseNameRaw)) {
+            TranslationUtils.sendValueTranslation("Error.NoExist", courseNameRaw, commandSender);
+            return;
+        }
+
+        String courseName = courseNameRaw.toLowerCase();
+        CourseStatistics statistics = courseStatistics.getStatistics(courseName);
+        TranslationUtils.sendHeading(StringUtils.standardizeText(courseName) + " Statistics", commandSender);
+
+        if (statistics == null || statistics.getCompletions() == 0) {
+            TranslationUtils.sendValue(commandSender, "Attempts", statistics != null ? statistics.getAttempts() : 0);
+            TranslationUtils.sendMessage(commandSender, "No results were found!");
+            return;
+        }
+
+        TranslationUtils.sendValue(commandSender, "Attempts", statistics.getAttempts());
+        TranslationUtils.sendValue(commandSender, "Completions",
+                statistics.getCompletions() + " (" + statistics.getCompletionPercent() + "%)");
+        TranslationUtils.sendValue(commandSender, "Fastest Time",
+                DateTimeUtils.displayCurrentTime(statistics.getFastestTime()));
+        TranslationUtils.sendValue(commandSender, "Mean Time",
+                DateTimeUtils.displayCurrentTime(statistics.getMeanTime()));
+        TranslationUtils.sendValue(commandSender, "Median Time",
+                DateTimeUtils.displayCurrentTime(statistics.getTimeAtPercentile(50)));
+        TranslationUtils.sendValue(commandSender, "90th Percentile",
+                DateTimeUtils.displayCurrentTime(statistics.getTimeAtPercentile(90)));
+        TranslationUtils.sendValue(commandSender, "99th Percentile",
+                DateTimeUtils.displayCurrentTime(statistics.getTimeAtPercentile(99)));
+        TranslationUtils.sendValue(commandSender, "Mean Deaths", String.format("%.1f", statistics.getMeanDeaths()));
+        TranslationUtils.sendValue(commandSender, "Deaths", formatDeathDistribution(statistics));
+
+        if (commandSender instanceof Player) {
+            acceptOnMainThread(getTopPlayerCourseResultsAsync((Player) commandSender, courseName, 1), results -> {
+                if (!results.isEmpty()) {
+                    long bestTime = results.get(0).getTime();
+                    TranslationUtils.sendValue(commandSender, "Personal Best", DateTimeUtils.displayCurrentTime(bestTime)
+                            + " (Top " + statistics.getTopPercent(bestTime) + "%)");
+                }
+            });
+        }
+    }
+
+    private String formatDeathDistribution(CourseStatistics statistics) {
+        StringBuilder distribution = new StringBuilder();
+        long completions = statistics.getCompletions();
+
+        for (int[] range : DEATH_RANGES) {
+            String label = range[0] == range[1] ? String.valueOf(range[0]) : range[0] + "-" + range[1];
+            long count = statistics.countCompletionsWithDeaths(range[0], range[1]);
+            distribution.append(label).append(": ").append(Math.round(count * 100.0 / completions)).append("%, ");
+        }
+
+        int remaining = DEATH_RANGES[DEATH_RANGES.length - 1][1] + 1;
+        long count = statistics.countCompletionsWithDeaths(remaining);
+        return distribution.append(remaining).append("+: ").append(Math.round(count * 100.0 / completions)).append('%')
+                .toString();
+    }
+
+    /**
+     * Get the SQL Database.
+     *
+     * @return database, or null if the times are only held in memory
+     */
+    @Nullable
     public Database getDatabase() {
         return database;
     }
 
+    public LeaderboardStore getLeaderboardStore() {
+        return leaderboardStore;
+    }
+
+    public CourseStatisticsStore getCourseStatistics() {
+        return courseStatistics;
+    }
+
+    /**
+     * Get the cache of the course leaderboards.
+     *
+     * @return leaderboard cache, or null if the store doesn't cache the leaderboards
+     */
+    @Nullable
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardStore instanceof SqlLeaderboardStore
+                ? ((SqlLeaderboardStore) leaderboardStore).getLeaderboardCache() : null;
+    }
+
+    @Nullable
+    public TimeDataTransfer getTimeDataTransfer() {
+        return timeDataTransfer;
+    }
+
+    /**
+     * Get the number of time entries cached.
+     *
+     * @return cached time entries
+     */
     @Override
     public int getCacheSize() {
-        return resultsCache.size();
+        return leaderboardStore.getCacheSize();
     }
 
     @Override
     public void clearCache() {
-        resultsCache.clear();
+        leaderboardStore.clearCache();
+    }
+
+    /**
+     * Clear the cached information for the Course.
+     * The leaderboard will be reloaded from the database when next requested.
+     *
+     * @param courseName name of the course
+     */
+    public void clearCourseCache(@NotNull String courseName) {
+        leaderboardStore.clearCourseCache(courseName.toLowerCase());
     }
 
     @Override
@@ -701,6 +1093,8 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
     @Override
     public void initialize() {
         recreateAllCourses(false);
+        scheduleCompaction();
+        loadCourseStatistics();
     }
 
     @Override
@@ -710,9 +1104,60 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
 
     @Override
     public void teardown() {
+        if (scheduledCompaction != null) {
+            scheduledCompaction.cancel();
+        }
+        if (scheduledStatisticsSave != null) {
+            scheduledStatisticsSave.cancel();
+        }
+        courseStatistics.save();
+        if (timeCompactionTask != null) {
+            timeCompactionTask.cancel();
+        }
+        queryExecutor.shutdown();
+        if (timeWriteQueue != null) {
+            timeWriteQueue.shutdown();
+        }
         closeConnection();
     }
 
+    /**
+     * Schedule the retention and compaction of the times, if enabled.
+     * The first compaction runs shortly after the server has started, then once per interval.
+     */
+    private void scheduleCompaction() {
+        if (timeCompactionTask == null || !getConfig().getBoolean("Database.Compaction.Enabled")) {
+            return;
+        }
+
+        long intervalTicks = TimeUnit.HOURS.toSeconds(Math.max(1, getConfig().getInt("Database.Compaction.IntervalHours"))) * 20;
+        scheduledCompaction = Bukkit.getScheduler().runTaskTimerAsynchronously(parkour, timeCompactionTask,
+                COMPACTION_DELAY_TICKS, intervalTicks);
+    }
+
+    /**
+     * Load the course statistics, then schedule them to be saved periodically.
+     * If there are no statistics saved yet, they're rebuilt from the existing times in the background.
+     */
+    private void loadCourseStatistics() {
+        if (database == null) {
+            return;
+        }
+
+        if (!courseStatistics.load()) {
+            Map<String, Integer> courseViews = new HashMap<>();
+            for (String courseName : parkour.getCourseManager().getCourseNames()) {
+                courseViews.put(courseName, parkour.getConfigManager().getCourseConfig(courseName).getViews());
+            }
+            Bukkit.getScheduler().runTaskAsynchronously(parkour, () -> courseStatistics.rebuild(this, courseViews));
+        }
+
+        long intervalTicks = TimeUnit.MINUTES.toSeconds(
+                Math.max(1, getConfig().getInt("Database.Statistics.SaveIntervalMinutes"))) * 20;
+        scheduledStatisticsSave = Bukkit.getScheduler().runTaskTimerAsynchronously(parkour, courseStatistics::save,
+                intervalTicks, intervalTicks);
+    }
+
     /**
      * Initialise connection to the configured Database source.
      * SQLite will be the default (and fallback) unless MySQL is correctly configured.
@@ -739,6 +1184,7 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
             // this will be the first time a connection is opened
             // if the attempt fails, it will fall back to SQLite by disabling MySQL (if enabled)
             setupTables();
+            setupConnectionPools();
         } catch (SQLException ex) {
             handleSqlConnectionException(ex);
         }
@@ -754,48 +1200,153 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        try {
+            new DatabaseMigrator(database).migrate();
+        } catch (SQLException e) {
+            logSqlException(e);
+        }
+
+        // the full VACUUM would hold the writer for too long once times are being written
+        if (database instanceof SQLite && getConfig().getBoolean("Database.Compaction.EnableIncrementalVacuum")) {
+            try {
+                TimeCompactionTask.enableIncrementalVacuum(database.getConnection());
+            } catch (SQLException e) {
+                logSqlException(e);
+            }
+        }
+    }
+
+    /**
+     * Setup the read and write Connection pools.
+     * SQLite has a single writer connection and several read-only reader connections, so reads never
+     * queue behind writes. MySQL shares a single pool for both.
+     */
+    private void setupConnectionPools() {
+        closeConnectionPools();
+
+        if (database instanceof SQLite) {
+            SQLite sqlite = (SQLite) database;
+            long borrowTimeout = TimeUnit.SECONDS.toMillis(SQLITE_BORROW_TIMEOUT_SECONDS);
+            writeConnectionPool = new ConnectionPool("SQLite-Writer", sqlite::createConnection,
+                    1, 0, SQLITE_VALIDATION_TIMEOUT_SECONDS, borrowTimeout);
+            readConnectionPool = new ConnectionPool("SQLite-Reader", sqlite::createReadOnlyConnection,
+                    getConfig().getInt("SQLite.ReaderConnections"), 0, SQLITE_VALIDATION_TIMEOUT_SECONDS, borrowTimeout);
+
+        } else {
+            writeConnectionPool = new ConnectionPool("MySQL", this::createMySqlConnection,
+                    getConfig().getInt("MySQL.Pool.MaximumSize"),
+                    TimeUnit.SECONDS.toMillis(getConfig().getInt("MySQL.Pool.MaxLifetimeSeconds")),
+                    getConfig().getInt("MySQL.Pool.ValidationTimeoutSeconds"),
+                    TimeUnit.SECONDS.toMillis(getConfig().getInt("MySQL.Pool.ConnectionTimeoutSeconds")));
+            readConnectionPool = writeConnectionPool;
+        }
+    }
+
+    private Connection createMySqlConnection() throws SQLException {
+        String driverClass = getConfig().getBoolean("MySQL.LegacyDriver")
+                ? "com.mysql.jdbc.Driver" : "com.mysql.cj.jdbc.Driver";
+        try {
+            Class.forName(driverClass);
+        } catch (ClassNotFoundException e) {
+            PluginUtils.log("Unable to load MySQL driver: " + e.getMessage(), 2);
+        }
+
+        try {
+            return DriverManager.getConnection(getConfig().getString("MySQL.URL"),
+                    getConfig().getString("MySQL.Username"),
+                    getConfig().getString("MySQL.Password"));
+        } catch (SQLException e) {
+            circuitBreaker.recordFailure();
+            throw new CircuitBreaker.OpenCircuitException("Unable to connect to MySQL: " + e.getMessage(), e);
+        }
+    }
+
+    private void closeConnectionPools() {
+        if (readConnectionPool != null) {
+            readConnectionPool.close();
+        }
+        if (writeConnectionPool != null) {
+            writeConnectionPool.close();
+        }
     }
 
+    /**
+     * Handle the failure to connect to the database when starting.
+     * MySQL is never swapped for SQLite, as the times would diverge from the other servers.
+     * Instead the times are journaled while reconnection is attempted in the background.
+     */
     private void handleSqlConnectionException(SQLException e) {
         PluginUtils.log("[SQL] Connection problem: " + e.getMessage(), 2);
         e.printStackTrace();
 
-        // if they were trying to use MySQL
-        if (getConfig().getBoolean("MySQL.Use")) {
-            getConfig().set("MySQL.Use", false);
-            parkour.saveConfig();
-
-            PluginUtils.log("[SQL] Defaulting to SQLite...", 1);
-            initiateConnection();
+        if (database instanceof MySQL) {
+            PluginUtils.log("[SQL] Times will be journaled until MySQL is available.", 1);
+            if (!(e instanceof CircuitBreaker.OpenCircuitException)) {
+                circuitBreaker.recordFailure();
+            }
+            setupConnectionPools();
+            scheduleReconnect();
         } else {
             PluginUtils.log("[SQL] Failed to connect to SQLite.", 2);
         }
     }
 
-    private void logSqlException(SQLException e) {
-        PluginUtils.log("[SQL] Error occurred: " + e.getMessage(), 2);
-        e.printStackTrace();
+    /**
+     * Attempt to reconnect to MySQL in the background, each attempt waiting for the circuit's backoff.
+     * Once connected the tables are created and the courses recreated, as this didn't happen on start up.
+     */
+    private void scheduleReconnect() {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (!circuitBreaker.allowRequest()) {
+                    return;
+                }
+
+                try {
+                    setupTables();
+                    circuitBreaker.recordSuccess();
+                    this.cancel();
+                    recreateAllCourses(false);
+                } catch (SQLException e) {
+                    circuitBreaker.recordFailure();
+                }
+            }
+        }.runTaskTimerAsynchronously(parkour, RECONNECT_CHECK_TICKS, RECONNECT_CHECK_TICKS);
     }
 
     /**
-     * Processes a ResultSet and returns TimeEntry results.
-     *
-     * @param resultSet ResultSet
-     * @return time object results
+     * Create the journal for writes made while MySQL is unavailable.
+     * SQLite is local and has no need for one.
      */
-    private List<TimeEntry> extractTimeEntries(ResultSet resultSet) throws SQLException {
-        List<TimeEntry> times = new ArrayList<>();
+    @Nullable
+    private WriteJournal createWriteJournal() {
+        File journalFile = new File(parkour.getDataFolder(), JOURNAL_FOLDER + File.separator + JOURNAL_FILE);
+        if (database instanceof MySQL) {
+            return new WriteJournal(journalFile);
+        }
 
-        while (resultSet.next()) {
-            TimeEntry time = new TimeEntry(
-                    resultSet.getString(1),
-                    resultSet.getString(2),
-                    resultSet.getLong(3),
-                    resultSet.getInt(4));
+        if (journalFile.exists()) {
+            PluginUtils.log("[SQL] Journaled MySQL writes will be replayed once MySQL is used again.", 1);
+        }
+        return null;
+    }
 
-            times.add(time);
+    /**
+     * Log the SQL exception.
+     * Requests rejected while the MySQL circuit is open are only logged when debugging.
+     *
+     * @param e exception
+     */
+    @Override
+    public void logSqlException(SQLException e) {
+        if (recordConnectionFailure(e) && e instanceof CircuitBreaker.OpenCircuitException) {
+            PluginUtils.debug("[SQL] " + e.getMessage());
+            return;
         }
-        return times;
+        PluginUtils.log("[SQL] Error occurred: " + e.getMessage(), 2);
+        e.printStackTrace();
     }
 
     /**
@@ -809,23 +1360,133 @@ public class DatabaseManager extends CacheableParkourManager implements Initiali
         return Math.max(1, Math.min(limit, getConfig().getMaximumCoursesCached()));
     }
 
-    private List<TimeEntry> getCourseCache(String courseName) {
-        if (!resultsCache.containsKey(courseName.toLowerCase())) {
-            PluginUtils.debug("Populating times cache for " + courseName);
-            resultsCache.put(courseName.toLowerCase(),
-                    getTopCourseResults(courseName, getConfig().getMaximumCoursesCached()));
-        }
+    private void submitPlayerName(String playerId, String playerName) {
+        leaderboardStore.savePlayerName(playerId, playerName);
+    }
+
+    /**
+     * Run the query on the database executor.
+     *
+     * @param query query to run
+     * @param <T> result type
+     * @return future result
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private static ThreadFactory createThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Submit the write to be committed by the write-behind writer.
+     *
+     * @param write time write
+     */
+    @Override
+    public void submitWrite(@NotNull TimeWriteQueue.TimeWrite write) {
+        timeWriteQueue.submit(write);
+    }
+
+    /**
+     * Store the Player's name loaded alongside their times, unless it's already known.
+     *
+     * @param playerId player ID
+     * @param playerName player name
+     */
+    @Override
+    public void cachePlayerName(@NotNull String playerId, @NotNull String playerName) {
+        playerNames.putIfAbsent(playerId, playerName);
+    }
+
+    /**
+     * Wait for every time write submitted so far to be committed.
+     *
+     * @return the writes were committed within the timeout
+     */
+    @Override
+    public boolean awaitSubmittedWrites() {
+        return timeWriteQueue.awaitWrites(timeWriteQueue.getSubmittedWrites(), WRITE_FLUSH_TIMEOUT_MS);
+    }
+
+    /**
+     * Borrow a Connection for reading from the database.
+     * The Connection must be closed once finished with.
+     *
+     * @return read connection
+     * @throws SQLException if a connection cannot be acquired
+     */
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return borrowConnection(readConnectionPool);
+    }
+
+    /**
+     * Borrow a Connection for writing to the database.
+     * SQLite has a single writer connection, so writes are applied one at a time.
+     * The Connection must be closed once finished with.
+     *
+     * @return write connection
+     * @throws SQLException if a connection cannot be acquired
+     */
+    @Override
+    public Connection getWriteConnection() throws SQLException {
+        return borrowConnection(writeConnectionPool);
+    }
+
+    @Override
+    public boolean isMySql() {
+        return database instanceof MySQL;
+    }
 
-        return resultsCache.get(courseName.toLowerCase());
+    /**
+     * Check if the database connection is known to be unavailable, waiting to reconnect.
+     *
+     * @return connection is unavailable
+     */
+    @Override
+    public boolean isConnectionUnavailable() {
+        return database instanceof MySQL && circuitBreaker.isWaiting();
     }
 
     /**
-     * Checks if a connection is open with the database.
+     * Check if the exception was caused by the connection to the database failing, rather than the statement.
+     * A MySQL connection failure opens the circuit, so further requests fail fast until it reconnects.
      *
-     * @return true if the connection is open
-     * @throws SQLException if the connection cannot be checked
+     * @param e exception
+     * @return the connection failed
+     */
+    @Override
+    public boolean recordConnectionFailure(SQLException e) {
+        boolean connectionFailure = e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+
+        if (connectionFailure && database instanceof MySQL && !(e instanceof CircuitBreaker.OpenCircuitException)) {
+            circuitBreaker.recordFailure();
+        }
+        return connectionFailure;
+    }
+
+    /**
+     * Borrow a Connection from the pool, unless the MySQL circuit is open.
      */
-    private Connection getDatabaseConnection() throws SQLException {
-        return database.getConnection();
+    private Connection borrowConnection(ConnectionPool connectionPool) throws SQLException {
+        if (!(database instanceof MySQL)) {
+            return connectionPool.getConnection();
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            throw circuitBreaker.createOpenException();
+        }
+        Connection connection = connectionPool.getConnection();
+        circuitBreaker.recordSuccess();
+        return connection;
     }
 }
@@ -0,0 +1,121 @@
+package io.github.a5h73y.parkour.database;
+
+import static io.github.a5h73y.parkour.utility.PluginUtils.readContentsOfResource;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import pro.husk.Database;
+import pro.husk.mysql.MySQL;
+
+/**
+ * Versioned Database schema migrations.
+ * Each migration is a resource script applied once, in order, with the applied versions recorded
+ * in the `schema_version` table. Existing installs are migrated in place when the connection is established.
+ */
+public class DatabaseMigrator {
+
+    public static final int TIME_INDEXES_VERSION = 1;
+
+    /**
+     * MySQL error code of an index which already exists.
+     */
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+
+    /**
+     * Migration scripts, the version of each migration is its position in the list (starting at 1).
+     * New migrations must only ever be appended.
+     */
+    private static final List<String> MIGRATIONS = Arrays.asList(
+            "time_indexes",
+            "player_names",
+            "personal_best",
+            "period_best"
+    );
+
+    private final Database database;
+    private final String sqlResourcePrefix;
+
+    /**
+     * Construct a Database Migrator for the Database.
+     *
+     * @param database database
+     */
+    public DatabaseMigrator(Database database) {
+        this.database = database;
+        this.sqlResourcePrefix = "sql/" + (database instanceof MySQL ? "mysql" : "sqlite") + "/migration/";
+    }
+
+    public static int getLatestVersion() {
+        return MIGRATIONS.size();
+    }
+
+    /**
+     * Apply each migration not yet applied to the Database.
+     *
+     * @throws SQLException if a migration fails
+     */
+    public void migrate() throws SQLException {
+        database.update("CREATE TABLE IF NOT EXISTS schema_version (version INTEGER NOT NULL);");
+        int currentVersion = getCurrentVersion();
+
+        for (int version = currentVersion + 1; version <= getLatestVersion(); version++) {
+            PluginUtils.log("[SQL] Applying database migration " + version + ": " + MIGRATIONS.get(version - 1));
+            applyMigration(version);
+            database.update("INSERT INTO schema_version (version) VALUES (" + version + ");");
+        }
+    }
+
+    /**
+     * Apply the specified migration, regardless of whether it has already been applied.
+     * Used when a table has been recreated and has lost its schema changes.
+     * MySQL can't roll back schema changes, so a migration which previously failed part way may be retried:
+     * every statement must be safe to repeat, and indexes which already exist are skipped.
+     *
+     * @param version migration version
+     * @throws SQLException if the migration fails
+     */
+    public void applyMigration(int version) throws SQLException {
+        String script;
+        try {
+            script = readContentsOfResource(sqlResourcePrefix + MIGRATIONS.get(version - 1) + ".sql");
+        } catch (IOException e) {
+            throw new SQLException("Unable to read migration " + version, e);
+        }
+
+        for (String statement : script.split(";")) {
+            if (statement.trim().isEmpty()) {
+                continue;
+            }
+
+            try {
+                database.update(statement.trim() + ";");
+            } catch (SQLException e) {
+                if (database instanceof MySQL && e.getErrorCode() == MYSQL_DUPLICATE_KEY_NAME) {
+                    PluginUtils.debug("[SQL] Skipping index which already exists: " + e.getMessage());
+                } else {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the latest applied migration version.
+     *
+     * @return current schema version
+     * @throws SQLException if the version cannot be read
+     */
+    public int getCurrentVersion() throws SQLException {
+        int result = 0;
+        ResultSet resultSet = database.query("SELECT MAX(version) FROM schema_version;");
+        if (resultSet.next()) {
+            result = resultSet.getInt(1);
+        }
+        resultSet.getStatement().close();
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of each Course's {@link LeaderboardIndex}.
+ * The least recently used leaderboards are evicted once either the number of courses
+ * or the approximate memory used by their time entries exceeds the configured limits.
+ * The limits are checked as leaderboards are cached, and again as cached leaderboards grow.
+ * Hits, misses and evictions are counted so the effectiveness of the cache can be reported.
+ */
+public class LeaderboardCache {
+
+    /**
+     * Approximate bytes retained per cached time entry,
+     * including the index node, the {@link TimeEntry} and its ID strings.
+     */
+    public static final long APPROXIMATE_ENTRY_BYTES = 200;
+
+    private final int maximumCourses;
+    private final long maximumBytes;
+    private final LinkedHashMap<Integer, LeaderboardIndex> leaderboards = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Construct a Leaderboard Cache.
+     *
+     * @param maximumCourses maximum number of course leaderboards cached
+     * @param maximumBytes maximum approximate bytes of time entries cached
+     */
+    public LeaderboardCache(int maximumCourses, long maximumBytes) {
+        this.maximumCourses = Math.max(1, maximumCourses);
+        this.maximumBytes = Math.max(APPROXIMATE_ENTRY_BYTES, maximumBytes);
+    }
+
+    /**
+     * Get the cached leaderboard for the course.
+     *
+     * @param courseId course ID
+     * @return cached {@link LeaderboardIndex}, or null if it's not cached
+     */
+    @Nullable
+    public synchronized LeaderboardIndex get(int courseId) {
+        LeaderboardIndex leaderboard = leaderboards.get(courseId);
+        if (leaderboard == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Get the cached leaderboard for the course, without counting it as a hit or miss.
+     * Used to keep a cached leaderboard up to date as times are written.
+     *
+     * @param courseId course ID
+     * @return cached {@link LeaderboardIndex}, or null if it's not cached
+     */
+    @Nullable
+    public synchronized LeaderboardIndex getIfPresent(int courseId) {
+        return leaderboards.get(courseId);
+    }
+
+    /**
+     * Cache the leaderboard for the course, unless one has already been cached.
+     *
+     * @param courseId course ID
+     * @param leaderboard leaderboard
+     * @return the existing {@link LeaderboardIndex}, or null if the leaderboard was cached
+     */
+    @Nullable
+    public synchronized LeaderboardIndex putIfAbsent(int courseId, @NotNull LeaderboardIndex leaderboard) {
+        LeaderboardIndex existing = leaderboards.get(courseId);
+        if (existing != null) {
+            return existing;
+        }
+        put(courseId, leaderboard);
+        return null;
+    }
+
+    /**
+     * Cache the leaderboard for the course, replacing any existing leaderboard.
+     *
+     * @param courseId course ID
+     * @param leaderboard leaderboard
+     */
+    public synchronized void put(int courseId, @NotNull LeaderboardIndex leaderboard) {
+        leaderboards.put(courseId, leaderboard);
+        evictExcess(courseId);
+    }
+
+    /**
+     * Evict the least recently used leaderboards if the course's cached leaderboard has grown beyond the limits.
+     * Called after times are offered to the leaderboard, as it's only measured when cached otherwise.
+     *
+     * @param courseId course ID
+     */
+    public synchronized void trimToLimits(int courseId) {
+        if (leaderboards.containsKey(courseId)) {
+            evictExcess(courseId);
+        }
+    }
+
+    /**
+     * Remove the course's leaderboard from the cache.
+     *
+     * @param courseId course ID
+     */
+    public synchronized void invalidate(int courseId) {
+        leaderboards.remove(courseId);
+    }
+
+    /**
+     * Get a snapshot of every cached leaderboard.
+     *
+     * @return cached leaderboards
+     */
+    public synchronized List<LeaderboardIndex> getLeaderboards() {
+        return new ArrayList<>(leaderboards.values());
+    }
+
+    /**
+     * Remove every leaderboard from the cache.
+     */
+    public synchronized void clear() {
+        leaderboards.clear();
+    }
+
+    /**
+     * Get the number of course leaderboards cached.
+     *
+     * @return number of courses
+     */
+    public synchronized int getCoursesCached() {
+        return leaderboards.size();
+    }
+
+    /**
+     * Get the total number of time entries cached.
+     *
+     * @return number of time entries
+     */
+    public synchronized int getEntriesCached() {
+        return leaderboards.values().stream().mapToInt(LeaderboardIndex::size).sum();
+    }
+
+    public synchronized long getApproximateBytes() {
+        return getEntriesCached() * APPROXIMATE_ENTRY_BYTES;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Evict the least recently used leaderboards until the cache is within its limits.
+     * The leaderboard that was just cached or grown is never evicted, even if it alone exceeds the limit.
+     */
+    private void evictExcess(int retainedCourseId) {
+        long bytes = getApproximateBytes();
+        Iterator<Map.Entry<Integer, LeaderboardIndex>> iterator = leaderboards.entrySet().iterator();
+
+        while ((leaderboards.size() > maximumCourses || bytes > maximumBytes) && iterator.hasNext()) {
+            Map.Entry<Integer, LeaderboardIndex> eldest = iterator.next();
+            if (eldest.getKey() == retainedCourseId) {
+                continue;
+            }
+            bytes -= eldest.getValue().size() * APPROXIMATE_ENTRY_BYTES;
+            iterator.remove();
+            evictions++;
+        }
+    }
+}
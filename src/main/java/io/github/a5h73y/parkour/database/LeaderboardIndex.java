@@ -0,0 +1,258 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * In-memory ranked index of each Player's best time on a Course.
+ * Backed by an order-statistic treap, ordered by time and then by player ID (matching the database ordering),
+ * where each node knows the size of its subtree. Rank and nth-entry lookups are O(log n).
+ * Only one entry is held per Player, so the index scales with the number of players rather than attempts.
+ */
+public class LeaderboardIndex {
+
+    private final Random random = new Random();
+    private final Map<String, Node> playerBests = new HashMap<>();
+
+    private Node root;
+
+    /**
+     * Offer a time entry to the index.
+     * The entry is only kept if it's faster than the Player's existing best time.
+     *
+     * @param entry time entry
+     * @return entry is the Player's new best time
+     */
+    public synchronized boolean offer(@NotNull TimeEntry entry) {
+        Node existing = playerBests.get(entry.getPlayerId());
+        if (existing != null) {
+            if (existing.entry.getTime() <= entry.getTime()) {
+                return false;
+            }
+            remove(existing);
+        }
+
+        Node node = new Node(entry, random.nextInt());
+        Node[] parts = split(root, entry.getTime(), entry.getPlayerId(), false);
+        root = merge(merge(parts[0], node), parts[1]);
+        playerBests.put(entry.getPlayerId(), node);
+        return true;
+    }
+
+    /**
+     * Remove the Player's time entry from the index.
+     *
+     * @param playerId player ID
+     */
+    public synchronized void removePlayer(@NotNull String playerId) {
+        Node node = playerBests.remove(playerId);
+        if (node != null) {
+            remove(node);
+        }
+    }
+
+    /**
+     * Count the number of times faster than the time provided.
+     *
+     * @param time time in milliseconds
+     * @return number of faster times
+     */
+    public synchronized int countFasterThan(long time) {
+        int result = 0;
+        Node node = root;
+
+        while (node != null) {
+            if (node.entry.getTime() < time) {
+                result += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count the number of the Player's times faster than the time provided.
+     * As only the Player's best time is held, this will be either 0 or 1.
+     *
+     * @param playerId player ID
+     * @param time time in milliseconds
+     * @return number of faster player times
+     */
+    public synchronized int countPlayerFasterThan(@NotNull String playerId, long time) {
+        Node best = playerBests.get(playerId);
+        return best != null && best.entry.getTime() < time ? 1 : 0;
+    }
+
+    /**
+     * Get the time entry at the leaderboard position.
+     *
+     * @param position position (starting at 1)
+     * @return matching {@link TimeEntry}
+     */
+    @Nullable
+    public synchronized TimeEntry getEntry(int position) {
+        if (position < 1 || position > size(root)) {
+            return null;
+        }
+
+        int remaining = position - 1;
+        Node node = root;
+
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node.entry;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the fastest time entries.
+     *
+     * @param amount amount of results
+     * @return {@link TimeEntry} results
+     */
+    public synchronized List<TimeEntry> getTop(int amount) {
+        List<TimeEntry> results = new ArrayList<>(Math.max(0, Math.min(amount, size(root))));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+
+        while ((node != null || !stack.isEmpty()) && results.size() < amount) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            results.add(node.entry);
+            node = node.right;
+        }
+        return results;
+    }
+
+    /**
+     * Get the Player's fastest time entry.
+     *
+     * @param playerId player ID
+     * @return fastest {@link TimeEntry}, or null if they have no times
+     */
+    @Nullable
+    public synchronized TimeEntry getPlayerBest(@NotNull String playerId) {
+        Node best = playerBests.get(playerId);
+        return best == null ? null : best.entry;
+    }
+
+    /**
+     * Determine if the Player has any time entries.
+     *
+     * @param playerId player ID
+     * @return player has a time
+     */
+    public synchronized boolean hasPlayer(@NotNull String playerId) {
+        return playerBests.containsKey(playerId);
+    }
+
+    /**
+     * Get the total number of time entries.
+     *
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private void remove(Node node) {
+        Node[] lower = split(root, node.entry.getTime(), node.entry.getPlayerId(), false);
+        Node[] upper = split(lower[1], node.entry.getTime(), node.entry.getPlayerId(), true);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Split the tree into the nodes ordered before the key, and the nodes ordered after the key.
+     * When inclusive, a node matching the key is included in the first part, otherwise the second.
+     */
+    private Node[] split(Node node, long time, String playerId, boolean inclusive) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+
+        int comparison = node.compareTo(time, playerId);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            Node[] parts = split(node.right, time, playerId, inclusive);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+
+        } else {
+            Node[] parts = split(node.left, time, playerId, inclusive);
+            node.left = parts[1];
+            node.update();
+            return new Node[] {parts[0], node};
+        }
+    }
+
+    /**
+     * Merge two trees, where every node of the left is ordered before every node of the right.
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+
+        } else {
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static class Node {
+
+        private final TimeEntry entry;
+        private final int priority;
+
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(TimeEntry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+
+        private int compareTo(long time, String playerId) {
+            int comparison = Long.compare(entry.getTime(), time);
+            return comparison != 0 ? comparison : entry.getPlayerId().compareTo(playerId);
+        }
+
+        private void update() {
+            size = 1 + LeaderboardIndex.size(left) + LeaderboardIndex.size(right);
+        }
+    }
+}
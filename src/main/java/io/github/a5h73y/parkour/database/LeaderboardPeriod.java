@@ -0,0 +1,80 @@
+package io.github.a5h73y.parkour.database;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Time windows a Course leaderboard can be limited to.
+ * Each period starts at midnight in the server's time zone, weeks start on Monday.
+ */
+public enum LeaderboardPeriod {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Key used to identify the period, in commands, placeholders and the database.
+     * @return period key
+     */
+    @NotNull
+    public String getKey() {
+        return this.name().toLowerCase();
+    }
+
+    @NotNull
+    public String getDisplayName() {
+        return this.name().charAt(0) + this.name().substring(1).toLowerCase();
+    }
+
+    /**
+     * Get the start of the period containing the timestamp.
+     *
+     * @param timestamp epoch milliseconds
+     * @return start of the period in epoch milliseconds
+     */
+    public long getPeriodStart(long timestamp) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        LocalDate date = Instant.ofEpochMilli(timestamp).atZone(zoneId).toLocalDate();
+
+        switch (this) {
+            case WEEKLY:
+                date = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                break;
+            case MONTHLY:
+                date = date.withDayOfMonth(1);
+                break;
+            case DAILY:
+            default:
+                break;
+        }
+        return date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Get the start of the current period.
+     * @return start of the period in epoch milliseconds
+     */
+    public long getCurrentPeriodStart() {
+        return getPeriodStart(System.currentTimeMillis());
+    }
+
+    /**
+     * Find the LeaderboardPeriod by its key.
+     * @param key period key
+     * @return matching LeaderboardPeriod, or null if unknown
+     */
+    @Nullable
+    public static LeaderboardPeriod fromKey(@Nullable String key) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.getKey().equalsIgnoreCase(key)) {
+                return period;
+            }
+        }
+        return null;
+    }
+}
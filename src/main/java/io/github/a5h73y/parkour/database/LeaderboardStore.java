@@ -0,0 +1,277 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.Collection;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Storage of the Courses and the Times achieved on them.
+ * The {@link DatabaseManager} validates requests and resolves Courses and Players,
+ * then delegates the storage and ranking of the times to the configured store.
+ * Leaderboards only hold each Player's best time, ordered by time and then by player ID.
+ * Implementations must be safe to call from multiple threads.
+ */
+public interface LeaderboardStore {
+
+    /**
+     * Get the name of the store, for display.
+     *
+     * @return store name
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * Find the course's unique ID.
+     *
+     * @param courseName lowercase name of the course
+     * @return course ID, or -1 if the course doesn't exist
+     */
+    int getCourseId(@NotNull String courseName);
+
+    /**
+     * Insert the Course, giving it a unique ID.
+     *
+     * @param courseName lowercase name of the course
+     */
+    void insertCourse(@NotNull String courseName);
+
+    /**
+     * Ensure each Course exists, inserting all those which are missing together.
+     * Courses in the store which aren't provided are reported, but left untouched.
+     *
+     * @param courseNames lowercase names of every course
+     * @return reconciliation result, or null if the courses couldn't be reconciled
+     */
+    @Nullable
+    CourseReconciliation reconcileCourses(@NotNull Collection<String> courseNames);
+
+    /**
+     * Rename the Course, keeping its ID and times.
+     *
+     * @param courseName lowercase name of the course
+     * @param newCourseName lowercase new name of the course
+     */
+    void renameCourse(@NotNull String courseName, @NotNull String newCourseName);
+
+    /**
+     * Delete the Course and every time achieved on it.
+     *
+     * @param courseName lowercase name of the course
+     */
+    void deleteCourse(@NotNull String courseName);
+
+    /**
+     * Insert the time, updating the Player's personal best and period bests when faster.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @param playerName player name
+     * @param time time in milliseconds
+     * @param deaths deaths accumulated
+     * @param achieved when the time was achieved in epoch milliseconds
+     * @param replaceSlowerTimes only keep the time if it's the Player's fastest, deleting their slower times
+     */
+    void insertTime(int courseId, @NotNull String playerId, @NotNull String playerName,
+                    long time, int deaths, long achieved, boolean replaceSlowerTimes);
+
+    /**
+     * Insert the time on a Course whose ID couldn't be found, such as while the store is unavailable.
+     * Stores which are able to should resolve the Course when the time is eventually written.
+     *
+     * @param courseName lowercase name of the course
+     * @param playerId player ID
+     * @param playerName player name
+     * @param time time in milliseconds
+     * @param deaths deaths accumulated
+     * @param achieved when the time was achieved in epoch milliseconds
+     * @param replaceSlowerTimes only keep the time if it's the Player's fastest, deleting their slower times
+     */
+    default void insertTime(@NotNull String courseName, @NotNull String playerId, @NotNull String playerName,
+                            long time, int deaths, long achieved, boolean replaceSlowerTimes) {
+        int courseId = getCourseId(courseName);
+        if (courseId > 0) {
+            insertTime(courseId, playerId, playerName, time, deaths, achieved, replaceSlowerTimes);
+        }
+    }
+
+    /**
+     * Find the position of the time on the Course's leaderboard, once it has been inserted.
+     * Ties with faster times count as the same position, as the time equals their record.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @param time time in milliseconds
+     * @return leaderboard position, 0 if the Player has a faster time, or -1 if the position couldn't be found
+     */
+    default int getTimePosition(int courseId, @NotNull String playerId, long time) {
+        TimeEntry playerBest = getPlayerBest(courseId, playerId);
+        if (playerBest == null) {
+            return -1;
+        }
+        if (playerBest.getTime() < time) {
+            return 0;
+        }
+        int fasterTimes = countFasterThan(courseId, time);
+        return fasterTimes >= 0 ? fasterTimes + 1 : -1;
+    }
+
+    /**
+     * Find the position of the time on the Course's leaderboard, without any I/O.
+     * Used to rank a time on the calling thread as soon as it has been inserted,
+     * before any time submitted afterwards can change the leaderboard.
+     * Stores which read the leaderboard from elsewhere must only use what they hold in memory.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @param time time in milliseconds
+     * @return leaderboard position, 0 if the Player has a faster time, or -1 if it isn't held in memory
+     */
+    default int getLoadedTimePosition(int courseId, @NotNull String playerId, long time) {
+        return getTimePosition(courseId, playerId, time);
+    }
+
+    /**
+     * Delete the Player's times on the Course.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @param includePeriodBests delete the Player's period bests as well
+     */
+    void deletePlayerCourseTimes(int courseId, @NotNull String playerId, boolean includePeriodBests);
+
+    /**
+     * Delete the Player's times on a Course whose ID couldn't be found, such as while the store is unavailable.
+     * Stores which are able to should resolve the Course when the delete is eventually written.
+     *
+     * @param courseName lowercase name of the course
+     * @param playerId player ID
+     * @param includePeriodBests delete the Player's period bests as well
+     */
+    default void deletePlayerCourseTimes(@NotNull String courseName, @NotNull String playerId,
+                                         boolean includePeriodBests) {
+        int courseId = getCourseId(courseName);
+        if (courseId > 0) {
+            deletePlayerCourseTimes(courseId, playerId, includePeriodBests);
+        }
+    }
+
+    /**
+     * Delete every time the Player has achieved.
+     *
+     * @param playerId player ID
+     */
+    void deletePlayerTimes(@NotNull String playerId);
+
+    /**
+     * Delete every time achieved on the Course.
+     *
+     * @param courseId course ID
+     */
+    void deleteCourseTimes(int courseId);
+
+    /**
+     * Store the Player's name, displayed alongside their times.
+     *
+     * @param playerId player ID
+     * @param playerName player name
+     */
+    void savePlayerName(@NotNull String playerId, @NotNull String playerName);
+
+    /**
+     * Find the fastest personal bests on the Course.
+     *
+     * @param courseId course ID
+     * @param limit maximum results
+     * @return {@link TimeEntry} results
+     */
+    @NotNull
+    List<TimeEntry> getTopResults(int courseId, int limit);
+
+    /**
+     * Find the personal bests following the time and player ID, in leaderboard order.
+     *
+     * @param courseId course ID
+     * @param afterTime time of the previous entry, or -1 to start from the beginning
+     * @param afterPlayerId player ID of the previous entry, or null to start from the beginning
+     * @param limit maximum results
+     * @return {@link TimeEntry} results
+     */
+    @NotNull
+    List<TimeEntry> getResultsPage(int courseId, long afterTime, @Nullable String afterPlayerId, int limit);
+
+    /**
+     * Find the Player's fastest times on the Course, not limited to their personal best.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @param limit maximum results
+     * @return {@link TimeEntry} results
+     */
+    @NotNull
+    List<TimeEntry> getPlayerResults(int courseId, @NotNull String playerId, int limit);
+
+    /**
+     * Find the fastest period bests on the Course for the period.
+     *
+     * @param courseId course ID
+     * @param period leaderboard period
+     * @param periodStart start of the period in epoch milliseconds
+     * @param limit maximum results
+     * @param offset results to skip
+     * @return {@link TimeEntry} results
+     */
+    @NotNull
+    List<TimeEntry> getPeriodResults(int courseId, @NotNull LeaderboardPeriod period, long periodStart,
+                                     int limit, int offset);
+
+    /**
+     * Find the personal best at the leaderboard position.
+     *
+     * @param courseId course ID
+     * @param position position (starting at 1)
+     * @return matching {@link TimeEntry}, or null if there isn't one
+     */
+    @Nullable
+    TimeEntry getNthBestTime(int courseId, int position);
+
+    /**
+     * Find the Player's personal best on the Course.
+     *
+     * @param courseId course ID
+     * @param playerId player ID
+     * @return personal best, or null if the Player hasn't achieved a time
+     */
+    @Nullable
+    TimeEntry getPlayerBest(int courseId, @NotNull String playerId);
+
+    /**
+     * Count the personal bests faster than the time, the rank of the time is one more than this.
+     *
+     * @param courseId course ID
+     * @param time time in milliseconds
+     * @return number of faster personal bests, or -1 if they couldn't be counted
+     */
+    int countFasterThan(int courseId, long time);
+
+    /**
+     * Get the number of time entries held in memory.
+     *
+     * @return cached time entries
+     */
+    int getCacheSize();
+
+    /**
+     * Clear the times held in memory, which can be reloaded.
+     * A store which holds its times only in memory keeps them.
+     */
+    void clearCache();
+
+    /**
+     * Clear the information held in memory for the Course, which can be reloaded.
+     *
+     * @param courseName lowercase name of the course
+     */
+    void clearCourseCache(@NotNull String courseName);
+}
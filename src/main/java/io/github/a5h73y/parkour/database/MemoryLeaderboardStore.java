@@ -0,0 +1,486 @@
+package io.github.a5h73y.parkour.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * In-memory implementation of the {@link LeaderboardStore}, nothing is persisted.
+ * Intended for minigame servers which reset their leaderboards on restart, and as a deterministic store
+ * for tests and benchmarks, as it has no dependency on the server or a database.
+ * Each leaderboard is held in primitive arrays sorted by time and then player ID,
+ * so ranks and pages are found by binary search. Courses are locked individually for reads and writes.
+ */
+public class MemoryLeaderboardStore implements LeaderboardStore {
+
+    /**
+     * Default number of times kept per Player per Course, fastest first.
+     */
+    public static final int DEFAULT_TIMES_PER_PLAYER = 10;
+
+    private final int timesPerPlayer;
+    private final AtomicInteger nextCourseId = new AtomicInteger();
+    private final Map<String, Integer> courseIds = new ConcurrentHashMap<>();
+    private final Map<Integer, CourseTimes> courses = new ConcurrentHashMap<>();
+    private final Map<String, String> playerNames = new ConcurrentHashMap<>();
+
+    /**
+     * Construct the Memory Leaderboard Store.
+     *
+     * @param timesPerPlayer number of times kept per Player per Course
+     */
+    public MemoryLeaderboardStore(int timesPerPlayer) {
+        this.timesPerPlayer = Math.max(1, timesPerPlayer);
+    }
+
+    public MemoryLeaderboardStore() {
+        this(DEFAULT_TIMES_PER_PLAYER);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "Memory";
+    }
+
+    @Override
+    public int getCourseId(@NotNull String courseName) {
+        Integer courseId = courseIds.get(courseName);
+        return courseId != null ? courseId : -1;
+    }
+
+    @Override
+    public void insertCourse(@NotNull String courseName) {
+        courseIds.computeIfAbsent(courseName, name -> {
+            int courseId = nextCourseId.incrementAndGet();
+            courses.put(courseId, new CourseTimes());
+            return courseId;
+        });
+    }
+
+    @NotNull
+    @Override
+    public CourseReconciliation reconcileCourses(@NotNull Collection<String> courseNames) {
+        List<String> insertedCourses = new ArrayList<>();
+        for (String courseName : courseNames) {
+            if (!courseIds.containsKey(courseName)) {
+                insertCourse(courseName);
+                insertedCourses.add(courseName);
+            }
+        }
+
+        Set<String> knownCourses = new HashSet<>(courseNames);
+        List<String> orphanedCourses = new ArrayList<>();
+        courseIds.keySet().stream().filter(courseName -> !knownCourses.contains(courseName))
+                .forEach(orphanedCourses::add);
+        return new CourseReconciliation(insertedCourses, orphanedCourses);
+    }
+
+    @Override
+    public void renameCourse(@NotNull String courseName, @NotNull String newCourseName) {
+        Integer courseId = courseIds.get(courseName);
+        if (courseId != null && courseIds.putIfAbsent(newCourseName, courseId) == null) {
+            courseIds.remove(courseName);
+        }
+    }
+
+    @Override
+    public void deleteCourse(@NotNull String courseName) {
+        Integer courseId = courseIds.remove(courseName);
+        if (courseId != null) {
+            courses.remove(courseId);
+        }
+    }
+
+    @Override
+    public void insertTime(int courseId, @NotNull String playerId, @NotNull String playerName,
+                           long time, int deaths, long achieved, boolean replaceSlowerTimes) {
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return;
+        }
+
+        playerNames.put(playerId, playerName);
+        course.lock.writeLock().lock();
+        try {
+            course.bests.offer(playerId, time, deaths);
+            PlayerTimes playerTimes = course.playerTimes.get(playerId);
+            if (replaceSlowerTimes && playerTimes != null && playerTimes.size > 0 && playerTimes.times[0] >= time) {
+                // the slower times are replaced by this time
+                playerTimes = null;
+            }
+            if (playerTimes == null) {
+                playerTimes = new PlayerTimes();
+                course.playerTimes.put(playerId, playerTimes);
+            }
+            if (!replaceSlowerTimes || playerTimes.size == 0) {
+                playerTimes.add(time, deaths, timesPerPlayer);
+            }
+
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                long periodStart = period.getPeriodStart(achieved);
+                PeriodTimes periodTimes = course.periodBests.get(period);
+                if (periodTimes == null || periodTimes.periodStart < periodStart) {
+                    // only the latest period is displayed, so the previous period is discarded
+                    periodTimes = new PeriodTimes(periodStart);
+                    course.periodBests.put(period, periodTimes);
+                }
+                if (periodTimes.periodStart == periodStart) {
+                    periodTimes.bests.offer(playerId, time, deaths);
+                }
+            }
+        } finally {
+            course.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deletePlayerCourseTimes(int courseId, @NotNull String playerId, boolean includePeriodBests) {
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return;
+        }
+
+        course.lock.writeLock().lock();
+        try {
+            course.bests.remove(playerId);
+            course.playerTimes.remove(playerId);
+            if (includePeriodBests) {
+                course.periodBests.values().forEach(periodTimes -> periodTimes.bests.remove(playerId));
+            }
+        } finally {
+            course.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deletePlayerTimes(@NotNull String playerId) {
+        courses.keySet().forEach(courseId -> deletePlayerCourseTimes(courseId, playerId, true));
+    }
+
+    @Override
+    public void deleteCourseTimes(int courseId) {
+        courses.computeIfPresent(courseId, (key, course) -> new CourseTimes());
+    }
+
+    @Override
+    public void savePlayerName(@NotNull String playerId, @NotNull String playerName) {
+        playerNames.put(playerId, playerName);
+    }
+
+    @NotNull
+    @Override
+    public List<TimeEntry> getTopResults(int courseId, int limit) {
+        return getResultsPage(courseId, -1, null, limit);
+    }
+
+    @NotNull
+    @Override
+    public List<TimeEntry> getResultsPage(int courseId, long afterTime, @Nullable String afterPlayerId, int limit) {
+        List<TimeEntry> results = new ArrayList<>();
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return results;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            RankedTimes bests = course.bests;
+            int start = bests.findPositionAfter(afterTime, afterPlayerId != null ? afterPlayerId : "");
+            for (int i = start; i < bests.size && results.size() < limit; i++) {
+                results.add(bests.createEntry(courseId, i));
+            }
+        } finally {
+            course.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    @NotNull
+    @Override
+    public List<TimeEntry> getPlayerResults(int courseId, @NotNull String playerId, int limit) {
+        List<TimeEntry> results = new ArrayList<>();
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return results;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            PlayerTimes playerTimes = course.playerTimes.get(playerId);
+            if (playerTimes != null) {
+                String playerName = playerNames.get(playerId);
+                for (int i = 0; i < playerTimes.size && results.size() < limit; i++) {
+                    results.add(new TimeEntry(String.valueOf(courseId), playerId,
+                            playerTimes.times[i], playerTimes.deaths[i], playerName));
+                }
+            }
+        } finally {
+            course.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    @NotNull
+    @Override
+    public List<TimeEntry> getPeriodResults(int courseId, @NotNull LeaderboardPeriod period, long periodStart,
+                                            int limit, int offset) {
+        List<TimeEntry> results = new ArrayList<>();
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return results;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            PeriodTimes periodTimes = course.periodBests.get(period);
+            if (periodTimes != null && periodTimes.periodStart == periodStart) {
+                for (int i = Math.max(0, offset); i < periodTimes.bests.size && results.size() < limit; i++) {
+                    results.add(periodTimes.bests.createEntry(courseId, i));
+                }
+            }
+        } finally {
+            course.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    @Nullable
+    @Override
+    public TimeEntry getNthBestTime(int courseId, int position) {
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return null;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            return position >= 1 && position <= course.bests.size
+                    ? course.bests.createEntry(courseId, position - 1) : null;
+        } finally {
+            course.lock.readLock().unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    public TimeEntry getPlayerBest(int courseId, @NotNull String playerId) {
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return null;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            int index = course.bests.indexOf(playerId);
+            return index >= 0 ? course.bests.createEntry(courseId, index) : null;
+        } finally {
+            course.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countFasterThan(int courseId, long time) {
+        CourseTimes course = courses.get(courseId);
+        if (course == null) {
+            return -1;
+        }
+
+        course.lock.readLock().lock();
+        try {
+            return course.bests.findPosition(time, "");
+        } finally {
+            course.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of personal bests held.
+     *
+     * @return personal bests held
+     */
+    @Override
+    public int getCacheSize() {
+        int size = 0;
+        for (CourseTimes course : courses.values()) {
+            course.lock.readLock().lock();
+            try {
+                size += course.bests.size;
+            } finally {
+                course.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clearCache() {
+        // the times are only held in memory, so there is nothing to reload them from
+    }
+
+    @Override
+    public void clearCourseCache(@NotNull String courseName) {
+        // the times are only held in memory, so there is nothing to reload them from
+    }
+
+    /**
+     * Times held for a Course.
+     */
+    private class CourseTimes {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final RankedTimes bests = new RankedTimes();
+        private final Map<String, PlayerTimes> playerTimes = new HashMap<>();
+        private final Map<LeaderboardPeriod, PeriodTimes> periodBests = new EnumMap<>(LeaderboardPeriod.class);
+    }
+
+    /**
+     * Best times for the latest period.
+     */
+    private class PeriodTimes {
+
+        private final long periodStart;
+        private final RankedTimes bests = new RankedTimes();
+
+        private PeriodTimes(long periodStart) {
+            this.periodStart = periodStart;
+        }
+    }
+
+    /**
+     * Each Player's best time, sorted by time and then player ID.
+     * The best time per Player is also mapped, so their entry can be found by binary search.
+     */
+    private class RankedTimes {
+
+        private long[] times = new long[16];
+        private int[] deaths = new int[16];
+        private String[] playerIds = new String[16];
+        private int size;
+        private final Map<String, Long> playerBests = new HashMap<>();
+
+        /**
+         * Offer the Player's time, replacing their best time if faster.
+         */
+        private void offer(String playerId, long time, int timeDeaths) {
+            Long bestTime = playerBests.get(playerId);
+            if (bestTime != null) {
+                if (bestTime <= time) {
+                    return;
+                }
+                removeAt(findPosition(bestTime, playerId));
+            }
+
+            int index = findPosition(time, playerId);
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                deaths = Arrays.copyOf(deaths, capacity);
+                playerIds = Arrays.copyOf(playerIds, capacity);
+            }
+            System.arraycopy(times, index, times, index + 1, size - index);
+            System.arraycopy(deaths, index, deaths, index + 1, size - index);
+            System.arraycopy(playerIds, index, playerIds, index + 1, size - index);
+            times[index] = time;
+            deaths[index] = timeDeaths;
+            playerIds[index] = playerId;
+            size++;
+            playerBests.put(playerId, time);
+        }
+
+        private void remove(String playerId) {
+            int index = indexOf(playerId);
+            if (index >= 0) {
+                removeAt(index);
+                playerBests.remove(playerId);
+            }
+        }
+
+        private int indexOf(String playerId) {
+            Long bestTime = playerBests.get(playerId);
+            return bestTime != null ? findPosition(bestTime, playerId) : -1;
+        }
+
+        /**
+         * Find the position of the first entry which isn't ordered before the time and player ID.
+         */
+        private int findPosition(long time, String playerId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] < time || (times[middle] == time && playerIds[middle].compareTo(playerId) < 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Find the position of the first entry ordered after the time and player ID.
+         */
+        private int findPositionAfter(long time, String playerId) {
+            int index = findPosition(time, playerId);
+            return index < size && times[index] == time && playerIds[index].equals(playerId) ? index + 1 : index;
+        }
+
+        private void removeAt(int index) {
+            int moved = size - index - 1;
+            System.arraycopy(times, index + 1, times, index, moved);
+            System.arraycopy(deaths, index + 1, deaths, index, moved);
+            System.arraycopy(playerIds, index + 1, playerIds, index, moved);
+            playerIds[--size] = null;
+        }
+
+        private TimeEntry createEntry(int courseId, int index) {
+            return new TimeEntry(String.valueOf(courseId), playerIds[index], times[index], deaths[index],
+                    playerNames.get(playerIds[index]));
+        }
+    }
+
+    /**
+     * The Player's fastest times, sorted by time and limited to the number kept.
+     */
+    private static class PlayerTimes {
+
+        private long[] times = new long[1];
+        private int[] deaths = new int[1];
+        private int size;
+
+        private void add(long time, int timeDeaths, int maximum) {
+            int index = 0;
+            while (index < size && times[index] <= time) {
+                index++;
+            }
+            if (index >= maximum) {
+                return;
+            }
+
+            if (size == times.length && size < maximum) {
+                int capacity = Math.min(maximum, size * 2);
+                times = Arrays.copyOf(times, capacity);
+                deaths = Arrays.copyOf(deaths, capacity);
+            }
+            int moved = Math.min(size, times.length - 1) - index;
+            System.arraycopy(times, index, times, index + 1, moved);
+            System.arraycopy(deaths, index, deaths, index + 1, moved);
+            times[index] = time;
+            deaths[index] = timeDeaths;
+            size = Math.min(size + 1, times.length);
+        }
+    }
+}
@@ -0,0 +1,570 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Embedded SQLite store of the data of every Player.
+ * Used instead of a JSON file per Player and per Parkour Session, and the shared completion and quiet mode files,
+ * so the data of many Players is held in a single indexed file.
+ * Every change is written behind: the Player data, Parkour Sessions, completions and quiet players are held
+ * until flushed together in a single transaction, and are read back while waiting to be flushed.
+ * Players are keyed by the name of their config, being either their UUID or name.
+ */
+public class PlayerDataStore {
+
+    private static final String[] CREATE_TABLES = {
+            "CREATE TABLE IF NOT EXISTS player_data ("
+                    + "player_key VARCHAR(36) NOT NULL PRIMARY KEY, "
+                    + "data TEXT NOT NULL);",
+            "CREATE TABLE IF NOT EXISTS player_session ("
+                    + "player_key VARCHAR(36) NOT NULL, "
+                    + "course_name VARCHAR(15) NOT NULL, "
+                    + "data TEXT NOT NULL, "
+                    + "PRIMARY KEY (player_key, course_name));",
+            "CREATE TABLE IF NOT EXISTS course_completion ("
+                    + "player_key VARCHAR(36) NOT NULL, "
+                    + "course_name VARCHAR(15) NOT NULL, "
+                    + "PRIMARY KEY (player_key, course_name));",
+            "CREATE INDEX IF NOT EXISTS course_completion_course_idx ON course_completion (course_name);",
+            "CREATE TABLE IF NOT EXISTS quiet_player ("
+                    + "player_name VARCHAR(36) NOT NULL PRIMARY KEY);"
+    };
+
+    private static final String UPSERT_PLAYER_DATA =
+            "INSERT OR REPLACE INTO player_data (player_key, data) VALUES (?, ?);";
+    private static final String UPSERT_SESSION =
+            "INSERT OR REPLACE INTO player_session (player_key, course_name, data) VALUES (?, ?, ?);";
+    private static final String INSERT_COMPLETION =
+            "INSERT OR IGNORE INTO course_completion (player_key, course_name) VALUES (?, ?);";
+    private static final String INSERT_QUIET_PLAYER =
+            "INSERT OR IGNORE INTO quiet_player (player_name) VALUES (?);";
+    private static final String INSERT_PLAYER_DATA =
+            "INSERT OR IGNORE INTO player_data (player_key, data) VALUES (?, ?);";
+    private static final String INSERT_SESSION =
+            "INSERT OR IGNORE INTO player_session (player_key, course_name, data) VALUES (?, ?, ?);";
+
+    private final SQLite database;
+    private final Map<String, String> pendingPlayerData = new LinkedHashMap<>();
+
+    /**
+     * Parkour Sessions waiting to be flushed, keyed by player key and then course name.
+     * A null session has been deleted.
+     */
+    private final Map<String, Map<String, String>> pendingSessions = new LinkedHashMap<>();
+
+    /**
+     * Players whose Parkour Sessions have all been deleted, applied before the pending sessions.
+     */
+    private final Set<String> deletedSessionPlayers = new LinkedHashSet<>();
+
+    /**
+     * Courses completed by each Player waiting to be flushed, applied after the completions removed.
+     */
+    private final Map<String, Set<String>> pendingCompletions = new LinkedHashMap<>();
+    private final Set<String> removedCompletionCourses = new LinkedHashSet<>();
+    private final Set<String> removedCompletionPlayers = new LinkedHashSet<>();
+
+    /**
+     * Players in Quiet Mode waiting to be flushed, or null if unchanged.
+     */
+    private List<String> pendingQuietPlayers;
+
+    private Connection connection;
+
+    /**
+     * Construct the Player Data Store.
+     *
+     * @param dbLocation folder of the database file
+     * @param dbName database file name
+     */
+    public PlayerDataStore(@NotNull String dbLocation, @NotNull String dbName) {
+        this.database = new SQLite(dbLocation, dbName);
+    }
+
+    /**
+     * Open the database, creating the tables if they don't exist.
+     *
+     * @return the store was opened
+     */
+    public synchronized boolean open() {
+        try {
+            connection = database.createConnection();
+            try (Statement statement = connection.createStatement()) {
+                for (String createTable : CREATE_TABLES) {
+                    statement.execute(createTable);
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            logSqlException("open the player data store", e);
+            return false;
+        }
+    }
+
+    /**
+     * Flush the pending Player data, then close the database.
+     */
+    public synchronized void close() {
+        flushPlayerData();
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logSqlException("close the player data store", e);
+        }
+    }
+
+    /**
+     * Check if the store holds data for the Player.
+     *
+     * @param playerKey player key
+     * @return player data exists
+     */
+    public synchronized boolean hasPlayerData(@NotNull String playerKey) {
+        return pendingPlayerData.containsKey(playerKey)
+                || queryForString("SELECT 1 FROM player_data WHERE player_key = ?;", playerKey) != null;
+    }
+
+    /**
+     * Load the Player's data, including any which is waiting to be flushed.
+     *
+     * @param playerKey player key
+     * @return player data json, or null if the Player has no data
+     */
+    @Nullable
+    public synchronized String loadPlayerData(@NotNull String playerKey) {
+        String pending = pendingPlayerData.get(playerKey);
+        return pending != null ? pending
+                : queryForString("SELECT data FROM player_data WHERE player_key = ?;", playerKey);
+    }
+
+    /**
+     * Save the Player's data, to be written when next flushed.
+     *
+     * @param playerKey player key
+     * @param data player data json
+     */
+    public synchronized void savePlayerData(@NotNull String playerKey, @NotNull String data) {
+        pendingPlayerData.put(playerKey, data);
+    }
+
+    /**
+     * Check if there are changes waiting to be flushed.
+     *
+     * @return pending changes exist
+     */
+    public synchronized boolean hasPendingWrites() {
+        return !pendingPlayerData.isEmpty() || !pendingSessions.isEmpty() || !deletedSessionPlayers.isEmpty()
+                || !pendingCompletions.isEmpty() || !removedCompletionCourses.isEmpty()
+                || !removedCompletionPlayers.isEmpty() || pendingQuietPlayers != null;
+    }
+
+    /**
+     * Write every pending change together in a single transaction.
+     * The changes are kept pending if the transaction fails, to be retried when next flushed.
+     *
+     * @return the pending changes were written
+     */
+    public synchronized boolean flushPlayerData() {
+        if (!hasPendingWrites()) {
+            return true;
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            try {
+                writePendingPlayerData();
+                writePendingSessions();
+                writePendingCompletions();
+                writePendingQuietPlayers();
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logSqlException("save the player data", e);
+            return false;
+        }
+
+        PluginUtils.debug("Saved data of " + pendingPlayerData.size() + " players.");
+        pendingPlayerData.clear();
+        pendingSessions.clear();
+        deletedSessionPlayers.clear();
+        pendingCompletions.clear();
+        removedCompletionCourses.clear();
+        removedCompletionPlayers.clear();
+        pendingQuietPlayers = null;
+        return true;
+    }
+
+    /**
+     * Delete the Player's data, including any waiting to be flushed.
+     * The Player's Parkour Sessions and completions are left untouched.
+     *
+     * @param playerKey player key
+     */
+    public synchronized void deletePlayerData(@NotNull String playerKey) {
+        pendingPlayerData.remove(playerKey);
+        executeUpdate("DELETE FROM player_data WHERE player_key = ?;", playerKey);
+    }
+
+    /**
+     * Find the key of every Player with data.
+     *
+     * @return player keys
+     */
+    @NotNull
+    public synchronized List<String> getPlayerKeys() {
+        Set<String> playerKeys = new LinkedHashSet<>(queryForStrings("SELECT player_key FROM player_data;"));
+        playerKeys.addAll(pendingPlayerData.keySet());
+        return new ArrayList<>(playerKeys);
+    }
+
+    /**
+     * Check if the Player has a Parkour Session saved for the Course.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     * @return parkour session exists
+     */
+    public synchronized boolean hasParkourSession(@NotNull String playerKey, @NotNull String courseName) {
+        String courseKey = courseName.toLowerCase();
+        Map<String, String> sessions = pendingSessions.get(playerKey);
+        if (sessions != null && sessions.containsKey(courseKey)) {
+            return sessions.get(courseKey) != null;
+        }
+        return !deletedSessionPlayers.contains(playerKey)
+                && queryForString("SELECT 1 FROM player_session WHERE player_key = ? AND course_name = ?;",
+                playerKey, courseKey) != null;
+    }
+
+    /**
+     * Load the Player's Parkour Session for the Course, including one which is waiting to be flushed.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     * @return parkour session json, or null if there isn't one
+     */
+    @Nullable
+    public synchronized String loadParkourSession(@NotNull String playerKey, @NotNull String courseName) {
+        String courseKey = courseName.toLowerCase();
+        Map<String, String> sessions = pendingSessions.get(playerKey);
+        if (sessions != null && sessions.containsKey(courseKey)) {
+            return sessions.get(courseKey);
+        }
+        return deletedSessionPlayers.contains(playerKey) ? null
+                : queryForString("SELECT data FROM player_session WHERE player_key = ? AND course_name = ?;",
+                playerKey, courseKey);
+    }
+
+    /**
+     * Save the Player's Parkour Session for the Course, to be written when next flushed.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     * @param data parkour session json
+     */
+    public synchronized void saveParkourSession(@NotNull String playerKey, @NotNull String courseName,
+                                                @NotNull String data) {
+        pendingSessions.computeIfAbsent(playerKey, key -> new LinkedHashMap<>()).put(courseName.toLowerCase(), data);
+    }
+
+    /**
+     * Delete the Player's Parkour Session for the Course, when next flushed.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     */
+    public synchronized void deleteParkourSession(@NotNull String playerKey, @NotNull String courseName) {
+        pendingSessions.computeIfAbsent(playerKey, key -> new LinkedHashMap<>()).put(courseName.toLowerCase(), null);
+    }
+
+    /**
+     * Delete every Parkour Session of the Player, when next flushed.
+     *
+     * @param playerKey player key
+     */
+    public synchronized void deleteParkourSessions(@NotNull String playerKey) {
+        pendingSessions.remove(playerKey);
+        deletedSessionPlayers.add(playerKey);
+    }
+
+    /**
+     * Find the Courses completed by the Player, in the order they were completed.
+     * Includes the changes waiting to be flushed.
+     *
+     * @param playerKey player key
+     * @return completed course names
+     */
+    @NotNull
+    public synchronized List<String> getCompletedCourses(@NotNull String playerKey) {
+        List<String> completedCourses = removedCompletionPlayers.contains(playerKey) ? new ArrayList<>()
+                : queryForStrings("SELECT course_name FROM course_completion WHERE player_key = ? ORDER BY rowid;",
+                playerKey);
+        completedCourses.removeAll(removedCompletionCourses);
+
+        Set<String> pending = pendingCompletions.get(playerKey);
+        if (pending != null) {
+            pending.stream().filter(courseName -> !completedCourses.contains(courseName))
+                    .forEach(completedCourses::add);
+        }
+        return completedCourses;
+    }
+
+    /**
+     * Add the Course to the Player's completions, unless already completed, when next flushed.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     */
+    public synchronized void addCompletedCourse(@NotNull String playerKey, @NotNull String courseName) {
+        pendingCompletions.computeIfAbsent(playerKey, key -> new LinkedHashSet<>()).add(courseName);
+    }
+
+    /**
+     * Remove the Course from each Player's completions, when next flushed.
+     *
+     * @param courseName course name
+     */
+    public synchronized void removeCompletedCourse(@NotNull String courseName) {
+        pendingCompletions.values().forEach(completedCourses -> completedCourses.remove(courseName));
+        removedCompletionCourses.add(courseName);
+    }
+
+    /**
+     * Remove every completion of the Player, when next flushed.
+     *
+     * @param playerKey player key
+     */
+    public synchronized void removeCompletedCourses(@NotNull String playerKey) {
+        pendingCompletions.remove(playerKey);
+        removedCompletionPlayers.add(playerKey);
+    }
+
+    /**
+     * Find the names of the Players in Quiet Mode, including those waiting to be flushed.
+     *
+     * @return quiet player names
+     */
+    @NotNull
+    public synchronized List<String> getQuietPlayers() {
+        return pendingQuietPlayers != null ? new ArrayList<>(pendingQuietPlayers)
+                : queryForStrings("SELECT player_name FROM quiet_player;");
+    }
+
+    /**
+     * Replace the Players in Quiet Mode, when next flushed.
+     *
+     * @param playerNames quiet player names
+     */
+    public synchronized void setQuietPlayers(@NotNull Collection<String> playerNames) {
+        pendingQuietPlayers = new ArrayList<>(playerNames);
+    }
+
+    /**
+     * Insert the rows of each table together in a single transaction.
+     * Used to migrate the existing files into the store, rows which already exist are kept.
+     *
+     * @param playerData json of each Player's data
+     * @param parkourSessions json of each Player's Parkour Sessions, keyed by course name
+     * @param completedCourses completed course names of each Player
+     * @param quietPlayers quiet player names
+     * @return the rows were inserted
+     */
+    public synchronized boolean insertAll(@NotNull Map<String, String> playerData,
+                                          @NotNull Map<String, Map<String, String>> parkourSessions,
+                                          @NotNull Map<String, List<String>> completedCourses,
+                                          @NotNull Collection<String> quietPlayers) {
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement dataInsert = connection.prepareStatement(INSERT_PLAYER_DATA);
+                 PreparedStatement sessionInsert = connection.prepareStatement(INSERT_SESSION);
+                 PreparedStatement completionInsert = connection.prepareStatement(INSERT_COMPLETION);
+                 PreparedStatement quietInsert = connection.prepareStatement(INSERT_QUIET_PLAYER)) {
+
+                for (Map.Entry<String, String> entry : playerData.entrySet()) {
+                    dataInsert.setString(1, entry.getKey());
+                    dataInsert.setString(2, entry.getValue());
+                    dataInsert.addBatch();
+                }
+                for (Map.Entry<String, Map<String, String>> player : parkourSessions.entrySet()) {
+                    for (Map.Entry<String, String> session : player.getValue().entrySet()) {
+                        sessionInsert.setString(1, player.getKey());
+                        sessionInsert.setString(2, session.getKey().toLowerCase());
+                        sessionInsert.setString(3, session.getValue());
+                        sessionInsert.addBatch();
+                    }
+                }
+                for (Map.Entry<String, List<String>> player : completedCourses.entrySet()) {
+                    for (String courseName : player.getValue()) {
+                        completionInsert.setString(1, player.getKey());
+                        completionInsert.setString(2, courseName);
+                        completionInsert.addBatch();
+                    }
+                }
+                for (String playerName : quietPlayers) {
+                    quietInsert.setString(1, playerName);
+                    quietInsert.addBatch();
+                }
+
+                dataInsert.executeBatch();
+                sessionInsert.executeBatch();
+                completionInsert.executeBatch();
+                quietInsert.executeBatch();
+                connection.commit();
+                return true;
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logSqlException("migrate the player data", e);
+            return false;
+        }
+    }
+
+    private void writePendingPlayerData() throws SQLException {
+        executeBatch(UPSERT_PLAYER_DATA, pendingPlayerData.entrySet(), (statement, entry) -> {
+            statement.setString(1, entry.getKey());
+            statement.setString(2, entry.getValue());
+        });
+    }
+
+    private void writePendingSessions() throws SQLException {
+        executeBatch("DELETE FROM player_session WHERE player_key = ?;", deletedSessionPlayers,
+                (statement, playerKey) -> statement.setString(1, playerKey));
+
+        List<String[]> savedSessions = new ArrayList<>();
+        List<String[]> deletedSessions = new ArrayList<>();
+        pendingSessions.forEach((playerKey, sessions) -> sessions.forEach((courseName, data) -> {
+            if (data != null) {
+                savedSessions.add(new String[] {playerKey, courseName, data});
+            } else {
+                deletedSessions.add(new String[] {playerKey, courseName});
+            }
+        }));
+
+        executeBatch("DELETE FROM player_session WHERE player_key = ? AND course_name = ?;", deletedSessions,
+                (statement, session) -> {
+                    statement.setString(1, session[0]);
+                    statement.setString(2, session[1]);
+                });
+        executeBatch(UPSERT_SESSION, savedSessions, (statement, session) -> {
+            statement.setString(1, session[0]);
+            statement.setString(2, session[1]);
+            statement.setString(3, session[2]);
+        });
+    }
+
+    private void writePendingCompletions() throws SQLException {
+        executeBatch("DELETE FROM course_completion WHERE course_name = ?;", removedCompletionCourses,
+                (statement, courseName) -> statement.setString(1, courseName));
+        executeBatch("DELETE FROM course_completion WHERE player_key = ?;", removedCompletionPlayers,
+                (statement, playerKey) -> statement.setString(1, playerKey));
+
+        List<String[]> completions = new ArrayList<>();
+        pendingCompletions.forEach((playerKey, completedCourses) -> completedCourses.forEach(
+                courseName -> completions.add(new String[] {playerKey, courseName})));
+        executeBatch(INSERT_COMPLETION, completions, (statement, completion) -> {
+            statement.setString(1, completion[0]);
+            statement.setString(2, completion[1]);
+        });
+    }
+
+    private void writePendingQuietPlayers() throws SQLException {
+        if (pendingQuietPlayers == null) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM quiet_player;");
+        }
+        executeBatch(INSERT_QUIET_PLAYER, pendingQuietPlayers,
+                (statement, playerName) -> statement.setString(1, playerName));
+    }
+
+    /**
+     * Execute the update for each row as a single batch, within the current transaction.
+     */
+    private <T> void executeBatch(String update, Collection<T> rows, BatchBinder<T> binder) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(update)) {
+            for (T row : rows) {
+                binder.bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void executeUpdate(String update, String... parameters) {
+        try (PreparedStatement statement = connection.prepareStatement(update)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+
+        } catch (SQLException e) {
+            logSqlException("update the player data", e);
+        }
+    }
+
+    @Nullable
+    private String queryForString(String query, String... parameters) {
+        List<String> results = queryForStrings(query, parameters);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    private List<String> queryForStrings(String query, String... parameters) {
+        List<String> results = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    results.add(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            logSqlException("read the player data", e);
+        }
+        return results;
+    }
+
+    private void logSqlException(String action, SQLException e) {
+        PluginUtils.log("[SQL] Unable to " + action + ": " + e.getMessage(), 2);
+    }
+
+    @FunctionalInterface
+    private interface BatchBinder<T> {
+
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
@@ -6,16 +6,22 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
 import pro.husk.Database;
 
 /**
  * Connects to and uses a SQLite database.
+ * The database uses WAL journaling, allowing read-only connections to read while a single writer writes.
  *
  * @author tips48
  * @author A5H73Y
  */
 public class SQLite extends Database {
 
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final String SQLITE_OPEN_READONLY = "1";
+
     private final String dbLocation;
     private final String dbName;
 
@@ -39,7 +45,28 @@ public class SQLite extends Database {
         return this.connection;
     }
 
-    private Connection createConnection() throws SQLException {
+    /**
+     * Create a new read-only Connection to the database.
+     * Used by readers, so they don't queue behind the writer.
+     *
+     * @return read-only connection
+     * @throws SQLException if the connection cannot be created
+     */
+    public Connection createReadOnlyConnection() throws SQLException {
+        return createConnection(true);
+    }
+
+    /**
+     * Create a new writable Connection to the database.
+     *
+     * @return connection
+     * @throws SQLException if the connection cannot be created
+     */
+    public Connection createConnection() throws SQLException {
+        return createConnection(false);
+    }
+
+    private Connection createConnection(boolean readOnly) throws SQLException {
         File dbLocationFolder = new File(dbLocation);
 
         if (!dbLocationFolder.exists()) {
@@ -63,6 +90,20 @@ public class SQLite extends Database {
             PluginUtils.log("Unable to load SQLite class: " + e.getMessage(), 2);
             e.printStackTrace();
         }
-        return DriverManager.getConnection("jdbc:sqlite:" + dbFile.getPath());
+
+        Properties properties = new Properties();
+        if (readOnly) {
+            properties.setProperty("open_mode", SQLITE_OPEN_READONLY);
+        }
+
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getPath(), properties);
+        try (Statement statement = connection.createStatement()) {
+            if (!readOnly) {
+                statement.execute("PRAGMA journal_mode=WAL;");
+                statement.execute("PRAGMA synchronous=NORMAL;");
+            }
+            statement.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS + ";");
+        }
+        return connection;
     }
 }
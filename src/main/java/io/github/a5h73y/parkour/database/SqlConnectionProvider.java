@@ -0,0 +1,82 @@
+package io.github.a5h73y.parkour.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides the SQL connections and the write-behind queue used by the {@link SqlLeaderboardStore}
+ * and the {@link TimeWriteQueue}.
+ * Implemented by the {@link DatabaseManager}, and by the benchmarks to run the store outside of the server.
+ */
+public interface SqlConnectionProvider {
+
+    /**
+     * Borrow a Connection for reading from the database.
+     * The Connection must be closed once finished with.
+     *
+     * @return read connection
+     * @throws SQLException if a connection cannot be acquired
+     */
+    Connection getReadConnection() throws SQLException;
+
+    /**
+     * Borrow a Connection for writing to the database.
+     * The Connection must be closed once finished with.
+     *
+     * @return write connection
+     * @throws SQLException if a connection cannot be acquired
+     */
+    Connection getWriteConnection() throws SQLException;
+
+    /**
+     * Check if the database is MySQL, rather than SQLite.
+     *
+     * @return database is MySQL
+     */
+    boolean isMySql();
+
+    /**
+     * Check if the database connection is known to be unavailable, waiting to reconnect.
+     *
+     * @return connection is unavailable
+     */
+    boolean isConnectionUnavailable();
+
+    /**
+     * Check if the exception was caused by the connection to the database failing, rather than the statement.
+     *
+     * @param e exception
+     * @return the connection failed
+     */
+    boolean recordConnectionFailure(SQLException e);
+
+    /**
+     * Log the SQL exception.
+     *
+     * @param e exception
+     */
+    void logSqlException(SQLException e);
+
+    /**
+     * Submit the write to be committed by the write-behind writer.
+     *
+     * @param write time write
+     */
+    void submitWrite(@NotNull TimeWriteQueue.TimeWrite write);
+
+    /**
+     * Wait for every time write submitted so far to be committed.
+     *
+     * @return the writes were committed within the timeout
+     */
+    boolean awaitSubmittedWrites();
+
+    /**
+     * Store the Player's name loaded alongside their times, unless it's already known.
+     *
+     * @param playerId player ID
+     * @param playerName player name
+     */
+    void cachePlayerName(@NotNull String playerId, @NotNull String playerName);
+}
@@ -0,0 +1,637 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * SQLite and MySQL implementation of the {@link LeaderboardStore}.
+ * Writes are queued and committed by the write-behind writer, no I/O happens on the calling thread.
+ * Rankings are served from an in-memory {@link LeaderboardIndex} per Course, loaded from the personal best table
+ * and kept up to date as times are written, held within the bounded {@link LeaderboardCache}.
+ */
+public class SqlLeaderboardStore implements LeaderboardStore {
+
+    private static final String SELECT_TIME_DATA_QUERY = "SELECT time.courseId, time.playerId, time.time, time.deaths,"
+            + " player.name FROM time LEFT JOIN player ON player.playerId = time.playerId";
+
+    private static final String SELECT_PERSONAL_BEST_QUERY = "SELECT personal_best.courseId, personal_best.playerId,"
+            + " personal_best.time, personal_best.deaths, player.name"
+            + " FROM personal_best LEFT JOIN player ON player.playerId = personal_best.playerId";
+
+    private static final String SELECT_PERIOD_BEST_QUERY = "SELECT period_best.courseId, period_best.playerId,"
+            + " period_best.time, period_best.deaths, player.name"
+            + " FROM period_best LEFT JOIN player ON player.playerId = period_best.playerId"
+            + " WHERE period_best.courseId=? AND period_best.periodType=? AND period_best.periodStart=?"
+            + " ORDER BY period_best.time LIMIT ? OFFSET ?";
+
+    private static final String COURSE_ID_BY_NAME = "(SELECT courseId FROM course WHERE name=?)";
+
+    private static final String SELECT_COURSES_QUERY = "SELECT courseId, name FROM course;";
+    private static final String INSERT_COURSE_UPDATE = "INSERT INTO course (name) VALUES (?);";
+    private static final String RENAME_COURSE_UPDATE = "UPDATE course SET name=? WHERE name=?";
+    private static final String DELETE_COURSE_UPDATE = "DELETE FROM course WHERE name=?";
+    private static final String INSERT_TIME_UPDATE =
+            "INSERT INTO time (courseId, playerId, time, deaths) VALUES (?, ?, ?, ?);";
+    private static final String DELETE_SLOWER_TIMES_UPDATE =
+            "DELETE FROM time WHERE courseId=? AND playerId=? AND time >= ?;";
+    private static final String INSERT_FASTEST_TIME_UPDATE = "INSERT INTO time (courseId, playerId, time, deaths)"
+            + " SELECT courseId, ?, ?, ? FROM course WHERE courseId=?"
+            + " AND NOT EXISTS (SELECT 1 FROM time WHERE courseId=? AND playerId=? AND time < ?);";
+    private static final String DELETE_PLAYER_COURSE_TIMES_UPDATE = "DELETE FROM time WHERE playerId=? AND courseId=?";
+    private static final String DELETE_PLAYER_TIMES_UPDATE = "DELETE FROM time WHERE playerId=?";
+    private static final String DELETE_COURSE_TIMES_UPDATE = "DELETE FROM time WHERE courseId=?";
+    private static final String SQLITE_INSERT_PERSONAL_BEST_UPDATE =
+            "INSERT OR IGNORE INTO personal_best (courseId, playerId, time, deaths) VALUES (?, ?, ?, ?);";
+    private static final String MYSQL_INSERT_PERSONAL_BEST_UPDATE =
+            "INSERT IGNORE INTO personal_best (courseId, playerId, time, deaths) VALUES (?, ?, ?, ?);";
+    private static final String UPDATE_PERSONAL_BEST_UPDATE = "UPDATE personal_best SET time=?, deaths=?, "
+            + "achieved=CURRENT_TIMESTAMP WHERE courseId=? AND playerId=? AND time > ?;";
+    private static final String DELETE_PLAYER_COURSE_PERSONAL_BEST_UPDATE =
+            "DELETE FROM personal_best WHERE playerId=? AND courseId=?";
+    private static final String DELETE_PLAYER_PERSONAL_BESTS_UPDATE = "DELETE FROM personal_best WHERE playerId=?";
+    private static final String DELETE_COURSE_PERSONAL_BESTS_UPDATE = "DELETE FROM personal_best WHERE courseId=?";
+    private static final String SQLITE_INSERT_PERIOD_BEST_UPDATE = "INSERT OR IGNORE INTO period_best "
+            + "(courseId, playerId, periodType, periodStart, time, deaths) VALUES (?, ?, ?, ?, ?, ?);";
+    private static final String MYSQL_INSERT_PERIOD_BEST_UPDATE = "INSERT IGNORE INTO period_best "
+            + "(courseId, playerId, periodType, periodStart, time, deaths) VALUES (?, ?, ?, ?, ?, ?);";
+    private static final String UPDATE_PERIOD_BEST_UPDATE = "UPDATE period_best SET time=?, deaths=?, "
+            + "achieved=CURRENT_TIMESTAMP WHERE courseId=? AND periodType=? AND periodStart=? AND playerId=? AND time > ?;";
+    private static final String DELETE_PLAYER_COURSE_PERIOD_BESTS_UPDATE =
+            "DELETE FROM period_best WHERE playerId=? AND courseId=?";
+    private static final String DELETE_PLAYER_PERIOD_BESTS_UPDATE = "DELETE FROM period_best WHERE playerId=?";
+    private static final String DELETE_COURSE_PERIOD_BESTS_UPDATE = "DELETE FROM period_best WHERE courseId=?";
+    private static final String SQLITE_UPSERT_PLAYER_UPDATE = "INSERT OR REPLACE INTO player (playerId, name) VALUES (?, ?);";
+    private static final String MYSQL_UPSERT_PLAYER_UPDATE =
+            "INSERT INTO player (playerId, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE name=VALUES(name);";
+
+    private final SqlConnectionProvider connectionProvider;
+    private final LeaderboardCache leaderboardCache;
+    private volatile Map<String, Integer> courseIdCache = new ConcurrentHashMap<>();
+
+    /**
+     * Updates made to each leaderboard while it's being loaded, to be applied once it has loaded.
+     * Guarded by itself.
+     */
+    private final Map<Integer, List<List<Consumer<LeaderboardIndex>>>> loadingUpdates = new HashMap<>();
+
+    /**
+     * Construct the SQL Leaderboard Store.
+     *
+     * @param connectionProvider provider of the connections and write queue
+     * @param leaderboardCache cache of the course leaderboards
+     */
+    public SqlLeaderboardStore(SqlConnectionProvider connectionProvider, LeaderboardCache leaderboardCache) {
+        this.connectionProvider = connectionProvider;
+        this.leaderboardCache = leaderboardCache;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return isMySql() ? "MySQL" : "SQLite";
+    }
+
+    @Override
+    public int getCourseId(@NotNull String courseName) {
+        Integer cachedCourseId = courseIdCache.get(courseName);
+        if (cachedCourseId != null) {
+            PluginUtils.debug("Cached value found for " + courseName + ": " + cachedCourseId);
+            return cachedCourseId;
+        }
+
+        PluginUtils.debug("Finding course ID for " + courseName);
+        String courseIdQuery = "SELECT courseId FROM course WHERE name = ?;";
+        int courseId = -1;
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(courseIdQuery)) {
+            statement.setString(1, courseName);
+            ResultSet resultSet = statement.executeQuery();
+
+            if (resultSet.next()) {
+                courseId = resultSet.getInt("courseId");
+                courseIdCache.put(courseName, courseId);
+            }
+            resultSet.getStatement().close();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+        return courseId;
+    }
+
+    @Override
+    public void insertCourse(@NotNull String courseName) {
+        PluginUtils.debug("Inserted course: " + INSERT_COURSE_UPDATE);
+
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_COURSE_UPDATE)) {
+            statement.setString(1, courseName);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+    }
+
+    /**
+     * Reconcile the courses.
+     * Every course row is loaded with a single query, the missing courses are inserted as a single batch
+     * within one transaction, then the course ID cache is replaced with the resulting courses all at once.
+     */
+    @Nullable
+    @Override
+    public CourseReconciliation reconcileCourses(@NotNull Collection<String> courseNames) {
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            Map<String, Integer> storedCourses = findCourses(connection);
+            List<String> insertedCourses = new ArrayList<>();
+            for (String courseName : courseNames) {
+                if (!storedCourses.containsKey(courseName)) {
+                    insertedCourses.add(courseName);
+                }
+            }
+
+            if (!insertedCourses.isEmpty()) {
+                insertCourses(connection, insertedCourses);
+                storedCourses = findCourses(connection);
+            }
+
+            Set<String> knownCourses = new HashSet<>(courseNames);
+            List<String> orphanedCourses = new ArrayList<>();
+            storedCourses.keySet().stream().filter(courseName -> !knownCourses.contains(courseName))
+                    .forEach(orphanedCourses::add);
+
+            courseIdCache = new ConcurrentHashMap<>(storedCourses);
+            return new CourseReconciliation(insertedCourses, orphanedCourses);
+
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+            return null;
+        }
+    }
+
+    private Map<String, Integer> findCourses(Connection connection) throws SQLException {
+        Map<String, Integer> courses = new HashMap<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_COURSES_QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                courses.put(resultSet.getString(2).toLowerCase(), resultSet.getInt(1));
+            }
+        }
+        return courses;
+    }
+
+    private void insertCourses(Connection connection, List<String> courseNames) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_COURSE_UPDATE)) {
+            for (String courseName : courseNames) {
+                statement.setString(1, courseName);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Rename the Course.
+     * The rename is queued behind the pending time writes, no I/O happens on the calling thread.
+     */
+    @Override
+    public void renameCourse(@NotNull String courseName, @NotNull String newCourseName) {
+        connectionProvider.submitWrite(new TimeWriteQueue.TimeWrite()
+                .add(RENAME_COURSE_UPDATE, newCourseName, courseName));
+    }
+
+    /**
+     * Delete the Course.
+     * The delete is queued behind the pending time writes, no I/O happens on the calling thread.
+     */
+    @Override
+    public void deleteCourse(@NotNull String courseName) {
+        connectionProvider.submitWrite(new TimeWriteQueue.TimeWrite()
+                .add(DELETE_COURSE_UPDATE, courseName));
+    }
+
+    /**
+     * Insert the time.
+     * The insert is queued and committed by the write-behind writer, no I/O happens on the calling thread.
+     * The Player's personal best and period bests are updated within the same transaction.
+     * When replacing, the Player's slower times are deleted within the same transaction,
+     * so the outcome doesn't depend on the order times are submitted in.
+     */
+    @Override
+    public void insertTime(int courseId, @NotNull String playerId, @NotNull String playerName,
+                           long time, int deaths, long achieved, boolean replaceSlowerTimes) {
+        submitTime(courseId, UnaryOperator.identity(), playerId, time, deaths, achieved, replaceSlowerTimes);
+
+        TimeEntry timeEntry = new TimeEntry(String.valueOf(courseId), playerId, time, deaths, playerName);
+        updateLeaderboard(courseId, leaderboard -> leaderboard.offer(timeEntry));
+        leaderboardCache.trimToLimits(courseId);
+    }
+
+    /**
+     * Insert the time, resolving the Course ID from its name when the write is committed.
+     * The write is journaled while the database is unavailable, so the time isn't lost.
+     * The leaderboard isn't updated, as it can't have been loaded without the Course ID.
+     */
+    @Override
+    public void insertTime(@NotNull String courseName, @NotNull String playerId, @NotNull String playerName,
+                           long time, int deaths, long achieved, boolean replaceSlowerTimes) {
+        submitTime(courseName, SqlLeaderboardStore::resolveCourseByName,
+                playerId, time, deaths, achieved, replaceSlowerTimes);
+    }
+
+    private void submitTime(Object course, UnaryOperator<String> courseStatement,
+                            String playerId, long time, int deaths, long achieved, boolean replaceSlowerTimes) {
+        boolean mySql = isMySql();
+        TimeWriteQueue.TimeWrite write = new TimeWriteQueue.TimeWrite();
+        if (replaceSlowerTimes) {
+            write.add(courseStatement.apply(DELETE_SLOWER_TIMES_UPDATE), course, playerId, time)
+                    .add(courseStatement.apply(INSERT_FASTEST_TIME_UPDATE),
+                            playerId, time, deaths, course, course, playerId, time);
+        } else {
+            write.add(courseStatement.apply(INSERT_TIME_UPDATE), course, playerId, time, deaths);
+        }
+
+        write.add(courseStatement.apply(mySql ? MYSQL_INSERT_PERSONAL_BEST_UPDATE : SQLITE_INSERT_PERSONAL_BEST_UPDATE),
+                        course, playerId, time, deaths)
+                .add(courseStatement.apply(UPDATE_PERSONAL_BEST_UPDATE), time, deaths, course, playerId, time);
+
+        String insertPeriodBest = courseStatement.apply(mySql ? MYSQL_INSERT_PERIOD_BEST_UPDATE
+                : SQLITE_INSERT_PERIOD_BEST_UPDATE);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            write.add(insertPeriodBest, course, playerId, period.getKey(), period.getPeriodStart(achieved), time, deaths);
+        }
+        String updatePeriodBest = courseStatement.apply(UPDATE_PERIOD_BEST_UPDATE);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            write.add(updatePeriodBest, time, deaths,
+                    course, period.getKey(), period.getPeriodStart(achieved), playerId, time);
+        }
+        connectionProvider.submitWrite(write);
+    }
+
+    /**
+     * Find the position of the time using the leaderboard held in memory.
+     * The leaderboard is never loaded, so the calling thread isn't blocked.
+     */
+    @Override
+    public int getLoadedTimePosition(int courseId, @NotNull String playerId, long time) {
+        LeaderboardIndex leaderboard = leaderboardCache.getIfPresent(courseId);
+        if (leaderboard == null) {
+            return -1;
+        }
+
+        synchronized (leaderboard) {
+            TimeEntry playerBest = leaderboard.getPlayerBest(playerId);
+            if (playerBest == null) {
+                return -1;
+            }
+            return playerBest.getTime() < time ? 0 : leaderboard.countFasterThan(time) + 1;
+        }
+    }
+
+    @Override
+    public void deletePlayerCourseTimes(int courseId, @NotNull String playerId, boolean includePeriodBests) {
+        submitPlayerCourseTimesDelete(courseId, UnaryOperator.identity(), playerId, includePeriodBests);
+        updateLeaderboard(courseId, leaderboard -> leaderboard.removePlayer(playerId));
+    }
+
+    /**
+     * Delete the Player's times on the Course, resolving the Course ID from its name when the write is committed.
+     */
+    @Override
+    public void deletePlayerCourseTimes(@NotNull String courseName, @NotNull String playerId, boolean includePeriodBests) {
+        submitPlayerCourseTimesDelete(courseName, SqlLeaderboardStore::resolveCourseByName, playerId, includePeriodBests);
+    }
+
+    private void submitPlayerCourseTimesDelete(Object course, UnaryOperator<String> courseStatement,
+                                               String playerId, boolean includePeriodBests) {
+        TimeWriteQueue.TimeWrite write = new TimeWriteQueue.TimeWrite()
+                .add(courseStatement.apply(DELETE_PLAYER_COURSE_TIMES_UPDATE), playerId, course)
+                .add(courseStatement.apply(DELETE_PLAYER_COURSE_PERSONAL_BEST_UPDATE), playerId, course);
+        if (includePeriodBests) {
+            write.add(courseStatement.apply(DELETE_PLAYER_COURSE_PERIOD_BESTS_UPDATE), playerId, course);
+        }
+        connectionProvider.submitWrite(write);
+    }
+
+    /**
+     * Replace the Course ID parameter of the statement with a lookup of the Course by its name.
+     * The parameters stay in the same order, with the Course name in place of the Course ID.
+     *
+     * @param update statement with a Course ID parameter
+     * @return statement with a Course name parameter
+     */
+    private static String resolveCourseByName(String update) {
+        return update.replace("VALUES (?", "VALUES (" + COURSE_ID_BY_NAME)
+                .replace("courseId=?", "courseId=" + COURSE_ID_BY_NAME);
+    }
+
+    @Override
+    public void deletePlayerTimes(@NotNull String playerId) {
+        connectionProvider.submitWrite(new TimeWriteQueue.TimeWrite()
+                .add(DELETE_PLAYER_TIMES_UPDATE, playerId)
+                .add(DELETE_PLAYER_PERSONAL_BESTS_UPDATE, playerId)
+                .add(DELETE_PLAYER_PERIOD_BESTS_UPDATE, playerId));
+        synchronized (loadingUpdates) {
+            leaderboardCache.getLeaderboards().forEach(leaderboard -> leaderboard.removePlayer(playerId));
+            loadingUpdates.values().forEach(loaders -> loaders.forEach(
+                    updates -> updates.add(leaderboard -> leaderboard.removePlayer(playerId))));
+        }
+    }
+
+    @Override
+    public void deleteCourseTimes(int courseId) {
+        connectionProvider.submitWrite(new TimeWriteQueue.TimeWrite()
+                .add(DELETE_COURSE_TIMES_UPDATE, courseId)
+                .add(DELETE_COURSE_PERSONAL_BESTS_UPDATE, courseId)
+                .add(DELETE_COURSE_PERIOD_BESTS_UPDATE, courseId));
+        leaderboardCache.put(courseId, new LeaderboardIndex());
+    }
+
+    @Override
+    public void savePlayerName(@NotNull String playerId, @NotNull String playerName) {
+        connectionProvider.submitWrite(new TimeWriteQueue.TimeWrite()
+                .add(isMySql() ? MYSQL_UPSERT_PLAYER_UPDATE : SQLITE_UPSERT_PLAYER_UPDATE, playerId, playerName));
+    }
+
+    /**
+     * Find the fastest personal bests on the Course.
+     * Served from the personal best table.
+     */
+    @NotNull
+    @Override
+    public List<TimeEntry> getTopResults(int courseId, int limit) {
+        String courseResultsQuery = SELECT_PERSONAL_BEST_QUERY
+                + " WHERE personal_best.courseId=? ORDER BY personal_best.time LIMIT ?";
+        List<TimeEntry> results = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(courseResultsQuery)) {
+            statement.setInt(1, courseId);
+            statement.setInt(2, limit);
+            ResultSet resultSet = statement.executeQuery();
+            results = extractTimeEntries(resultSet);
+            resultSet.getStatement().close();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Find the personal bests following the time and player ID.
+     * Keyset pagination is used, so each page costs the same regardless of how deep into the leaderboard it is.
+     */
+    @NotNull
+    @Override
+    public List<TimeEntry> getResultsPage(int courseId, long afterTime, @Nullable String afterPlayerId, int limit) {
+        String pageQuery = SELECT_PERSONAL_BEST_QUERY + " WHERE personal_best.courseId=?"
+                + " AND (personal_best.time > ? OR (personal_best.time = ? AND personal_best.playerId > ?))"
+                + " ORDER BY personal_best.time, personal_best.playerId LIMIT ?";
+        List<TimeEntry> results = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(pageQuery)) {
+            statement.setInt(1, courseId);
+            statement.setLong(2, afterTime);
+            statement.setLong(3, afterTime);
+            statement.setString(4, afterPlayerId != null ? afterPlayerId : "");
+            statement.setInt(5, limit);
+            ResultSet resultSet = statement.executeQuery();
+            results = extractTimeEntries(resultSet);
+            resultSet.getStatement().close();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+        return results;
+    }
+
+    @NotNull
+    @Override
+    public List<TimeEntry> getPlayerResults(int courseId, @NotNull String playerId, int limit) {
+        String playerResultsQuery = SELECT_TIME_DATA_QUERY
+                + " WHERE time.courseId=? AND time.playerId=? ORDER BY time.time LIMIT ?";
+        List<TimeEntry> results = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(playerResultsQuery)) {
+            statement.setInt(1, courseId);
+            statement.setString(2, playerId);
+            statement.setInt(3, limit);
+            ResultSet resultSet = statement.executeQuery();
+            results = extractTimeEntries(resultSet);
+            resultSet.getStatement().close();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Find the fastest period bests on the Course for the period.
+     * Served from the period rollup table, which holds each Player's best time per period.
+     */
+    @NotNull
+    @Override
+    public List<TimeEntry> getPeriodResults(int courseId, @NotNull LeaderboardPeriod period, long periodStart,
+                                            int limit, int offset) {
+        List<TimeEntry> results = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PERIOD_BEST_QUERY)) {
+            statement.setInt(1, courseId);
+            statement.setString(2, period.getKey());
+            statement.setLong(3, periodStart);
+            statement.setInt(4, limit);
+            statement.setInt(5, offset);
+            ResultSet resultSet = statement.executeQuery();
+            results = extractTimeEntries(resultSet);
+            resultSet.getStatement().close();
+        } catch (SQLException e) {
+            connectionProvider.logSqlException(e);
+        }
+        return results;
+    }
+
+    @Nullable
+    @Override
+    public TimeEntry getNthBestTime(int courseId, int position) {
+        LeaderboardIndex leaderboard = getLeaderboardIndex(courseId);
+        return leaderboard == null ? null : leaderboard.getEntry(position);
+    }
+
+    @Nullable
+    @Override
+    public TimeEntry getPlayerBest(int courseId, @NotNull String playerId) {
+        LeaderboardIndex leaderboard = getLeaderboardIndex(courseId);
+        return leaderboard == null ? null : leaderboard.getPlayerBest(playerId);
+    }
+
+    @Override
+    public int countFasterThan(int courseId, long time) {
+        LeaderboardIndex leaderboard = getLeaderboardIndex(courseId);
+        return leaderboard == null ? -1 : leaderboard.countFasterThan(time);
+    }
+
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardCache;
+    }
+
+    @Override
+    public int getCacheSize() {
+        return leaderboardCache.getEntriesCached();
+    }
+
+    @Override
+    public void clearCache() {
+        leaderboardCache.clear();
+    }
+
+    @Override
+    public void clearCourseCache(@NotNull String courseName) {
+        Integer courseId = courseIdCache.remove(courseName);
+        if (courseId != null) {
+            leaderboardCache.invalidate(courseId);
+        }
+    }
+
+    /**
+     * Get the in-memory leaderboard of each Player's best time on the course.
+     * The leaderboard is loaded lazily from the personal best table the first time it's requested,
+     * then kept up to date as times are inserted and deleted,
+     * so it always reflects the database including the writes still queued.
+     * Least recently used leaderboards are evicted from the {@link LeaderboardCache} once it's full.
+     * Only called from the asynchronous read path, as loading waits for the queued writes and queries the database.
+     *
+     * @param courseId course ID
+     * @return {@link LeaderboardIndex}, or null if it couldn't be loaded
+     */
+    @Nullable
+    private LeaderboardIndex getLeaderboardIndex(int courseId) {
+        LeaderboardIndex leaderboard = leaderboardCache.get(courseId);
+
+        if (leaderboard == null) {
+            PluginUtils.debug("Populating leaderboard index for course " + courseId);
+            // updates submitted from now on may not be committed before the query, so they are replayed afterwards
+            List<Consumer<LeaderboardIndex>> updates = new ArrayList<>();
+            synchronized (loadingUpdates) {
+                loadingUpdates.computeIfAbsent(courseId, loaders -> new ArrayList<>()).add(updates);
+            }
+
+            // an evicted leaderboard may still have writes waiting to be committed, or journaled to be replayed
+            if (!connectionProvider.awaitSubmittedWrites()) {
+                removeLoadingUpdates(courseId, updates);
+                return null;
+            }
+            LeaderboardIndex loaded = new LeaderboardIndex();
+            String courseTimesQuery = SELECT_PERSONAL_BEST_QUERY + " WHERE personal_best.courseId=?";
+
+            try (Connection connection = connectionProvider.getReadConnection();
+                 PreparedStatement statement = connection.prepareStatement(courseTimesQuery)) {
+                statement.setInt(1, courseId);
+                ResultSet resultSet = statement.executeQuery();
+                extractTimeEntries(resultSet).forEach(loaded::offer);
+                resultSet.getStatement().close();
+            } catch (SQLException e) {
+                connectionProvider.logSqlException(e);
+                removeLoadingUpdates(courseId, updates);
+                return null;
+            }
+
+            synchronized (loadingUpdates) {
+                removeLoadingUpdates(courseId, updates);
+                // offers keep the fastest time and removals are repeatable, so replaying committed updates is safe
+                updates.forEach(update -> update.accept(loaded));
+                leaderboard = leaderboardCache.putIfAbsent(courseId, loaded);
+            }
+            if (leaderboard == null) {
+                leaderboard = loaded;
+            }
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Apply the update to the course's leaderboard, when it's cached or being loaded.
+     * A leaderboard which isn't cached is left to be loaded by the read path, so no I/O happens on the calling thread.
+     *
+     * @param courseId course ID
+     * @param update update to apply
+     */
+    private void updateLeaderboard(int courseId, Consumer<LeaderboardIndex> update) {
+        synchronized (loadingUpdates) {
+            LeaderboardIndex leaderboard = leaderboardCache.getIfPresent(courseId);
+            if (leaderboard != null) {
+                update.accept(leaderboard);
+            }
+            loadingUpdates.getOrDefault(courseId, Collections.emptyList()).forEach(updates -> updates.add(update));
+        }
+    }
+
+    private void removeLoadingUpdates(int courseId, List<Consumer<LeaderboardIndex>> updates) {
+        synchronized (loadingUpdates) {
+            List<List<Consumer<LeaderboardIndex>>> loaders = loadingUpdates.get(courseId);
+            if (loaders != null) {
+                loaders.removeIf(loader -> loader == updates);
+                if (loaders.isEmpty()) {
+                    loadingUpdates.remove(courseId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes a ResultSet and returns TimeEntry results.
+     *
+     * @param resultSet ResultSet
+     * @return time object results
+     */
+    private List<TimeEntry> extractTimeEntries(ResultSet resultSet) throws SQLException {
+        List<TimeEntry> times = new ArrayList<>();
+
+        while (resultSet.next()) {
+            TimeEntry time = new TimeEntry(
+                    resultSet.getString(1),
+                    resultSet.getString(2),
+                    resultSet.getLong(3),
+                    resultSet.getInt(4),
+                    resultSet.getString(5));
+
+            if (time.hasPlayerName()) {
+                connectionProvider.cachePlayerName(time.getPlayerId(), time.getPlayerName());
+            }
+            times.add(time);
+        }
+        return times;
+    }
+
+    private boolean isMySql() {
+        return connectionProvider.isMySql();
+    }
+}
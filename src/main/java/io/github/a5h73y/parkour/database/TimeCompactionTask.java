@@ -0,0 +1,311 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import pro.husk.mysql.MySQL;
+
+/**
+ * Retention and compaction of the Time table.
+ * When every finish is recorded, the table grows forever with attempts no leaderboard will display.
+ * Each Player's best times per Course are kept, as well as every time achieved within the retention window,
+ * the remaining times are deleted in small batches so the writer is never locked out for long.
+ * Period bests for periods which have ended are removed, then SQLite is incrementally vacuumed to reclaim the space.
+ * Converting an existing SQLite database to incremental vacuum requires a full VACUUM,
+ * so it's only done on startup when opted into, before any time writes are queued.
+ */
+public class TimeCompactionTask implements Runnable {
+
+    private static final String SELECT_EXPIRED_TIMES_QUERY = "SELECT t.timeId FROM time t WHERE t.timeId > ?"
+            + " AND t.achieved < %s AND t.time > (SELECT b.time FROM time b WHERE b.courseId = t.courseId"
+            + " AND b.playerId = t.playerId ORDER BY b.time LIMIT 1 OFFSET ?)"
+            + " ORDER BY t.timeId LIMIT ?";
+    private static final String SQLITE_CUTOFF = "datetime('now', '-' || ? || ' days')";
+    private static final String MYSQL_CUTOFF = "NOW() - INTERVAL ? DAY";
+    private static final String DELETE_TIME_UPDATE = "DELETE FROM time WHERE timeId=?";
+    private static final String SELECT_EXPIRED_PERIOD_BESTS_QUERY =
+            "SELECT courseId, periodType, periodStart, playerId FROM period_best WHERE periodStart < ? LIMIT ?";
+    private static final String DELETE_PERIOD_BEST_UPDATE =
+            "DELETE FROM period_best WHERE courseId=? AND periodType=? AND periodStart=? AND playerId=?";
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    private static final int VACUUM_PAGES_PER_STEP = 1000;
+
+    private final DatabaseManager databaseManager;
+    private final int keepBestTimes;
+    private final int keepDays;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile long lastCompacted;
+    private volatile long timesDeleted;
+    private volatile long periodBestsDeleted;
+    private volatile long bytesReclaimed;
+
+    /**
+     * Construct the Time Compaction Task.
+     *
+     * @param databaseManager database manager
+     * @param keepBestTimes number of best times kept per Player per Course
+     * @param keepDays days of times kept regardless of position
+     * @param batchSize maximum number of rows deleted per transaction
+     */
+    public TimeCompactionTask(DatabaseManager databaseManager, int keepBestTimes, int keepDays, int batchSize) {
+        this.databaseManager = databaseManager;
+        this.keepBestTimes = Math.max(1, keepBestTimes);
+        this.keepDays = Math.max(0, keepDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run() {
+        // a rescheduled task can start while the previous run is still compacting, only one may compact
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        boolean mySql = databaseManager.getDatabase() instanceof MySQL;
+        long startTime = System.currentTimeMillis();
+        PluginUtils.debug("Starting time compaction.");
+
+        try {
+            long sizeBefore = mySql ? 0 : getSqliteSize();
+            long times = deleteExpiredTimes(mySql);
+            long periodBests = deleteExpiredPeriodBests();
+            if (!mySql) {
+                vacuumSqlite();
+            }
+
+            timesDeleted = times;
+            periodBestsDeleted = periodBests;
+            bytesReclaimed = mySql ? 0 : Math.max(0, sizeBefore - getSqliteSize());
+            lastCompacted = System.currentTimeMillis();
+
+            PluginUtils.log("[SQL] Time compaction deleted " + times + " times and " + periodBests
+                    + " period bests, reclaiming " + (bytesReclaimed / 1024) + "KB in "
+                    + (lastCompacted - startTime) + "ms.");
+
+        } catch (SQLException e) {
+            PluginUtils.log("[SQL] Time compaction failed: " + e.getMessage(), 2);
+            e.printStackTrace();
+
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Stop the compaction at the end of the current batch.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getLastCompacted() {
+        return lastCompacted;
+    }
+
+    public long getTimesDeleted() {
+        return timesDeleted;
+    }
+
+    public long getPeriodBestsDeleted() {
+        return periodBestsDeleted;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    /**
+     * Delete the times outside of the retention window which are slower than the Player's best times.
+     * The Player's slowest kept time is found by seeking the (courseId, playerId, time) index,
+     * so each time is checked against a few index entries rather than counting every faster time.
+     * Times equal to the slowest kept time are kept, so a tie never decides which is deleted.
+     * Deleting a time never changes whether a later time is expired, so the scan continues from the last time found,
+     * rather than starting again from the beginning of the table.
+     */
+    private long deleteExpiredTimes(boolean mySql) throws SQLException {
+        String expiredTimesQuery = String.format(SELECT_EXPIRED_TIMES_QUERY, mySql ? MYSQL_CUTOFF : SQLITE_CUTOFF);
+        long lastTimeId = 0;
+        long deleted = 0;
+
+        while (!cancelled) {
+            List<Long> timeIds = new ArrayList<>(batchSize);
+            try (Connection connection = databaseManager.getReadConnection();
+                 PreparedStatement statement = connection.prepareStatement(expiredTimesQuery)) {
+                statement.setLong(1, lastTimeId);
+                statement.setInt(2, keepDays);
+                statement.setInt(3, keepBestTimes - 1);
+                statement.setInt(4, batchSize);
+                ResultSet resultSet = statement.executeQuery();
+
+                while (resultSet.next()) {
+                    timeIds.add(resultSet.getLong(1));
+                }
+                resultSet.getStatement().close();
+            }
+
+            if (timeIds.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> keys = new ArrayList<>(timeIds.size());
+            timeIds.forEach(timeId -> keys.add(new Object[] {timeId}));
+            deleteBatch(DELETE_TIME_UPDATE, keys);
+            deleted += timeIds.size();
+            lastTimeId = timeIds.get(timeIds.size() - 1);
+
+            if (timeIds.size() < batchSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete the period bests for periods which have ended and are outside the retention window.
+     * The current periods are always kept, as they're still being displayed.
+     */
+    private long deleteExpiredPeriodBests() throws SQLException {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(keepDays);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            cutoff = Math.min(cutoff, period.getCurrentPeriodStart());
+        }
+        long deleted = 0;
+
+        while (!cancelled) {
+            List<Object[]> keys = new ArrayList<>(batchSize);
+            try (Connection connection = databaseManager.getReadConnection();
+                 PreparedStatement statement = connection.prepareStatement(SELECT_EXPIRED_PERIOD_BESTS_QUERY)) {
+                statement.setLong(1, cutoff);
+                statement.setInt(2, batchSize);
+                ResultSet resultSet = statement.executeQuery();
+
+                while (resultSet.next()) {
+                    keys.add(new Object[] {resultSet.getInt(1), resultSet.getString(2),
+                            resultSet.getLong(3), resultSet.getString(4)});
+                }
+                resultSet.getStatement().close();
+            }
+
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            deleteBatch(DELETE_PERIOD_BEST_UPDATE, keys);
+            deleted += keys.size();
+
+            if (keys.size() < batchSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete the batch of rows within a single short transaction.
+     * A write connection is borrowed per batch, so queued time writes are committed in between.
+     */
+    private void deleteBatch(String sql, List<Object[]> keys) throws SQLException {
+        try (Connection connection = databaseManager.getWriteConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Object[] key : keys) {
+                    for (int i = 0; i < key.length; i++) {
+                        statement.setObject(i + 1, key[i]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Convert the SQLite database to incremental auto vacuum, if it isn't already.
+     * This requires a full VACUUM which rewrites the whole database, so it must only be used
+     * before the time writes are queued, never while the writer is committing them.
+     *
+     * @param connection writable connection
+     * @throws SQLException if the database can't be converted
+     */
+    static void enableIncrementalVacuum(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (queryLong(statement, "PRAGMA auto_vacuum;") != AUTO_VACUUM_INCREMENTAL) {
+                PluginUtils.log("[SQL] Enabling incremental vacuum on the SQLite database, this may take a while.");
+                statement.execute("PRAGMA auto_vacuum = INCREMENTAL;");
+                statement.execute("VACUUM;");
+            }
+        }
+    }
+
+    /**
+     * Return the free pages of the SQLite database to the file system.
+     * The free pages are released in steps, so the writer is only held briefly each time.
+     * Databases created without incremental auto vacuum keep their free pages for reuse instead.
+     */
+    private void vacuumSqlite() throws SQLException {
+        try (Connection connection = databaseManager.getReadConnection();
+             Statement statement = connection.createStatement()) {
+            if (queryLong(statement, "PRAGMA auto_vacuum;") != AUTO_VACUUM_INCREMENTAL) {
+                PluginUtils.debug("SQLite database isn't using incremental vacuum, skipping vacuum.");
+                return;
+            }
+        }
+
+        long freePages;
+        do {
+            try (Connection connection = databaseManager.getWriteConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA incremental_vacuum(" + VACUUM_PAGES_PER_STEP + ");");
+                freePages = queryLong(statement, "PRAGMA freelist_count;");
+            }
+        } while (freePages > 0 && !cancelled);
+
+        try (Connection connection = databaseManager.getWriteConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(TRUNCATE);");
+        }
+    }
+
+    /**
+     * Get the size of the SQLite database in bytes.
+     *
+     * @return database size
+     * @throws SQLException if the size can't be queried
+     */
+    long getSqliteSize() throws SQLException {
+        try (Connection connection = databaseManager.getReadConnection();
+             Statement statement = connection.createStatement()) {
+            return queryLong(statement, "PRAGMA page_count;") * queryLong(statement, "PRAGMA page_size;");
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package io.github.a5h73y.parkour.database;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import io.github.a5h73y.parkour.utility.StringUtils;
+import io.github.a5h73y.parkour.utility.TranslationUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pro.husk.mysql.MySQL;
+
+/**
+ * Export and Import every Time to and from a file.
+ * Used to move the leaderboards between servers, or between SQLite and MySQL.
+ * Files are gzip compressed CSV, or NDJSON when the file name ends with ".ndjson" or ".jsonl".
+ * Each row is streamed, so the times are never all held in memory at once.
+ * Courses are identified by name rather than ID, as the IDs will differ between databases.
+ */
+public class TimeDataTransfer {
+
+    public static final String TRANSFERS_FOLDER = "transfers";
+
+    private static final String[] COLUMNS = {"course", "playerId", "name", "time", "deaths", "achieved"};
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_\\-][A-Za-z0-9_.\\-]*");
+    private static final DateTimeFormatter SQLITE_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter SQLITE_TIMESTAMP_PARSER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss[.SSS]");
+
+    private static final String SELECT_EXPORT_QUERY = "SELECT course.name, time.playerId, player.name, time.time,"
+            + " time.deaths, time.achieved FROM time JOIN course ON course.courseId = time.courseId"
+            + " LEFT JOIN player ON player.playerId = time.playerId";
+
+    private static final String INSERT_TIME_UPDATE =
+            "INSERT INTO time (courseId, playerId, time, deaths, achieved) VALUES (?, ?, ?, ?, ?);";
+    private static final String SQLITE_INSERT_PERSONAL_BEST_UPDATE = "INSERT OR IGNORE INTO personal_best "
+            + "(courseId, playerId, time, deaths, achieved) VALUES (?, ?, ?, ?, ?);";
+    private static final String MYSQL_INSERT_PERSONAL_BEST_UPDATE = "INSERT IGNORE INTO personal_best "
+            + "(courseId, playerId, time, deaths, achieved) VALUES (?, ?, ?, ?, ?);";
+    private static final String UPDATE_PERSONAL_BEST_UPDATE = "UPDATE personal_best SET time=?, deaths=?, achieved=? "
+            + "WHERE courseId=? AND playerId=? AND time > ?;";
+    private static final String SQLITE_INSERT_PERIOD_BEST_UPDATE = "INSERT OR IGNORE INTO period_best "
+            + "(courseId, playerId, periodType, periodStart, time, deaths, achieved) VALUES (?, ?, ?, ?, ?, ?, ?);";
+    private static final String MYSQL_INSERT_PERIOD_BEST_UPDATE = "INSERT IGNORE INTO period_best "
+            + "(courseId, playerId, periodType, periodStart, time, deaths, achieved) VALUES (?, ?, ?, ?, ?, ?, ?);";
+    private static final String UPDATE_PERIOD_BEST_UPDATE = "UPDATE period_best SET time=?, deaths=?, achieved=? "
+            + "WHERE courseId=? AND periodType=? AND periodStart=? AND playerId=? AND time > ?;";
+    private static final String SQLITE_INSERT_PLAYER_UPDATE = "INSERT OR IGNORE INTO player (playerId, name) VALUES (?, ?);";
+    private static final String MYSQL_INSERT_PLAYER_UPDATE = "INSERT IGNORE INTO player (playerId, name) VALUES (?, ?);";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 2000;
+    private static final int PROGRESS_INTERVAL = 50000;
+
+    private final Parkour parkour;
+    private final DatabaseManager databaseManager;
+    private final AtomicBoolean transferRunning = new AtomicBoolean();
+
+    /**
+     * Construct the Time Data Transfer.
+     *
+     * @param parkour plugin instance
+     * @param databaseManager database manager
+     */
+    public TimeDataTransfer(Parkour parkour, DatabaseManager databaseManager) {
+        this.parkour = parkour;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Export every Time into the file, within the transfers folder.
+     * The file is written asynchronously and only replaces an existing file once complete.
+     *
+     * @param commandSender command sender
+     * @param fileName requested file name
+     */
+    public void exportTimes(@NotNull CommandSender commandSender, @Nullable String fileName) {
+        File file = resolveFile(commandSender, fileName, true);
+        if (file == null || !startTransfer(commandSender)) {
+            return;
+        }
+
+        TranslationUtils.sendMessage(commandSender, "Exporting times to &b" + file.getName() + "&f...");
+        Bukkit.getScheduler().runTaskAsynchronously(parkour, () -> {
+            try {
+                long rows = writeExport(commandSender, file);
+                sendProgress(commandSender, "Export complete, &b" + rows + "&f times written to &b" + file.getName());
+                PluginUtils.logToFile("Exported " + rows + " times to " + file.getName());
+
+            } catch (IOException | SQLException | RuntimeException e) {
+                PluginUtils.log("[SQL] Unable to export times: " + e.getMessage(), 2);
+                e.printStackTrace();
+                sendProgress(commandSender, "Export failed: " + e.getMessage());
+
+            } finally {
+                transferRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Import every Time from the file, within the transfers folder.
+     * The times are inserted asynchronously in chunks, each committed in its own transaction,
+     * with the Personal Bests and Period Bests updated alongside them.
+     * Each committed time is recorded in the Course statistics, as a completion of the Course.
+     * Times are appended to the existing times, so importing the same file twice will duplicate them.
+     *
+     * @param commandSender command sender
+     * @param fileName requested file name
+     */
+    public void importTimes(@NotNull CommandSender commandSender, @Nullable String fileName) {
+        File file = resolveFile(commandSender, fileName, false);
+        if (file == null) {
+            return;
+        }
+        if (!file.exists()) {
+            TranslationUtils.sendMessage(commandSender, "File &b" + file.getName() + "&f does not exist in the "
+                    + TRANSFERS_FOLDER + " folder.");
+            return;
+        }
+        if (!startTransfer(commandSender)) {
+            return;
+        }
+
+        TranslationUtils.sendMessage(commandSender, "Importing times from &b" + file.getName() + "&f...");
+        Bukkit.getScheduler().runTaskAsynchronously(parkour, () -> {
+            try {
+                ImportResult result = readImport(commandSender, file);
+                databaseManager.clearCache();
+                sendProgress(commandSender, "Import complete, &b" + result.imported + "&f times imported, &b"
+                        + result.skipped + "&f skipped.");
+                PluginUtils.logToFile("Imported " + result.imported + " times from " + file.getName()
+                        + ", skipped " + result.skipped);
+
+            } catch (IOException | SQLException | RuntimeException e) {
+                PluginUtils.log("[SQL] Unable to import times: " + e.getMessage(), 2);
+                e.printStackTrace();
+                databaseManager.clearCache();
+                sendProgress(commandSender, "Import failed: " + e.getMessage());
+
+            } finally {
+                transferRunning.set(false);
+            }
+        });
+    }
+
+    public boolean isTransferRunning() {
+        return transferRunning.get();
+    }
+
+    private boolean startTransfer(CommandSender commandSender) {
+        if (!transferRunning.compareAndSet(false, true)) {
+            TranslationUtils.sendMessage(commandSender, "A time transfer is already in progress.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the file within the transfers folder.
+     * Only a plain file name is accepted, so files outside the folder can't be read or written.
+     * Exported files are always compressed, ".gz" will be appended when missing.
+     */
+    @Nullable
+    private File resolveFile(CommandSender commandSender, @Nullable String fileName, boolean export) {
+        if (fileName == null || !FILE_NAME_PATTERN.matcher(fileName).matches()) {
+            TranslationUtils.sendMessage(commandSender, "Please provide a valid file name, i.e. &bparkour-times.csv.gz");
+            return null;
+        }
+
+        String resolvedName = fileName;
+        if (export) {
+            if (!isNdjson(resolvedName) && !resolvedName.toLowerCase().matches(".*\\.csv(\\.gz)?")) {
+                resolvedName += ".csv";
+            }
+            if (!isCompressed(resolvedName)) {
+                resolvedName += ".gz";
+            }
+        }
+
+        File folder = new File(parkour.getDataFolder(), TRANSFERS_FOLDER);
+        if (!folder.exists() && !folder.mkdirs()) {
+            TranslationUtils.sendMessage(commandSender, "Unable to create the " + TRANSFERS_FOLDER + " folder.");
+            return null;
+        }
+        return new File(folder, resolvedName);
+    }
+
+    private long writeExport(CommandSender commandSender, File file) throws IOException, SQLException {
+        boolean mySql = databaseManager.getDatabase() instanceof MySQL;
+        boolean ndjson = isNdjson(file.getName());
+        File partFile = new File(file.getParentFile(), file.getName() + ".part");
+        long rows = 0;
+
+        // wait for the queued writes, so the export reflects every time achieved so far
+        databaseManager.awaitSubmittedWrites();
+
+        try (Connection connection = databaseManager.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_EXPORT_QUERY,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(new FileOutputStream(partFile)), StandardCharsets.UTF_8))) {
+
+            // the MySQL driver will only stream the results row by row with this fetch size
+            statement.setFetchSize(mySql ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE);
+
+            if (!ndjson) {
+                writer.write(String.join(",", COLUMNS));
+                writer.newLine();
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String[] values = {
+                            resultSet.getString(1),
+                            resultSet.getString(2),
+                            resultSet.getString(3),
+                            String.valueOf(resultSet.getLong(4)),
+                            String.valueOf(resultSet.getInt(5)),
+                            String.valueOf(readAchieved(resultSet, 6, mySql))
+                    };
+                    writer.write(ndjson ? formatJsonRow(values) : formatCsvRow(values));
+                    writer.newLine();
+
+                    if (++rows % PROGRESS_INTERVAL == 0) {
+                        sendProgress(commandSender, "Exported &b" + rows + "&f times...");
+                    }
+                }
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(partFile.toPath());
+            throw e;
+        }
+
+        Files.move(partFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return rows;
+    }
+
+    private ImportResult readImport(CommandSender commandSender, File file) throws IOException, SQLException {
+        boolean mySql = databaseManager.getDatabase() instanceof MySQL;
+        boolean ndjson = isNdjson(file.getName());
+        ImportResult result = new ImportResult();
+        Map<String, Integer> courseIds = new HashMap<>();
+        List<ImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        // imported rows must not be interleaved with earlier queued writes for the same players
+        databaseManager.awaitSubmittedWrites();
+
+        InputStream inputStream = new FileInputStream(file);
+        if (isCompressed(file.getName())) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || (!ndjson && lineNumber == 1 && line.startsWith(COLUMNS[0]))) {
+                    continue;
+                }
+
+                ImportRow row = parseRow(line, ndjson, courseIds);
+                if (row == null) {
+                    PluginUtils.debug("Skipping time on line " + lineNumber + " of " + file.getName());
+                    result.skipped++;
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    insertChunk(chunk, mySql);
+                    result.imported += chunk.size();
+                    chunk.clear();
+
+                    if (result.imported % PROGRESS_INTERVAL == 0) {
+                        sendProgress(commandSender, "Imported &b" + result.imported + "&f times...");
+                    }
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, mySql);
+            result.imported += chunk.size();
+        }
+        return result;
+    }
+
+    /**
+     * Insert the chunk of rows within a single transaction.
+     * A write connection is borrowed per chunk, so queued time writes can be committed between chunks.
+     * Once committed, the times are recorded in the Course statistics.
+     */
+    private void insertChunk(List<ImportRow> chunk, boolean mySql) throws SQLException {
+        try (Connection connection = databaseManager.getWriteConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement players = connection.prepareStatement(
+                         mySql ? MYSQL_INSERT_PLAYER_UPDATE : SQLITE_INSERT_PLAYER_UPDATE);
+                 PreparedStatement times = connection.prepareStatement(INSERT_TIME_UPDATE);
+                 PreparedStatement insertBests = connection.prepareStatement(
+                         mySql ? MYSQL_INSERT_PERSONAL_BEST_UPDATE : SQLITE_INSERT_PERSONAL_BEST_UPDATE);
+                 PreparedStatement updateBests = connection.prepareStatement(UPDATE_PERSONAL_BEST_UPDATE);
+                 PreparedStatement insertPeriodBests = connection.prepareStatement(
+                         mySql ? MYSQL_INSERT_PERIOD_BEST_UPDATE : SQLITE_INSERT_PERIOD_BEST_UPDATE);
+                 PreparedStatement updatePeriodBests = connection.prepareStatement(UPDATE_PERIOD_BEST_UPDATE)) {
+
+                Set<String> playerIds = new HashSet<>();
+                for (ImportRow row : chunk) {
+                    if (row.playerName != null && playerIds.add(row.playerId)) {
+                        players.setString(1, row.playerId);
+                        players.setString(2, row.playerName);
+                        players.addBatch();
+                    }
+
+                    setParameters(times, row.courseId, row.playerId, row.time, row.deaths);
+                    bindAchieved(times, 5, row.achieved, mySql);
+                    times.addBatch();
+
+                    setParameters(insertBests, row.courseId, row.playerId, row.time, row.deaths);
+                    bindAchieved(insertBests, 5, row.achieved, mySql);
+                    insertBests.addBatch();
+
+                    setParameters(updateBests, row.time, row.deaths);
+                    bindAchieved(updateBests, 3, row.achieved, mySql);
+                    updateBests.setInt(4, row.courseId);
+                    updateBests.setString(5, row.playerId);
+                    updateBests.setLong(6, row.time);
+                    updateBests.addBatch();
+
+                    for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                        long periodStart = period.getPeriodStart(row.achieved);
+                        setParameters(insertPeriodBests, row.courseId, row.playerId, period.getKey(), periodStart,
+                                row.time, row.deaths);
+                        bindAchieved(insertPeriodBests, 7, row.achieved, mySql);
+                        insertPeriodBests.addBatch();
+
+                        setParameters(updatePeriodBests, row.time, row.deaths);
+                        bindAchieved(updatePeriodBests, 3, row.achieved, mySql);
+                        updatePeriodBests.setInt(4, row.courseId);
+                        updatePeriodBests.setString(5, period.getKey());
+                        updatePeriodBests.setLong(6, periodStart);
+                        updatePeriodBests.setString(7, row.playerId);
+                        updatePeriodBests.setLong(8, row.time);
+                        updatePeriodBests.addBatch();
+                    }
+                }
+
+                // the inserts must be applied before the updates, so the fastest time of the chunk wins
+                players.executeBatch();
+                times.executeBatch();
+                insertBests.executeBatch();
+                updateBests.executeBatch();
+                insertPeriodBests.executeBatch();
+                updatePeriodBests.executeBatch();
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        CourseStatisticsStore courseStatistics = databaseManager.getCourseStatistics();
+        for (ImportRow row : chunk) {
+            courseStatistics.recordCompletion(row.courseName, row.time, row.deaths);
+        }
+    }
+
+    /**
+     * Parse the line into an ImportRow.
+     * Rows for Courses which don't exist on this server are skipped.
+     *
+     * @return parsed row, or null if it can't be imported
+     */
+    @Nullable
+    private ImportRow parseRow(String line, boolean ndjson, Map<String, Integer> courseIds) {
+        String[] values;
+        try {
+            values = ndjson ? parseJsonRow(line) : parseCsvRow(line);
+        } catch (JsonParseException | IllegalStateException e) {
+            return null;
+        }
+
+        if (values.length != COLUMNS.length || values[0] == null || values[1] == null) {
+            return null;
+        }
+
+        String courseName = values[0].toLowerCase();
+        Integer courseId = courseIds.computeIfAbsent(courseName, this::findOrCreateCourseId);
+        if (courseId <= 0) {
+            return null;
+        }
+
+        try {
+            return new ImportRow(courseId, courseName, values[1], values[2],
+                    Long.parseLong(values[3]), Integer.parseInt(values[4]), Long.parseLong(values[5]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int findOrCreateCourseId(String courseName) {
+        int courseId = databaseManager.getCourseId(courseName, false);
+        if (courseId == -1 && parkour.getCourseManager().doesCourseExist(courseName)) {
+            databaseManager.insertCourse(courseName);
+            courseId = databaseManager.getCourseId(courseName, false);
+        }
+        if (courseId == -1) {
+            PluginUtils.log("Course '" + courseName + "' does not exist, its times will be skipped.", 1);
+        }
+        return courseId;
+    }
+
+    private void sendProgress(CommandSender commandSender, String message) {
+        PluginUtils.log(ChatColor.stripColor(StringUtils.colour(message)));
+        databaseManager.runOnMainThread(() -> TranslationUtils.sendMessage(commandSender, message));
+    }
+
+    /**
+     * Read the achieved timestamp as epoch milliseconds.
+     * SQLite stores CURRENT_TIMESTAMP as UTC text, which its driver can't reliably parse as a Timestamp.
+     * A value which can't be parsed is exported as 0, rather than failing the whole export.
+     */
+    private static long readAchieved(ResultSet resultSet, int index, boolean mySql) throws SQLException {
+        if (mySql) {
+            Timestamp timestamp = resultSet.getTimestamp(index);
+            return timestamp == null ? 0 : timestamp.getTime();
+        }
+
+        String value = resultSet.getString(index);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return LocalDateTime.parse(value, SQLITE_TIMESTAMP_PARSER).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ex) {
+                PluginUtils.debug("Unable to parse achieved timestamp: " + value);
+                return 0;
+            }
+        }
+    }
+
+    private static void bindAchieved(PreparedStatement statement, int index, long achieved, boolean mySql)
+            throws SQLException {
+        if (mySql) {
+            statement.setTimestamp(index, new Timestamp(achieved));
+        } else {
+            statement.setString(index, SQLITE_TIMESTAMP_FORMAT.format(
+                    LocalDateTime.ofEpochSecond(achieved / 1000, 0, ZoneOffset.UTC)));
+        }
+    }
+
+    private static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static boolean isNdjson(String fileName) {
+        String lowerName = fileName.toLowerCase();
+        return lowerName.matches(".*\\.(ndjson|jsonl)(\\.gz)?");
+    }
+
+    private static boolean isCompressed(String fileName) {
+        return fileName.toLowerCase().endsWith(".gz");
+    }
+
+    private static String formatJsonRow(String[] values) {
+        JsonObject row = new JsonObject();
+        row.addProperty(COLUMNS[0], values[0]);
+        row.addProperty(COLUMNS[1], values[1]);
+        row.addProperty(COLUMNS[2], values[2]);
+        row.addProperty(COLUMNS[3], Long.parseLong(values[3]));
+        row.addProperty(COLUMNS[4], Integer.parseInt(values[4]));
+        row.addProperty(COLUMNS[5], Long.parseLong(values[5]));
+        return row.toString();
+    }
+
+    private static String[] parseJsonRow(String line) {
+        JsonObject row = JsonParser.parseString(line).getAsJsonObject();
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            JsonElement element = row.get(COLUMNS[i]);
+            values[i] = element == null || element.isJsonNull() ? null : element.getAsString();
+        }
+        return values;
+    }
+
+    private static String formatCsvRow(String[] values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            String value = values[i];
+            if (value != null && (value.indexOf(',') >= 0 || value.indexOf('"') >= 0)) {
+                row.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                row.append(value);
+            }
+        }
+        return row.toString();
+    }
+
+    /**
+     * Parse the CSV line, supporting quoted values.
+     * An empty value is treated as null.
+     */
+    private static String[] parseCsvRow(String line) {
+        List<String> values = new ArrayList<>(COLUMNS.length);
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (quoted) {
+                if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (character == '"') {
+                    quoted = false;
+                } else {
+                    value.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.length() == 0 ? null : value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        values.add(value.length() == 0 ? null : value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static class ImportRow {
+
+        private final int courseId;
+        private final String courseName;
+        private final String playerId;
+        private final String playerName;
+        private final long time;
+        private final int deaths;
+        private final long achieved;
+
+        private ImportRow(int courseId, String courseName, String playerId, @Nullable String playerName,
+                          long time, int deaths, long achieved) {
+            this.courseId = courseId;
+            this.courseName = courseName;
+            this.playerId = playerId;
+            this.playerName = playerName;
+            this.time = time;
+            this.deaths = deaths;
+            this.achieved = achieved;
+        }
+    }
+
+    private static class ImportResult {
+
+        private long imported;
+        private long skipped;
+    }
+}
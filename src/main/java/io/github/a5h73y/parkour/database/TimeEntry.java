@@ -1,7 +1,8 @@
 package io.github.a5h73y.parkour.database;
 
-import io.github.a5h73y.parkour.utility.PlayerUtils;
+import io.github.a5h73y.parkour.Parkour;
 import java.util.Date;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Representation model of a `Time` stored in the database.
@@ -25,10 +26,24 @@ public class TimeEntry {
      * @param deaths deaths accumulated
      */
     public TimeEntry(String courseId, String playerId, long time, int deaths) {
+        this(courseId, playerId, time, deaths, null);
+    }
+
+    /**
+     * Construct a Time Entry with the Player's name already known.
+     *
+     * @param courseId course ID in the database
+     * @param playerId player UUID
+     * @param time time in ms
+     * @param deaths deaths accumulated
+     * @param playerName player name, or null if unknown
+     */
+    public TimeEntry(String courseId, String playerId, long time, int deaths, @Nullable String playerName) {
         this.courseId = courseId;
         this.playerId = playerId;
         this.time = time;
         this.deaths = deaths;
+        this.playerName = playerName;
     }
 
     /**
@@ -37,11 +52,19 @@ public class TimeEntry {
      */
     public String getPlayerName() {
         if (playerName == null) {
-            playerName = PlayerUtils.findPlayerName(this.playerId);
+            playerName = Parkour.getInstance().getDatabaseManager().getPlayerName(this.playerId);
         }
         return playerName;
     }
 
+    /**
+     * Whether the Player's name is already known.
+     * @return player name known
+     */
+    public boolean hasPlayerName() {
+        return playerName != null;
+    }
+
     /**
      * The Course ID in the database.
      * @return course ID
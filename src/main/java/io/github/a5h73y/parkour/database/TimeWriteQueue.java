@@ -0,0 +1,582 @@
+package io.github.a5h73y.parkour.database;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Write-behind queue for Time mutations, and the Player names displayed alongside them.
+ * Writes are submitted from the main thread and drained by a single writer thread,
+ * which group-commits each batch inside one transaction.
+ * As there is only ever one writer, the writes are applied in the order they were submitted.
+ * Submitting never waits on the writer, once the queue is full the writes overflow to the journal.
+ * When a {@link WriteJournal} is provided, writes which fail to commit because the connection was lost,
+ * or the database was too busy, are journaled, then replayed in order before any newer writes once it recovers.
+ * Only writes the database rejects are discarded.
+ */
+public class TimeWriteQueue {
+
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final long SUBMIT_TIMEOUT_MS = 5;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30000;
+    private static final long MAXIMUM_REPLAY_BACKOFF_MS = 30000;
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    private final SqlConnectionProvider connectionProvider;
+    private final BlockingQueue<TimeWrite> queue;
+    private final ConcurrentLinkedQueue<TimeWrite> overflow = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+    private final Thread writerThread;
+    private final WriteJournal journal;
+
+    private final AtomicLong submittedWrites = new AtomicLong();
+
+    /**
+     * Number of submitted writes which have been committed, or have failed and will never be committed.
+     * Journaled writes are only processed once they have been replayed. Guarded by this.
+     */
+    private long processedWrites;
+
+    /**
+     * Number of journaled writes recovered from a previous run, which weren't submitted by this run.
+     * Guarded by this.
+     */
+    private int recoveredWrites;
+
+    /**
+     * Milliseconds to wait before replaying the journal again, after the last replay failed.
+     * Guarded by this.
+     */
+    private long replayBackoffMs;
+    private long nextReplayTime;
+
+    private volatile boolean running = true;
+
+    /**
+     * Construct and start the Time Write Queue.
+     *
+     * @param connectionProvider provider of the write connections
+     * @param capacity maximum number of pending writes
+     * @param batchSize maximum number of writes committed per transaction
+     * @param journal journal for writes which couldn't be committed, or null to discard them
+     */
+    public TimeWriteQueue(SqlConnectionProvider connectionProvider, int capacity, int batchSize,
+                          @Nullable WriteJournal journal) {
+        this.connectionProvider = connectionProvider;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.journal = journal;
+        this.recoveredWrites = getJournaledWrites();
+        this.writerThread = new Thread(this::processQueue, "Parkour-TimeWriter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Submit a write to be applied by the writer thread.
+     *
+     * @param sql sql update statement
+     * @param parameters statement parameters
+     */
+    public void submit(@NotNull String sql, Object... parameters) {
+        submit(new TimeWrite().add(sql, parameters));
+    }
+
+    /**
+     * Submit a write to be applied by the writer thread.
+     * Each statement of the write is applied within the same transaction.
+     * If the queue stays full for longer than a few milliseconds, the write overflows,
+     * to be moved to the journal by the writer thread. Once a write has overflowed, the following writes
+     * overflow behind it until the writer has caught up, so the order is preserved.
+     * The caller never waits for the writer, or commits the write itself.
+     *
+     * @param write write to apply
+     */
+    public void submit(@NotNull TimeWrite write) {
+        submittedWrites.incrementAndGet();
+        if (!running) {
+            PluginUtils.debug("Time writer has stopped, journaling write.");
+            if (!appendToJournal(List.of(write))) {
+                commitBatch(List.of(write));
+            }
+            return;
+        }
+
+        try {
+            if (overflow.isEmpty() && queue.offer(write, SUBMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (overflow.isEmpty()) {
+            PluginUtils.log("[SQL] Time write queue is full, writes will overflow until the writer catches up.", 1);
+        }
+        overflow.add(write);
+    }
+
+    /**
+     * Get the number of writes waiting to be committed.
+     *
+     * @return pending writes
+     */
+    public int getPendingWrites() {
+        return queue.size() + overflow.size();
+    }
+
+    /**
+     * Get the number of writes journaled, waiting to be replayed.
+     *
+     * @return journaled writes
+     */
+    public int getJournaledWrites() {
+        return journal != null ? journal.getPendingEntries() : 0;
+    }
+
+    /**
+     * Get the total number of writes submitted.
+     *
+     * @return submitted writes
+     */
+    public long getSubmittedWrites() {
+        return submittedWrites.get();
+    }
+
+    /**
+     * Wait until the specified number of writes have been processed by the writer.
+     * Used to ensure the database reflects every write submitted up to a point in time.
+     * Writes which were journaled aren't processed until they have been replayed.
+     *
+     * @param writes number of submitted writes to wait for
+     * @param timeoutMs maximum milliseconds to wait
+     * @return the writes were processed within the timeout
+     */
+    public synchronized boolean awaitWrites(long writes, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            while (processedWrites < writes) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    PluginUtils.debug("Timed out waiting for time writes to be committed.");
+                    return false;
+                }
+                wait(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting writes and flush the remaining queue.
+     * Will wait for the writer thread to commit everything outstanding.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<TimeWrite> remaining = drainPendingWrites();
+        if (!remaining.isEmpty()) {
+            PluginUtils.log("[SQL] Flushing " + remaining.size() + " remaining time writes.", 1);
+            commitBatch(remaining);
+        }
+    }
+
+    private void processQueue() {
+        List<TimeWrite> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty() || !overflow.isEmpty()) {
+            try {
+                if (!overflow.isEmpty() && journalOverflow()) {
+                    continue;
+                }
+
+                // the queued writes are older than any which overflowed, so are taken first
+                TimeWrite write = queue.isEmpty() ? overflow.poll() : null;
+                if (write == null) {
+                    write = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                }
+                if (write == null) {
+                    replayJournal();
+                    continue;
+                }
+
+                batch.add(write);
+                if (queue.drainTo(batch, batchSize - 1) == 0) {
+                    while (batch.size() < batchSize && (write = overflow.poll()) != null) {
+                        batch.add(write);
+                    }
+                }
+                commitBatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+
+            } catch (RuntimeException e) {
+                PluginUtils.log("[SQL] Time writer failed: " + e.getMessage(), 2);
+                e.printStackTrace();
+
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Move the queued and overflowed writes to the journal, in the order they were submitted.
+     * As the journal is replayed before any newer batch is committed, the order is preserved.
+     * Without a journal, the overflowed writes are committed from memory after the queued writes instead.
+     *
+     * @return the writes were journaled
+     */
+    private boolean journalOverflow() {
+        if (journal == null) {
+            return false;
+        }
+
+        List<TimeWrite> writes = drainPendingWrites();
+        if (!appendToJournal(writes)) {
+            commitBatch(writes);
+        }
+        return true;
+    }
+
+    private List<TimeWrite> drainPendingWrites() {
+        List<TimeWrite> writes = new ArrayList<>(queue.size());
+        queue.drainTo(writes);
+        TimeWrite write;
+        while ((write = overflow.poll()) != null) {
+            writes.add(write);
+        }
+        return writes;
+    }
+
+    /**
+     * Commit the batch of writes.
+     * Any journaled writes are replayed first, if they can't be the batch is journaled behind them to preserve the order.
+     *
+     * @param batch writes to commit
+     */
+    private synchronized void commitBatch(List<TimeWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int processed = batch.size();
+        try {
+            if (!replayJournal()) {
+                if (appendToJournal(batch)) {
+                    processed = 0;
+                }
+                return;
+            }
+
+            PluginUtils.debug("Committing " + batch.size() + " time writes.");
+            int committed = commitWrites(batch);
+            if (committed < batch.size() && appendToJournal(batch.subList(committed, batch.size()))) {
+                processed = committed;
+            }
+
+        } finally {
+            markProcessed(processed);
+        }
+    }
+
+    /**
+     * Mark the writes as processed, waking any threads waiting for them.
+     *
+     * @param writes number of writes processed
+     */
+    private synchronized void markProcessed(int writes) {
+        processedWrites += writes;
+        notifyAll();
+    }
+
+    /**
+     * Mark the journaled writes as processed once replayed.
+     * Those recovered from a previous run are replayed first, and were never counted as submitted.
+     *
+     * @param replayed number of journaled writes replayed
+     */
+    private synchronized void markReplayed(int replayed) {
+        int recovered = Math.min(recoveredWrites, replayed);
+        recoveredWrites -= recovered;
+        markProcessed(replayed - recovered);
+    }
+
+    /**
+     * Replay the journaled writes in the order they were journaled.
+     * After a failed replay, the next attempt is delayed for longer each time it fails again.
+     *
+     * @return the journal is empty
+     */
+    private synchronized boolean replayJournal() {
+        if (journal == null || !journal.hasEntries()) {
+            return true;
+        }
+        if (connectionProvider.isConnectionUnavailable() || System.currentTimeMillis() < nextReplayTime) {
+            return false;
+        }
+
+        try {
+            int replayed = 0;
+            WriteJournal.Chunk chunk;
+            while (!(chunk = journal.read(batchSize)).isEmpty()) {
+                int committed = commitWrites(chunk.getWrites());
+                journal.advance(chunk, committed);
+                markReplayed(committed);
+                replayed += committed;
+
+                if (committed < chunk.getWrites().size()) {
+                    PluginUtils.debug("Replayed " + replayed + " journaled time writes before the commit failed.");
+                    delayReplay();
+                    return false;
+                }
+            }
+            PluginUtils.log("[SQL] Replayed " + replayed + " journaled time writes.");
+            replayBackoffMs = 0;
+            nextReplayTime = 0;
+            return true;
+
+        } catch (IOException e) {
+            PluginUtils.log("[SQL] Unable to replay the write journal: " + e.getMessage(), 2);
+            e.printStackTrace();
+            delayReplay();
+            return false;
+        }
+    }
+
+    private synchronized void delayReplay() {
+        replayBackoffMs = Math.min(MAXIMUM_REPLAY_BACKOFF_MS, Math.max(POLL_INTERVAL_MS, replayBackoffMs * 2));
+        nextReplayTime = System.currentTimeMillis() + replayBackoffMs;
+    }
+
+    /**
+     * Commit the writes within a single transaction.
+     * Consecutive writes of the same statement are sent as a JDBC batch.
+     * If the transaction fails, each write is retried individually so one bad row won't lose the others.
+     * Should the connection fail, or the database be too busy to commit, the writes from that point on
+     * are left uncommitted to be retried.
+     *
+     * @param writes writes to commit
+     * @return number of writes processed, in order, before the commit failed
+     */
+    private int commitWrites(List<TimeWrite> writes) {
+        int processed = 0;
+
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            connection.setAutoCommit(false);
+
+            try {
+                applyWrites(connection, writes);
+                connection.commit();
+                processed = writes.size();
+
+            } catch (SQLException e) {
+                if (isRetryable(e)) {
+                    return processed;
+                }
+                connection.rollback();
+                PluginUtils.log("[SQL] Batch of time writes failed, retrying individually: " + e.getMessage(), 1);
+                for (TimeWrite write : writes) {
+                    try {
+                        applyWrites(connection, List.of(write));
+                        connection.commit();
+                    } catch (SQLException ex) {
+                        if (isRetryable(ex)) {
+                            return processed;
+                        }
+                        connection.rollback();
+                        PluginUtils.log("[SQL] Error occurred: " + ex.getMessage(), 2);
+                    }
+                    processed++;
+                }
+            }
+        } catch (SQLException e) {
+            // borrowing or preparing the connection failed, which isn't the database rejecting the writes
+            if (!connectionProvider.recordConnectionFailure(e)) {
+                PluginUtils.log("[SQL] Unable to commit time writes, they will be retried: " + e.getMessage(), 1);
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Check if the writes failed because of the connection or a busy database, rather than being rejected.
+     *
+     * @param e exception
+     * @return the writes should be retried
+     */
+    private boolean isRetryable(SQLException e) {
+        if (connectionProvider.recordConnectionFailure(e)
+                || e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        int resultCode = e.getErrorCode() & 0xff;
+        return !connectionProvider.isMySql() && (resultCode == SQLITE_BUSY || resultCode == SQLITE_LOCKED);
+    }
+
+    /**
+     * Append the writes to the journal, to be replayed once the database recovers.
+     * Without a journal the writes are lost, as they were before the journal existed.
+     *
+     * @return the writes were journaled
+     */
+    private boolean appendToJournal(List<TimeWrite> writes) {
+        if (journal == null) {
+            PluginUtils.log("[SQL] Unable to commit " + writes.size() + " time writes, they have been lost.", 2);
+            return false;
+        }
+
+        try {
+            journal.append(writes);
+            PluginUtils.debug("Journaled " + writes.size() + " time writes.");
+            return true;
+        } catch (IOException e) {
+            PluginUtils.log("[SQL] Unable to journal " + writes.size() + " time writes: " + e.getMessage(), 2);
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void applyWrites(Connection connection, List<TimeWrite> writes) throws SQLException {
+        PreparedStatement statement = null;
+        String currentSql = null;
+
+        try {
+            for (TimeWrite write : writes) {
+                for (int index = 0; index < write.statements.size(); index++) {
+                    String sql = write.statements.get(index);
+                    if (!sql.equals(currentSql)) {
+                        if (statement != null) {
+                            statement.executeBatch();
+                            statement.close();
+                        }
+                        currentSql = sql;
+                        statement = connection.prepareStatement(currentSql);
+                    }
+
+                    Object[] parameters = write.parameters.get(index);
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setObject(i + 1, parameters[i]);
+                    }
+                    statement.addBatch();
+                }
+            }
+
+            if (statement != null) {
+                statement.executeBatch();
+            }
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * A pending write against the Time tables.
+     * Made up of one or more statements which are committed together.
+     */
+    public static class TimeWrite {
+
+        private final List<String> statements = new ArrayList<>(2);
+        private final List<Object[]> parameters = new ArrayList<>(2);
+
+        /**
+         * Add a statement to the write.
+         *
+         * @param sql sql update statement
+         * @param parameters statement parameters
+         * @return this write
+         */
+        public TimeWrite add(@NotNull String sql, Object... parameters) {
+            this.statements.add(sql);
+            this.parameters.add(parameters);
+            return this;
+        }
+
+        /**
+         * Serialize the write as a single line of JSON, for the {@link WriteJournal}.
+         *
+         * @return json
+         */
+        String toJson() {
+            JsonArray statementsJson = new JsonArray();
+            for (int index = 0; index < statements.size(); index++) {
+                JsonArray parametersJson = new JsonArray();
+                for (Object parameter : parameters.get(index)) {
+                    if (parameter == null) {
+                        parametersJson.add(JsonNull.INSTANCE);
+                    } else if (parameter instanceof Number) {
+                        parametersJson.add((Number) parameter);
+                    } else {
+                        parametersJson.add(parameter.toString());
+                    }
+                }
+
+                JsonObject statementJson = new JsonObject();
+                statementJson.addProperty("sql", statements.get(index));
+                statementJson.add("parameters", parametersJson);
+                statementsJson.add(statementJson);
+            }
+            return statementsJson.toString();
+        }
+
+        /**
+         * Deserialize the write from JSON.
+         * Numbers are restored as longs, which every numeric column accepts.
+         *
+         * @param json json
+         * @return time write
+         */
+        static TimeWrite fromJson(String json) {
+            TimeWrite write = new TimeWrite();
+            for (JsonElement statementElement : JsonParser.parseString(json).getAsJsonArray()) {
+                JsonObject statementJson = statementElement.getAsJsonObject();
+                JsonArray parametersJson = statementJson.getAsJsonArray("parameters");
+                Object[] parameters = new Object[parametersJson.size()];
+
+                for (int i = 0; i < parameters.length; i++) {
+                    JsonElement parameter = parametersJson.get(i);
+                    if (parameter.isJsonNull()) {
+                        parameters[i] = null;
+                    } else {
+                        JsonPrimitive primitive = parameter.getAsJsonPrimitive();
+                        parameters[i] = primitive.isNumber() ? primitive.getAsLong() : primitive.getAsString();
+                    }
+                }
+                write.add(statementJson.get("sql").getAsString(), parameters);
+            }
+            return write;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.a5h73y.parkour.database;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Durable append-only journal of the Time writes which couldn't be committed.
+ * Used while the remote database is unavailable, the writes are replayed in order once it has reconnected.
+ * Each write is stored as a line of JSON, and is synced to disk before the write is considered processed.
+ * The offset of the writes already replayed is stored alongside, so a restart mid-replay won't apply them twice.
+ */
+public class WriteJournal {
+
+    private final File journalFile;
+    private final File offsetFile;
+
+    private long replayedOffset;
+    private int pendingEntries;
+
+    /**
+     * Construct the Write Journal, recovering any writes from a previous run.
+     *
+     * @param journalFile journal file
+     */
+    public WriteJournal(@NotNull File journalFile) {
+        this.journalFile = journalFile;
+        this.offsetFile = new File(journalFile.getParentFile(), journalFile.getName() + ".offset");
+        recover();
+    }
+
+    /**
+     * Append the writes to the end of the journal.
+     *
+     * @param writes writes to journal
+     * @throws IOException if the writes couldn't be persisted
+     */
+    public synchronized void append(@NotNull List<TimeWriteQueue.TimeWrite> writes) throws IOException {
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        if (!journalFile.getParentFile().exists()) {
+            journalFile.getParentFile().mkdirs();
+        }
+
+        StringBuilder lines = new StringBuilder();
+        writes.forEach(write -> lines.append(write.toJson()).append('\n'));
+
+        try (FileOutputStream outputStream = new FileOutputStream(journalFile, true)) {
+            outputStream.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            outputStream.getFD().sync();
+        }
+        pendingEntries += writes.size();
+    }
+
+    public synchronized boolean hasEntries() {
+        return pendingEntries > 0;
+    }
+
+    public synchronized int getPendingEntries() {
+        return pendingEntries;
+    }
+
+    /**
+     * Read the next writes waiting to be replayed, in the order they were journaled.
+     * The writes remain in the journal until {@link #advance(Chunk, int)} is called.
+     *
+     * @param maximum maximum number of writes
+     * @return next chunk of writes
+     * @throws IOException if the journal couldn't be read
+     */
+    public synchronized Chunk read(int maximum) throws IOException {
+        Chunk chunk = new Chunk();
+        if (pendingEntries == 0) {
+            return chunk;
+        }
+
+        try (FileInputStream fileStream = new FileInputStream(journalFile)) {
+            fileStream.getChannel().position(replayedOffset);
+            InputStream inputStream = new BufferedInputStream(fileStream);
+            long offset = replayedOffset;
+            byte[] line;
+
+            while (chunk.writes.size() < maximum && (line = readLine(inputStream)) != null) {
+                offset += line.length + 1;
+                chunk.writes.add(TimeWriteQueue.TimeWrite.fromJson(new String(line, StandardCharsets.UTF_8)));
+                chunk.endOffsets.add(offset);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Mark the first writes of the chunk as replayed.
+     * Once every write has been replayed the journal is deleted.
+     *
+     * @param chunk chunk that was read
+     * @param replayed number of writes from the chunk that were replayed
+     * @throws IOException if the progress couldn't be persisted
+     */
+    public synchronized void advance(@NotNull Chunk chunk, int replayed) throws IOException {
+        if (replayed <= 0) {
+            return;
+        }
+
+        replayedOffset = chunk.endOffsets.get(replayed - 1);
+        pendingEntries = Math.max(0, pendingEntries - replayed);
+
+        if (pendingEntries == 0) {
+            Files.deleteIfExists(journalFile.toPath());
+            Files.deleteIfExists(offsetFile.toPath());
+            replayedOffset = 0;
+        } else {
+            try (FileOutputStream outputStream = new FileOutputStream(offsetFile)) {
+                outputStream.write(String.valueOf(replayedOffset).getBytes(StandardCharsets.UTF_8));
+                outputStream.getFD().sync();
+            }
+        }
+    }
+
+    /**
+     * Recover the journal left by a previous run.
+     * A write which was only partially appended before a crash is discarded, it was never reported as processed.
+     */
+    private void recover() {
+        if (!journalFile.exists()) {
+            return;
+        }
+
+        try {
+            if (offsetFile.exists()) {
+                replayedOffset = Long.parseLong(new String(Files.readAllBytes(offsetFile.toPath()),
+                        StandardCharsets.UTF_8).trim());
+            }
+
+            long completeOffset = replayedOffset;
+            try (FileInputStream fileStream = new FileInputStream(journalFile)) {
+                fileStream.getChannel().position(replayedOffset);
+                InputStream inputStream = new BufferedInputStream(fileStream);
+                byte[] line;
+                while ((line = readLine(inputStream)) != null) {
+                    completeOffset += line.length + 1;
+                    pendingEntries++;
+                }
+            }
+
+            if (completeOffset < journalFile.length()) {
+                PluginUtils.log("[SQL] Discarding incomplete write at the end of " + journalFile.getName(), 1);
+                try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(completeOffset);
+                }
+            }
+
+            if (pendingEntries > 0) {
+                PluginUtils.log("[SQL] Recovered " + pendingEntries + " journaled time writes waiting to be replayed.");
+            }
+        } catch (IOException | NumberFormatException e) {
+            PluginUtils.log("[SQL] Unable to recover the write journal: " + e.getMessage(), 2);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Read the bytes of the next complete line, excluding the line break.
+     *
+     * @return line bytes, or null if there isn't a complete line
+     */
+    private static byte[] readLine(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int next;
+        while ((next = inputStream.read()) != -1) {
+            if (next == '\n') {
+                return line.toByteArray();
+            }
+            line.write(next);
+        }
+        return null;
+    }
+
+    /**
+     * Writes read from the journal, with the offset following each write.
+     */
+    public static class Chunk {
+
+        private final List<TimeWriteQueue.TimeWrite> writes = new ArrayList<>();
+        private final List<Long> endOffsets = new ArrayList<>();
+
+        public List<TimeWriteQueue.TimeWrite> getWrites() {
+            return writes;
+        }
+
+        public boolean isEmpty() {
+            return writes.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.a5h73y.parkour.gui.impl;
+
+import static io.github.a5h73y.parkour.other.ParkourConstants.PLAYER_PLACEHOLDER;
+import static io.github.a5h73y.parkour.other.ParkourConstants.POSITION_PLACEHOLDER;
+
+import de.themoep.inventorygui.GuiElementGroup;
+import de.themoep.inventorygui.InventoryGui;
+import de.themoep.inventorygui.StaticGuiElement;
+import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.database.TimeEntry;
+import io.github.a5h73y.parkour.gui.AbstractMenu;
+import io.github.a5h73y.parkour.utility.TranslationUtils;
+import io.github.a5h73y.parkour.utility.time.DateTimeUtils;
+import java.util.List;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Course Leaderboard GUI.
+ * Displays a single page of the leaderboard, the previous and next pages are requested when navigated to.
+ */
+public class LeaderboardGui implements AbstractMenu {
+
+	public static final int PAGE_SIZE = 14;
+
+	private final String courseName;
+	private final int page;
+	private final List<TimeEntry> times;
+
+	/**
+	 * Construct a Leaderboard GUI for the page of results.
+	 *
+	 * @param courseName course name
+	 * @param page page number (starting at 1)
+	 * @param times page of results
+	 */
+	public LeaderboardGui(String courseName, int page, List<TimeEntry> times) {
+		this.courseName = courseName;
+		this.page = page;
+		this.times = times;
+	}
+
+	@Override
+	public String getTitle() {
+		return TranslationUtils.getValueTranslation("GUI.Leaderboard.Heading", courseName.toLowerCase(), false);
+	}
+
+	@Override
+	public String[] getGuiLayout() {
+		return new String[] {
+				TranslationUtils.getTranslation("GUI.Leaderboard.Setup.Line1", false),
+				TranslationUtils.getTranslation("GUI.Leaderboard.Setup.Line2", false),
+				TranslationUtils.getTranslation("GUI.Leaderboard.Setup.Line3", false)
+		};
+	}
+
+	@Override
+	public void addContent(InventoryGui parent, Player player) {
+		GuiElementGroup group = new GuiElementGroup('G');
+		Parkour parkour = Parkour.getInstance();
+		int startPosition = (page - 1) * PAGE_SIZE + 1;
+
+		for (int i = 0; i < times.size(); i++) {
+			TimeEntry entry = times.get(i);
+			group.addElement(
+					new StaticGuiElement('e',
+							new ItemStack(parkour.getParkourConfig().getGuiMaterial()),
+
+							// the item heading
+							TranslationUtils.getTranslation("GUI.Leaderboard.Entry", false)
+									.replace(POSITION_PLACEHOLDER, String.valueOf(startPosition + i))
+									.replace(PLAYER_PLACEHOLDER, entry.getPlayerName()),
+
+							// the item description
+							TranslationUtils.getValueTranslation("GUI.Leaderboard.Time",
+									DateTimeUtils.displayCurrentTime(entry.getTime()), false),
+							TranslationUtils.getValueTranslation("GUI.Leaderboard.Deaths",
+									String.valueOf(entry.getDeaths()), false)
+					));
+		}
+		parent.addElement(group);
+
+		if (page > 1) {
+			parent.addElement(createPageElement('p', parent, player, page - 1, "GUI.Leaderboard.PreviousPage"));
+		}
+		if (times.size() == PAGE_SIZE) {
+			parent.addElement(createPageElement('n', parent, player, page + 1, "GUI.Leaderboard.NextPage"));
+		}
+	}
+
+	private StaticGuiElement createPageElement(char slotChar, InventoryGui parent, Player player,
+	                                           int targetPage, String translationKey) {
+		return new StaticGuiElement(slotChar,
+				new ItemStack(Material.ARROW),
+				click -> {
+					parent.close();
+					Parkour.getInstance().getCourseManager().displayLeaderboardGui(player, courseName, targetPage);
+					return true;
+				},
+				TranslationUtils.getValueTranslation(translationKey, String.valueOf(targetPage), false));
+	}
+}
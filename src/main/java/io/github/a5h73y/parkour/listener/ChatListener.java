@@ -5,7 +5,6 @@ import static io.github.a5h73y.parkour.other.ParkourConstants.PLAYER_PLACEHOLDER
 
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
-import io.github.a5h73y.parkour.type.player.PlayerConfig;
 import io.github.a5h73y.parkour.utility.StringUtils;
 import io.github.a5h73y.parkour.utility.TranslationUtils;
 import io.github.a5h73y.parkour.utility.permission.Permission;
@@ -39,7 +38,7 @@ public class ChatListener extends AbstractPluginReceiver implements Listener {
         }
 
         String finalMessage;
-        String rank = PlayerConfig.getConfig(event.getPlayer()).getParkourRank();
+        String rank = parkour.getConfigManager().getPlayerConfig(event.getPlayer()).getParkourRank();
 
         // should we completely override the chat format
         if (parkour.getParkourConfig().isChatPrefixOverride()) {
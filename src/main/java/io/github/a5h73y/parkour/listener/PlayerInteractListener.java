@@ -6,7 +6,6 @@ import com.cryptomorin.xseries.XBlock;
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.configuration.impl.DefaultConfig;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
-import io.github.a5h73y.parkour.type.checkpoint.Checkpoint;
 import io.github.a5h73y.parkour.type.course.CourseConfig;
 import io.github.a5h73y.parkour.type.player.ParkourMode;
 import io.github.a5h73y.parkour.type.player.PlayerConfig;
@@ -183,24 +182,23 @@ public class PlayerInteractListener extends AbstractPluginReceiver implements Li
     }
 
     private void validateAchieveCheckpoint(Player player, ParkourSession session, Location below) {
-        for (int i = session.getCurrentCheckpoint() + 1; i < session.getCourse().getCheckpoints().size(); i++) {
-            Checkpoint checkpoint = session.getCourse().getCheckpoints().get(i);
-
-            if (checkpoint.getCheckpointX() == below.getBlockX()
-                    && checkpoint.getCheckpointY() == below.getBlockY()
-                    && checkpoint.getCheckpointZ() == below.getBlockZ()) {
-
-                if (parkour.getParkourConfig().getBoolean("OnCourse.SequentialCheckpoints.Enabled")) {
-                    if ((session.getCurrentCheckpoint() + 1) == i) {
-                        achieveCheckpoint(player, session, i);
-
-                    } else if (parkour.getParkourConfig().getBoolean("OnCourse.SequentialCheckpoints.AlertPlayer")) {
-                        TranslationUtils.sendValueTranslation("Error.MissedCheckpoints",
-                                String.valueOf(i - (session.getCurrentCheckpoint() + 1)), player);
-                    }
-                } else {
+        int[] checkpoints = session.getCourse().findCheckpoints(below.getBlockX(), below.getBlockY(), below.getBlockZ());
+
+        for (int i : checkpoints) {
+            if (i <= session.getCurrentCheckpoint()) {
+                continue;
+            }
+
+            if (parkour.getParkourConfig().getBoolean("OnCourse.SequentialCheckpoints.Enabled")) {
+                if ((session.getCurrentCheckpoint() + 1) == i) {
                     achieveCheckpoint(player, session, i);
+
+                } else if (parkour.getParkourConfig().getBoolean("OnCourse.SequentialCheckpoints.AlertPlayer")) {
+                    TranslationUtils.sendValueTranslation("Error.MissedCheckpoints",
+                            String.valueOf(i - (session.getCurrentCheckpoint() + 1)), player);
                 }
+            } else {
+                achieveCheckpoint(player, session, i);
             }
         }
     }
@@ -209,6 +207,7 @@ public class PlayerInteractListener extends AbstractPluginReceiver implements Li
         if (parkour.getParkourConfig().isTreatFirstCheckpointAsStart() && session.getCurrentCheckpoint() == 0) {
             session.resetTime();
             session.setStartTimer(true);
+            parkour.getParkourSessionManager().journalSession(player, session);
             parkour.getBountifulApi().sendActionBar(player,
                     TranslationUtils.getTranslation("Parkour.TimerStarted", false));
         }
@@ -255,7 +254,7 @@ public class PlayerInteractListener extends AbstractPluginReceiver implements Li
                 return;
             }
 
-            config.set(SESSION + "RocketsUsed", rocketsUsed + 1);
+            config.setSessionData("RocketsUsed", rocketsUsed + 1);
         }
 
         parkour.getPlayerManager().rocketLaunchPlayer(player);
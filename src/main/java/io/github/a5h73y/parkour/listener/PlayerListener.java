@@ -198,6 +198,7 @@ public class PlayerListener extends AbstractPluginReceiver implements Listener {
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        parkour.getDatabaseManager().updatePlayerName(player);
 
         if (parkour.getParkourConfig().isDisplayWelcomeMessage()) {
             TranslationUtils.sendValueTranslation("Event.Join",
@@ -242,12 +243,14 @@ public class PlayerListener extends AbstractPluginReceiver implements Listener {
      * Handle Player Quitting Server.
      * Teardown the Player to remove any of their references before leaving.
      * If the Player is banned, attempt to delete all their Parkour data.
+     * Any remaining changes to the Player's data are then saved.
      *
      * @param event PlayerQuitEvent
      */
     @EventHandler
     public void onPlayerDisconnect(PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        parkour.getDatabaseManager().updatePlayerName(player);
 
         parkour.getPlayerManager().teardownParkourPlayer(player);
 
@@ -255,6 +258,8 @@ public class PlayerListener extends AbstractPluginReceiver implements Listener {
                 && parkour.getParkourConfig().getBoolean("Other.OnPlayerBan.ResetParkourInfo")) {
             parkour.getPlayerManager().resetPlayer(player);
         }
+
+        parkour.getConfigManager().savePlayerConfig(player);
     }
 
     /**
@@ -3,6 +3,7 @@ package io.github.a5h73y.parkour.listener;
 import static io.github.a5h73y.parkour.other.ParkourConstants.ERROR_NO_EXIST;
 
 import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.database.DatabaseManager;
 import io.github.a5h73y.parkour.gui.GuiMenu;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
 import io.github.a5h73y.parkour.type.course.CourseConfig;
@@ -268,8 +269,9 @@ public class SignListener extends AbstractPluginReceiver implements Listener {
 
                 } else if (TaskCooldowns.getInstance().delayPlayerWithMessage(player, "leaderboards", 4)) {
                     int amount = lines[3].isEmpty() ? 5 : Integer.parseInt(lines[3]);
-                    parkour.getDatabaseManager().displayTimeEntries(player, lines[2],
-                            parkour.getDatabaseManager().getTopCourseResults(lines[2], amount));
+                    DatabaseManager databaseManager = parkour.getDatabaseManager();
+                    databaseManager.acceptOnMainThread(databaseManager.getTopCourseResultsAsync(lines[2], amount),
+                            results -> databaseManager.displayTimeEntries(player, lines[2], results));
                 }
                 break;
 
@@ -4,6 +4,9 @@ import static io.github.a5h73y.parkour.other.ParkourConstants.DEFAULT;
 import static io.github.a5h73y.parkour.other.ParkourConstants.ERROR_NO_EXIST;
 
 import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.configuration.PlayerConfigCache;
+import io.github.a5h73y.parkour.database.DatabaseManager;
+import io.github.a5h73y.parkour.database.LeaderboardCache;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
 import io.github.a5h73y.parkour.type.player.PlayerConfig;
 import io.github.a5h73y.parkour.utility.PlayerUtils;
@@ -132,7 +135,16 @@ public class AdministrationManager extends AbstractPluginReceiver {
 					return;
 				}
 
-				parkour.getQuestionManager().askDeleteLeaderboardRow(commandSender, argument, detail);
+				DatabaseManager databaseManager = parkour.getDatabaseManager();
+				databaseManager.acceptOnMainThread(
+						databaseManager.getNthBestTimeAsync(argument, Integer.parseInt(detail)), result -> {
+							if (result == null) {
+								TranslationUtils.sendMessage(commandSender,
+										"The matching leaderboard row couldn't be found.");
+							} else {
+								parkour.getQuestionManager().askDeleteLeaderboardRow(commandSender, argument, detail);
+							}
+						});
 				break;
 
 			default:
@@ -260,6 +272,20 @@ public class AdministrationManager extends AbstractPluginReceiver {
 					parkour.getCourseManager().getCacheSize());
 			TranslationUtils.sendValue(commandSender, "Database Times Cached",
 					parkour.getDatabaseManager().getCacheSize());
+			LeaderboardCache leaderboardCache = parkour.getDatabaseManager().getLeaderboardCache();
+			if (leaderboardCache != null) {
+				TranslationUtils.sendValue(commandSender, "Database Leaderboards Cached",
+						leaderboardCache.getCoursesCached() + " (~"
+								+ leaderboardCache.getApproximateBytes() / 1024 + " KB)");
+				TranslationUtils.sendValue(commandSender, "Database Cache Hits / Misses",
+						leaderboardCache.getHits() + " / " + leaderboardCache.getMisses()
+								+ " (" + leaderboardCache.getEvictions() + " evicted)");
+			}
+			PlayerConfigCache playerConfigCache = parkour.getConfigManager().getPlayerConfigCache();
+			TranslationUtils.sendValue(commandSender, "Player Configs Cached",
+					playerConfigCache.size());
+			TranslationUtils.sendValue(commandSender, "Player Config Cache Hit Rate",
+					playerConfigCache.getHitRatePercent() + "% (" + playerConfigCache.getEvictions() + " evicted)");
 			TranslationUtils.sendValue(commandSender, "Lobbies Cached",
 					parkour.getLobbyManager().getCacheSize());
 			TranslationUtils.sendValue(commandSender, "ParkourKits Cached",
@@ -271,7 +297,8 @@ public class AdministrationManager extends AbstractPluginReceiver {
 
 	/**
 	 * Admin Commands.
-	 * Allowing shortcut admin commands to add / remove commands from whitelists.
+	 * Allowing shortcut admin commands to add / remove commands from whitelists,
+	 * and to export / import the times to move them between databases.
 	 *
 	 * @param commandSender command sender
 	 * @param command command
@@ -299,12 +326,40 @@ public class AdministrationManager extends AbstractPluginReceiver {
 				enableParkourCommand(commandSender, StringUtils.extractMessageFromArgs(args, 2));
 				break;
 
+			case "export":
+				if (!isTimesTransfer(commandSender, argument)) {
+					return;
+				}
+				parkour.getDatabaseManager().getTimeDataTransfer().exportTimes(commandSender,
+						args != null && args.length > 3 ? args[3] : null);
+				break;
+
+			case "import":
+				if (!isTimesTransfer(commandSender, argument)) {
+					return;
+				}
+				parkour.getDatabaseManager().getTimeDataTransfer().importTimes(commandSender,
+						args != null && args.length > 3 ? args[3] : null);
+				break;
+
 			default:
 				parkour.getParkourCommands().sendInvalidSyntax(commandSender, "admin");
 				break;
 		}
 	}
 
+	private boolean isTimesTransfer(CommandSender commandSender, String argument) {
+		if (!"times".equalsIgnoreCase(argument)) {
+			parkour.getParkourCommands().sendInvalidSyntax(commandSender, "admin");
+			return false;
+		}
+		if (parkour.getDatabaseManager().getTimeDataTransfer() == null) {
+			TranslationUtils.sendMessage(commandSender, "Times can not be transferred while they are only held in memory.");
+			return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Display the Contents of a Reference Data List.
 	 * Possible selections include: players, courses, ranks, lobbies
@@ -556,11 +611,6 @@ public class AdministrationManager extends AbstractPluginReceiver {
 			return false;
 		}
 
-		if (parkour.getDatabaseManager().getNthBestTime(courseName, Integer.parseInt(rowNumber)) == null) {
-			TranslationUtils.sendMessage(commandSender, "The matching leaderboard row couldn't be found.");
-			return false;
-		}
-
 		return true;
 	}
 }
@@ -397,6 +397,7 @@ public class ChallengeManager extends AbstractPluginReceiver {
                             ParkourSession session = parkour.getParkourSessionManager().getParkourSession(participant);
                             session.resetProgress();
                             session.setStartTimer(true);
+                            parkour.getParkourSessionManager().journalSession(participant, session);
                             TranslationUtils.sendTranslation("Parkour.Go", participant);
                         }
                     }
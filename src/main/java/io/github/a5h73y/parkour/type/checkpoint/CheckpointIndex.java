@@ -0,0 +1,94 @@
+package io.github.a5h73y.parkour.type.checkpoint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable index of the Checkpoint pressure plate positions of a Course.
+ * Each block position is packed into a single long, mapped to the numbers of the Checkpoints at that position,
+ * so the Checkpoint achieved is found with a single lookup rather than comparing every Checkpoint.
+ * The positions are held in an open addressing table of primitive longs, so a lookup doesn't box the position.
+ * Positions are packed using 26 bits for X and Z, and 12 bits for Y, which covers the entire world.
+ */
+public final class CheckpointIndex {
+
+    private static final int[] NO_CHECKPOINTS = new int[0];
+
+    private final long[] positions;
+    private final int[][] checkpoints;
+    private final int mask;
+
+    /**
+     * Index the positions of the Checkpoints.
+     *
+     * @param courseCheckpoints checkpoints of the course, in order
+     */
+    public CheckpointIndex(@NotNull List<Checkpoint> courseCheckpoints) {
+        Map<Long, List<Integer>> checkpointPositions = new LinkedHashMap<>();
+        for (int i = 0; i < courseCheckpoints.size(); i++) {
+            Checkpoint checkpoint = courseCheckpoints.get(i);
+            double x = checkpoint.getCheckpointX();
+            double y = checkpoint.getCheckpointY();
+            double z = checkpoint.getCheckpointZ();
+
+            // only block coordinates can be matched
+            if (x == Math.floor(x) && y == Math.floor(y) && z == Math.floor(z)) {
+                checkpointPositions.computeIfAbsent(pack((int) x, (int) y, (int) z), position -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, checkpointPositions.size()) * 2 - 1) << 1;
+        this.positions = new long[capacity];
+        this.checkpoints = new int[capacity][];
+        this.mask = capacity - 1;
+
+        checkpointPositions.forEach((position, checkpointNumbers) -> {
+            int slot = findSlot(position);
+            positions[slot] = position;
+            checkpoints[slot] = checkpointNumbers.stream().mapToInt(Integer::intValue).toArray();
+        });
+    }
+
+    /**
+     * Find the Checkpoints at the block position.
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return numbers of the checkpoints in ascending order, empty if there are none
+     */
+    @NotNull
+    public int[] getCheckpoints(int x, int y, int z) {
+        int[] results = checkpoints[findSlot(pack(x, y, z))];
+        return results != null ? results : NO_CHECKPOINTS;
+    }
+
+    /**
+     * Pack the block position into a single long.
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private int findSlot(long position) {
+        int slot = hash(position) & mask;
+        while (checkpoints[slot] != null && positions[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long position) {
+        long hash = position * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
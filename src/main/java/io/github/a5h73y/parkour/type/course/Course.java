@@ -5,6 +5,7 @@ import static io.github.a5h73y.parkour.configuration.serializable.ParkourSeriali
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.other.ParkourConstants;
 import io.github.a5h73y.parkour.type.checkpoint.Checkpoint;
+import io.github.a5h73y.parkour.type.checkpoint.CheckpointIndex;
 import io.github.a5h73y.parkour.type.kit.ParkourKit;
 import io.github.a5h73y.parkour.type.player.ParkourMode;
 import io.github.a5h73y.parkour.utility.StringUtils;
@@ -32,6 +33,8 @@ public class Course implements Serializable {
     private final ParkourMode parkourMode;
     private final CourseSettings settings;
 
+    private transient CheckpointIndex checkpointIndex;
+
     /**
      * Construct a Course from the details.
      * Max time and deaths will be determined from config.
@@ -83,6 +86,29 @@ public class Course implements Serializable {
         return checkpoints;
     }
 
+    /**
+     * Index the pressure plate positions of the Course's Checkpoints.
+     * Done once the Course is cached, otherwise when a Checkpoint is first found.
+     */
+    public void indexCheckpoints() {
+        checkpointIndex = new CheckpointIndex(checkpoints);
+    }
+
+    /**
+     * Find the Checkpoints with a pressure plate at the block position.
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return numbers of the checkpoints in ascending order, empty if there are none
+     */
+    public int[] findCheckpoints(int x, int y, int z) {
+        if (checkpointIndex == null) {
+            indexCheckpoints();
+        }
+        return checkpointIndex.getCheckpoints(x, y, z);
+    }
+
     /**
      * Get the {@link ParkourKit} for the Course.
      * @return parkour kit
@@ -5,10 +5,13 @@ import static io.github.a5h73y.parkour.other.ParkourConstants.ERROR_NO_EXIST;
 
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.conversation.LeaderboardConversation;
+import io.github.a5h73y.parkour.database.DatabaseManager;
+import io.github.a5h73y.parkour.database.LeaderboardPeriod;
 import io.github.a5h73y.parkour.database.TimeEntry;
 import io.github.a5h73y.parkour.event.ParkourResetCourseEvent;
 import io.github.a5h73y.parkour.event.ParkourResetLeaderboardEvent;
 import io.github.a5h73y.parkour.gui.impl.CourseSettingsGui;
+import io.github.a5h73y.parkour.gui.impl.LeaderboardGui;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
 import io.github.a5h73y.parkour.type.player.PlayerConfig;
 import io.github.a5h73y.parkour.type.player.session.ParkourSession;
@@ -23,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -37,6 +41,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public class CourseManager extends AbstractPluginReceiver {
 
+    private static final int LEADERBOARD_PAGE_SIZE = 10;
+
     // all known course names, regardless of ready status
     private final List<String> courseNames = new ArrayList<>();
     // cached Course data, populated with checkpoints etc.
@@ -113,6 +119,7 @@ public class CourseManager extends AbstractPluginReceiver {
 
             // if the course is ready, cache it.
             if (config.getReadyStatus()) {
+                course.indexCheckpoints();
                 courseCache.put(courseName, course);
             }
         } catch (Exception ex) {
@@ -297,19 +304,19 @@ public class CourseManager extends AbstractPluginReceiver {
             return;
         }
 
-        TimeEntry result = parkour.getDatabaseManager().getNthBestTime(courseName, rowNumber);
-
-        if (result == null) {
-            TranslationUtils.sendMessage(commandSender, "The matching leaderboard row couldn't be found.");
-            return;
-        }
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+        databaseManager.acceptOnMainThread(databaseManager.getNthBestTimeAsync(courseName, rowNumber), result -> {
+            if (result == null) {
+                TranslationUtils.sendMessage(commandSender, "The matching leaderboard row couldn't be found.");
+                return;
+            }
 
-        parkour.getDatabaseManager().deletePlayerCourseTimes(
-                PlayerUtils.findDatabasePlayer(result.getPlayerId()), courseName);
-        parkour.getPlaceholderApi().clearCache();
-        TranslationUtils.sendValueTranslation("Parkour.Delete",  "Leaderboard row " + rowNumber, commandSender);
-        PluginUtils.logToFile("Leaderboard row " + rowNumber + " was deleted by " + commandSender.getName());
-        Bukkit.getServer().getPluginManager().callEvent(new ParkourResetLeaderboardEvent(null, courseName));
+            databaseManager.deletePlayerCourseTimes(PlayerUtils.findDatabasePlayer(result.getPlayerId()), courseName);
+            parkour.getPlaceholderApi().clearCache();
+            TranslationUtils.sendValueTranslation("Parkour.Delete",  "Leaderboard row " + rowNumber, commandSender);
+            PluginUtils.logToFile("Leaderboard row " + rowNumber + " was deleted by " + commandSender.getName());
+            Bukkit.getServer().getPluginManager().callEvent(new ParkourResetLeaderboardEvent(null, courseName));
+        });
     }
 
     /**
@@ -402,15 +409,36 @@ public class CourseManager extends AbstractPluginReceiver {
             return;
         }
 
+        if (args.length >= 3 && (args[2].equalsIgnoreCase("page") || args[2].equalsIgnoreCase("gui"))) {
+            int page = 1;
+            if (args.length >= 4) {
+                if (!ValidationUtils.isPositiveInteger(args[3])) {
+                    TranslationUtils.sendTranslation(ERROR_INVALID_AMOUNT, player);
+                    return;
+                }
+                page = Integer.parseInt(args[3]);
+            }
+
+            if (args[2].equalsIgnoreCase("gui")) {
+                displayLeaderboardGui(player, args[1], page);
+            } else {
+                displayLeaderboardPage(player, args[1], page);
+            }
+            return;
+        }
+
         int limit = 5;
         boolean personal = false;
+        LeaderboardPeriod period = null;
 
         if (args.length >= 4) {
             String choice = args[3].toLowerCase();
+            period = LeaderboardPeriod.fromKey(choice);
             if (choice.equals("personal") || choice.equals("local") || choice.equals("mine")) {
                 personal = true;
-            } else if (!choice.equals("global")) {
-                TranslationUtils.sendMessage(player, "Unknown leaderboard scope, for your results use 'local'.");
+            } else if (period == null && !choice.equals("global")) {
+                TranslationUtils.sendMessage(player, "Unknown leaderboard scope, for your results use 'local'. "
+                        + "For recent results use 'daily', 'weekly' or 'monthly'.");
             }
         }
 
@@ -422,13 +450,65 @@ public class CourseManager extends AbstractPluginReceiver {
             limit = Integer.parseInt(args[2]);
         }
 
-        List<TimeEntry> results;
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+        CompletableFuture<List<TimeEntry>> results;
+
         if (personal) {
-            results = parkour.getDatabaseManager().getTopPlayerCourseResults(player, args[1], limit);
+            results = databaseManager.getTopPlayerCourseResultsAsync(player, args[1], limit);
+        } else if (period != null) {
+            results = databaseManager.getTopPeriodResultsAsync(args[1], period, limit);
         } else {
-            results = parkour.getDatabaseManager().getTopCourseResults(args[1], limit);
+            results = databaseManager.getTopCourseResultsAsync(args[1], limit);
         }
-        parkour.getDatabaseManager().displayTimeEntries(player, args[1], results);
+
+        String heading = period != null ? args[1] + " (" + period.getDisplayName() + ")" : args[1];
+        databaseManager.acceptOnMainThread(results, timeEntries -> {
+            if (player.isOnline()) {
+                databaseManager.displayTimeEntries(player, heading, timeEntries);
+            }
+        });
+    }
+
+    /**
+     * Display a page of the Course Leaderboard in the Player's chat.
+     *
+     * @param player requesting player
+     * @param courseName course name
+     * @param page page number (starting at 1)
+     */
+    public void displayLeaderboardPage(final Player player, final String courseName, final int page) {
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+        String heading = courseName + " (Page " + page + ")";
+
+        databaseManager.acceptOnMainThread(
+                databaseManager.getCourseResultsPageAsync(courseName, page, LEADERBOARD_PAGE_SIZE), timeEntries -> {
+            if (player.isOnline()) {
+                databaseManager.displayTimeEntries(player, heading, timeEntries, (page - 1) * LEADERBOARD_PAGE_SIZE + 1);
+            }
+        });
+    }
+
+    /**
+     * Open a page of the Course Leaderboard in the {@link LeaderboardGui} Inventory to the Player.
+     *
+     * @param player requesting player
+     * @param courseName course name
+     * @param page page number (starting at 1)
+     */
+    public void displayLeaderboardGui(final Player player, final String courseName, final int page) {
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+
+        databaseManager.acceptOnMainThread(
+                databaseManager.getCourseResultsPageAsync(courseName, page, LeaderboardGui.PAGE_SIZE), timeEntries -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (timeEntries.isEmpty()) {
+                TranslationUtils.sendMessage(player, "No results were found!");
+                return;
+            }
+            parkour.getGuiManager().showMenu(player, new LeaderboardGui(courseName, page, timeEntries));
+        });
     }
 
     /**
@@ -1,20 +1,36 @@
 package io.github.a5h73y.parkour.type.player;
 
 import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
+import io.github.a5h73y.parkour.utility.PluginUtils;
 import io.github.a5h73y.parkour.utility.TranslationUtils;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import de.leonhard.storage.Json;
 import de.leonhard.storage.internal.FileType;
+import de.leonhard.storage.internal.serialize.SimplixSerializer;
+import de.leonhard.storage.internal.settings.ReloadSettings;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
 
 /**
  * Player Information Utility class.
  * Convenience methods for accessing the player configuration file.
+ * Changes made through the setters are held in memory and marked as modified,
+ * the {@link io.github.a5h73y.parkour.configuration.ConfigManager} periodically saves the modified configs.
+ * When the {@link PlayerDataStore} is used, the data is loaded from and saved to the store instead of the file.
  */
 public class PlayerConfig extends Json {
 
@@ -36,32 +52,73 @@ public class PlayerConfig extends Json {
     public static final String SNAPSHOT = "Snapshot.";
     public static final String SESSION = "Session.";
 
+    private final AtomicBoolean modified = new AtomicBoolean();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final Object writeLock = new Object();
+    private final PlayerDataStore playerDataStore;
+    private final String playerKey;
+    private boolean discarded;
 
+    /**
+     * Construct the Player's config from the file.
+     * The file is never reloaded automatically, as it would discard the changes waiting to be saved.
+     *
+     * @param playerFile player's json file
+     */
     public PlayerConfig(File playerFile) {
-        super(playerFile);
+        this(playerFile, null, null);
+    }
+
+    private PlayerConfig(File playerFile, @Nullable PlayerDataStore playerDataStore, @Nullable String playerKey) {
+        super(playerFile.getName(), playerFile.getParent(), null, ReloadSettings.MANUALLY);
+        this.playerDataStore = playerDataStore;
+        this.playerKey = playerKey;
     }
 
+    /**
+     * Check if the Player has any Parkour data.
+     *
+     * @param player player
+     * @return player has data
+     */
     public static boolean hasPlayerConfig(OfflinePlayer player) {
-        return getPlayerJsonFile(player).exists();
+        PlayerDataStore playerDataStore = Parkour.getInstance().getConfigManager().getPlayerDataStore();
+        if (playerDataStore == null) {
+            return getPlayerJsonFile(player).exists();
+        }
+
+        PlayerConfig cachedConfig = Parkour.getInstance().getConfigManager().getPlayerConfigCache()
+                .getIfPresent(player.getUniqueId());
+        return (cachedConfig != null && cachedConfig.isModified())
+                || playerDataStore.hasPlayerData(getPlayerKey(player));
     }
 
     /**
      * Will create a new instance of the Player's json config.
-     * Note that this may introduce dataloss of different instances exist,
-     * Cached values from {@link io.github.a5h73y.parkour.configuration.ConfigManager} is recommended.
+     * Note that this will introduce dataloss if different instances exist, as changes are saved periodically.
+     * Cached values from {@link io.github.a5h73y.parkour.configuration.ConfigManager} should be used instead.
      *
      * @param player player
      * @return PlayerConfig instance
      */
     @NotNull
     public static PlayerConfig getConfig(OfflinePlayer player) {
-        return new PlayerConfig(getPlayerJsonFile(player));
+        PlayerDataStore playerDataStore = Parkour.getInstance().getConfigManager().getPlayerDataStore();
+        return playerDataStore == null ? new PlayerConfig(getPlayerJsonFile(player))
+                : loadFromStore(player, playerDataStore);
     }
 
     /**
      * Delete Player's Parkour data.
+     * The Player's cached config must be discarded through {@link #discard()} instead.
      */
     public static void deletePlayerData(OfflinePlayer player) {
+        PlayerDataStore playerDataStore = Parkour.getInstance().getConfigManager().getPlayerDataStore();
+        if (playerDataStore != null) {
+            playerDataStore.deletePlayerData(getPlayerKey(player));
+            return;
+        }
+
         File playerConfig = getPlayerJsonFile(player);
 
         if (playerConfig.exists()) {
@@ -69,6 +126,27 @@ public class PlayerConfig extends Json {
         }
     }
 
+    /**
+     * Load the Player's config from the store.
+     * A file is created by the underlying config, which is removed once the data has been loaded from the store.
+     * If the Player's file wasn't migrated, its data is kept and saved to the store instead.
+     */
+    private static PlayerConfig loadFromStore(OfflinePlayer player, PlayerDataStore playerDataStore) {
+        File playerFile = getPlayerJsonFile(player);
+        boolean fileExists = playerFile.exists();
+        PlayerConfig playerConfig = new PlayerConfig(playerFile, playerDataStore, getPlayerKey(player));
+
+        String data = playerDataStore.loadPlayerData(playerConfig.playerKey);
+        if (data != null) {
+            playerConfig.getFileData().loadData(new JSONObject(data).toMap());
+        } else if (fileExists) {
+            playerConfig.modified.set(true);
+        }
+
+        playerFile.delete();
+        return playerConfig;
+    }
+
     /**
      * Get the Player's last played Course.
      * The course they most recently joined, but may not have finished.
@@ -86,7 +164,7 @@ public class PlayerConfig extends Json {
      * @param courseName course name last played
      */
     public void setLastPlayedCourse(String courseName) {
-        this.set(LAST_PLAYED, courseName.toLowerCase());
+        setValue(LAST_PLAYED, courseName.toLowerCase());
     }
 
     /**
@@ -105,7 +183,7 @@ public class PlayerConfig extends Json {
      * @param courseName course name last completed
      */
     public void setLastCompletedCourse(String courseName) {
-        this.set(LAST_COMPLETED, courseName.toLowerCase());
+        setValue(LAST_COMPLETED, courseName.toLowerCase());
     }
 
     /**
@@ -132,7 +210,7 @@ public class PlayerConfig extends Json {
      * @param level new parkour level value
      */
     public void setParkourLevel(int level) {
-        this.set(PARKOUR_LEVEL, level);
+        setValue(PARKOUR_LEVEL, level);
     }
 
     /**
@@ -152,7 +230,7 @@ public class PlayerConfig extends Json {
      * @param parkourRank parkour rank value
      */
     public void setParkourRank(String parkourRank) {
-        this.set(PARKOUR_RANK, parkourRank);
+        setValue(PARKOUR_RANK, parkourRank);
     }
 
     /**
@@ -173,7 +251,7 @@ public class PlayerConfig extends Json {
      * @param rewardTime time of reward given
      */
     public void setLastRewardedTime(String courseName, long rewardTime) {
-        this.set(LAST_REWARDED + courseName.toLowerCase(), rewardTime);
+        setValue(LAST_REWARDED + courseName.toLowerCase(), rewardTime);
     }
 
     /**
@@ -185,12 +263,12 @@ public class PlayerConfig extends Json {
      */
     public void setPlayerDataSnapshot(Player player) {
         if (!hasPlayerDataSnapshot()) {
-            this.setSerializable(SNAPSHOT + INVENTORY, player.getInventory().getContents());
-            this.setSerializable(SNAPSHOT + ARMOR, player.getInventory().getArmorContents());
-            this.set(SNAPSHOT + HEALTH, player.getHealth());
-            this.set(SNAPSHOT + HUNGER, player.getFoodLevel());
-            this.set(SNAPSHOT + XP_LEVEL, player.getLevel());
-            this.set(SNAPSHOT + GAMEMODE, player.getGameMode().name());
+            setSerializableValue(SNAPSHOT + INVENTORY, player.getInventory().getContents());
+            setSerializableValue(SNAPSHOT + ARMOR, player.getInventory().getArmorContents());
+            setValue(SNAPSHOT + HEALTH, player.getHealth());
+            setValue(SNAPSHOT + HUNGER, player.getFoodLevel());
+            setValue(SNAPSHOT + XP_LEVEL, player.getLevel());
+            setValue(SNAPSHOT + GAMEMODE, player.getGameMode().name());
 
             if (!hasSnapshotJoinLocation()) {
                 setPlayerJoinLocation(player);
@@ -200,7 +278,7 @@ public class PlayerConfig extends Json {
 
     public void setSnapshotStartParkourInventory(Player player) {
         if (!this.contains(SNAPSHOT + START_PARKOUR_INVENTORY)) {
-            this.setSerializable(SNAPSHOT + START_PARKOUR_INVENTORY, player.getInventory().getContents());
+            setSerializableValue(SNAPSHOT + START_PARKOUR_INVENTORY, player.getInventory().getContents());
         }
     }
 
@@ -216,7 +294,7 @@ public class PlayerConfig extends Json {
      * Reset the Player's Snapshot data.
      */
     public void resetPlayerDataSnapshot() {
-        this.remove(SNAPSHOT);
+        removeValue(SNAPSHOT);
     }
 
     /**
@@ -262,14 +340,14 @@ public class PlayerConfig extends Json {
      * @param player player
      */
     public void setPlayerJoinLocation(Player player) {
-        this.setSerializable(JOIN_LOCATION, player.getLocation());
+        setSerializableValue(JOIN_LOCATION, player.getLocation());
     }
 
     /**
      * Reset the Player's Join Location.
      */
     public void resetSessionJoinLocation() {
-        this.remove(JOIN_LOCATION);
+        removeValue(JOIN_LOCATION);
     }
 
     /**
@@ -333,7 +411,7 @@ public class PlayerConfig extends Json {
      * @param amount amount to set
      */
     public void setParkoins(double amount) {
-        this.set(PARKOINS, amount);
+        setValue(PARKOINS, amount);
     }
 
     /**
@@ -359,18 +437,135 @@ public class PlayerConfig extends Json {
      * @param courseName course name
      */
     public void setExistingSessionCourseName(String courseName) {
-        this.set(EXISTING_SESSION_COURSE_NAME, courseName);
+        setValue(EXISTING_SESSION_COURSE_NAME, courseName);
     }
 
     public void removeExistingSessionCourseName() {
-        this.remove(EXISTING_SESSION_COURSE_NAME);
+        removeValue(EXISTING_SESSION_COURSE_NAME);
     }
 
     /**
      * Session Data is any random data to associate with the Player's current Parkour session.
      */
     public void resetSessionData() {
-        this.remove(SESSION);
+        removeValue(SESSION);
+    }
+
+    /**
+     * Set a value of the Session Data.
+     *
+     * @param key session data key
+     * @param value value
+     */
+    public void setSessionData(String key, Object value) {
+        setValue(SESSION + key, value);
+    }
+
+    public boolean isModified() {
+        return modified.get();
+    }
+
+    /**
+     * Check if the Player's file matches the data held in memory.
+     * The config can only be discarded from memory once saved, otherwise changes would be lost.
+     *
+     * @return player data has been modified or is waiting to be written
+     */
+    public boolean isSaved() {
+        return !modified.get() && pendingWrites.get() == 0;
+    }
+
+    /**
+     * Create a snapshot of the Player's data, if it has been modified since it was last saved.
+     * Must be called from the main thread, as it is the only thread to modify the data.
+     *
+     * @return player data json, or null if there are no changes to save
+     */
+    @Nullable
+    public String createSnapshot() {
+        if (!modified.getAndSet(false)) {
+            return null;
+        }
+        pendingWrites.incrementAndGet();
+        JSONObject data = this.getFileData().toJsonObject();
+        return playerDataStore == null ? data.toString(3) : data.toString();
+    }
+
+    /**
+     * Write the snapshot to the Player's file, or to the store to be written when next flushed.
+     * The snapshot is written to a separate file which then replaces the Player's file,
+     * so the Player's file is never left partially written.
+     * If the snapshot couldn't be written, the data will be saved again with the next snapshot.
+     *
+     * @param snapshot player data json
+     */
+    public void writeSnapshot(@NotNull String snapshot) {
+        try {
+            persistSnapshot(snapshot);
+        } finally {
+            pendingWrites.decrementAndGet();
+        }
+    }
+
+    private void persistSnapshot(String snapshot) {
+        synchronized (writeLock) {
+            if (discarded) {
+                return;
+            }
+
+            if (playerDataStore != null) {
+                playerDataStore.savePlayerData(playerKey, snapshot);
+                return;
+            }
+
+            Path path = this.getFile().toPath();
+            Path partPath = path.resolveSibling(path.getFileName() + ".part");
+            try {
+                Files.write(partPath, snapshot.getBytes(StandardCharsets.UTF_8));
+                try {
+                    Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                modified.set(true);
+                PluginUtils.log("Unable to save player data " + path.getFileName() + ": " + e.getMessage(), 2);
+            }
+        }
+    }
+
+    /**
+     * Discard the Player's data.
+     * Any changes waiting to be saved are dropped, and the Player's file or stored data is deleted.
+     */
+    public void discard() {
+        synchronized (writeLock) {
+            discarded = true;
+            modified.set(false);
+            if (playerDataStore != null) {
+                playerDataStore.deletePlayerData(playerKey);
+            } else {
+                this.getFile().delete();
+            }
+        }
+    }
+
+    private void setValue(String key, Object value) {
+        this.getFileData().insert(key, value);
+        modified.set(true);
+    }
+
+    private void setSerializableValue(String key, Object value) {
+        setValue(key, SimplixSerializer.serialize(value));
+    }
+
+    private void removeValue(String key) {
+        this.getFileData().remove(key);
+        modified.set(true);
+    }
+
+    private static String getPlayerKey(OfflinePlayer player) {
+        return Parkour.getDefaultConfig().getPlayerConfigName(player);
     }
 
     private static String getPlayerJsonPath(OfflinePlayer player) {
@@ -36,6 +36,7 @@ import com.cryptomorin.xseries.XPotion;
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.commands.CommandProcessor;
 import io.github.a5h73y.parkour.conversation.SetPlayerConversation;
+import io.github.a5h73y.parkour.database.DatabaseManager;
 import io.github.a5h73y.parkour.event.ParkourCheckpointEvent;
 import io.github.a5h73y.parkour.event.ParkourDeathEvent;
 import io.github.a5h73y.parkour.event.ParkourFinishEvent;
@@ -50,6 +51,7 @@ import io.github.a5h73y.parkour.other.ParkourConstants;
 import io.github.a5h73y.parkour.other.TriConsumer;
 import io.github.a5h73y.parkour.plugin.BountifulApi;
 import io.github.a5h73y.parkour.type.Initializable;
+import io.github.a5h73y.parkour.type.Teardownable;
 import io.github.a5h73y.parkour.type.challenge.Challenge;
 import io.github.a5h73y.parkour.type.checkpoint.Checkpoint;
 import io.github.a5h73y.parkour.type.course.Course;
@@ -86,7 +88,7 @@ import org.jetbrains.annotations.Nullable;
  * Parkour Player Manager.
  * Does not use a public cache, as the player's ParkourSession state is managed here only.
  */
-public class PlayerManager extends AbstractPluginReceiver implements Initializable, CommandProcessor {
+public class PlayerManager extends AbstractPluginReceiver implements Initializable, Teardownable, CommandProcessor {
 
 	// player actions to set data
 	private final Map<String, TriConsumer<CommandSender, OfflinePlayer, String>> playerActions = new HashMap<>();
@@ -108,6 +110,16 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 	@Override
 	public void initialize() {
 		startLiveTimerRunnable();
+		startPlayerDataSaveRunnable();
+	}
+
+	/**
+	 * Save the modified data of each Player.
+	 * Parkour Sessions are saved first, so the Player's existing session is included.
+	 */
+	@Override
+	public void teardown() {
+		parkour.getConfigManager().flushPlayerConfigs();
 	}
 
 	public Set<String> getSetPlayerActions() {
@@ -161,6 +173,8 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		PlayerConfig playerConfig = parkour.getConfigManager().getPlayerConfig(player);
 		playerConfig.setPlayerDataSnapshot(player);
 		playerConfig.setLastPlayedCourse(course.getName());
+		// the inventory is about to be cleared, so the snapshot must be saved straight away
+		parkour.getConfigManager().savePlayerConfig(player);
 
 		if (parkour.getParkourConfig().getBoolean("OnJoin.TeleportPlayer")) {
 			PlayerUtils.teleportToLocation(player, course.getCheckpoints().get(0).getLocation());
@@ -204,6 +218,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 
 		parkour.getSoundsManager().playSound(player, SoundType.JOIN_COURSE);
 		parkour.getConfigManager().getCourseConfig(course.getName()).incrementViews();
+		parkour.getDatabaseManager().getCourseStatistics().recordAttempt(course.getName());
 		Bukkit.getServer().getPluginManager().callEvent(new ParkourJoinEvent(player, course.getName(), silent));
 	}
 
@@ -367,6 +382,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		} else {
 			session.setCurrentCheckpoint(desiredCheckpoint);
 		}
+		parkour.getParkourSessionManager().journalCheckpoint(player, session);
 		parkour.getCourseManager().runEventCommands(player, session, CHECKPOINT);
 		parkour.getCourseManager().runEventCommands(player, session, "Checkpoint" + session.getCurrentCheckpoint());
 
@@ -413,6 +429,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		ParkourSession session = parkour.getParkourSessionManager().getParkourSession(player);
 		parkour.getSoundsManager().playSound(player, SoundType.PLAYER_DEATH);
 		session.increaseDeath();
+		parkour.getParkourSessionManager().journalDeath(player, session);
 
 		if (session.getCourse().getSettings().hasMaxDeaths()) {
 			if (session.getCourse().getSettings().getMaxDeaths() > session.getDeaths()) {
@@ -614,6 +631,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		if (session != null) {
 			session.resetProgress();
 			session.setFreedomLocation(null);
+			parkour.getParkourSessionManager().journalSession(player, session);
 			preparePlayerForCourse(player, session.getCourse().getName());
 			PlayerUtils.teleportToLocation(player, session.getCheckpoint().getLocation());
 			parkour.getScoreboardManager().addScoreboard(player, session);
@@ -632,6 +650,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		if (session != null) {
 			session.resetProgress();
 			session.setFreedomLocation(null);
+			parkour.getParkourSessionManager().journalSession(player, session);
 			fireRestartEvent(player, session);
 		}
 	}
@@ -737,12 +756,14 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 	}
 
 	private void submitPlayerLeaderboard(Player player, ParkourSession session) {
-		TimeResult timeResult = calculateTimeResult(player, session);
-
-		parkour.getDatabaseManager().insertOrUpdateTime(session.getCourseName(), player, session.getTimeFinished(),
-				session.getDeaths(), timeResult != TimeResult.NONE);
+		DatabaseManager databaseManager = parkour.getDatabaseManager();
+		databaseManager.acceptOnMainThread(databaseManager.insertOrUpdateTime(session.getCourseName(), player,
+						session.getTimeFinished(), session.getDeaths()),
+				timeResult -> announceTimeResult(player, session, timeResult));
+	}
 
-		if (timeResult != TimeResult.NONE) {
+	private void announceTimeResult(Player player, ParkourSession session, TimeResult timeResult) {
+		if (timeResult != TimeResult.NONE && player.isOnline()) {
 			ParkourEventType eventType = timeResult == TimeResult.GLOBAL_BEST
 					? GLOBAL_COURSE_RECORD : PLAYER_COURSE_RECORD;
 			String fallbackKey = timeResult == TimeResult.GLOBAL_BEST ? "Parkour.CourseRecord" : "Parkour.BestTime";
@@ -957,7 +978,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 			return;
 		}
 
-		PlayerConfig playerConfig = PlayerConfig.getConfig(targetPlayer);
+		PlayerConfig playerConfig = parkour.getConfigManager().getPlayerConfig(targetPlayer);
 		ParkourSession session = parkour.getParkourSessionManager().getParkourSession(targetPlayer.getPlayer());
 		TranslationUtils.sendHeading(targetPlayer.getName() + "'s information", commandSender);
 
@@ -1002,7 +1023,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 			return;
 		}
 
-		PlayerConfig playerConfig = PlayerConfig.getConfig(targetPlayer);
+		PlayerConfig playerConfig = parkour.getConfigManager().getPlayerConfig(targetPlayer);
 		int newLevel = Integer.parseInt(value);
 		if (addition) {
 			newLevel += playerConfig.getParkourLevel();
@@ -1034,7 +1055,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 			return;
 		}
 
-		PlayerConfig.getConfig(targetPlayer).setParkourRank(value);
+		parkour.getConfigManager().getPlayerConfig(targetPlayer).setParkourRank(value);
 		TranslationUtils.sendMessage(commandSender, targetPlayer.getName() + "'s ParkourRank was set to " + value);
 	}
 
@@ -1106,7 +1127,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 	 * @param targetPlayer target player
 	 */
 	public void resetPlayer(OfflinePlayer targetPlayer) {
-		PlayerConfig.deletePlayerData(targetPlayer);
+		parkour.getConfigManager().deletePlayerConfig(targetPlayer);
 		parkour.getConfigManager().getCourseCompletionsConfig().removePlayer(targetPlayer);
 		parkour.getParkourSessionManager().deleteParkourSessions(targetPlayer);
 		parkour.getDatabaseManager().deletePlayerTimes(targetPlayer);
@@ -1200,6 +1221,7 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 		if (parkour.getParkourConfig().isTreatFirstCheckpointAsStart() && session.getFreedomLocation() == null) {
 			session.resetTime();
 			session.setStartTimer(true);
+			parkour.getParkourSessionManager().journalSession(player, session);
 			parkour.getBountifulApi().sendActionBar(player,
 					TranslationUtils.getTranslation("Parkour.TimerStarted", false));
 		}
@@ -1402,28 +1424,15 @@ public class PlayerManager extends AbstractPluginReceiver implements Initializab
 	}
 
 	/**
-	 * Check whether the player's time is a new course or personal record.
-	 *
-	 * @param player player
-	 * @param session parkour session
+	 * Periodically save the modified Player data, then evict the offline Players no longer needed.
+	 * The data is captured on the main thread, and written asynchronously.
 	 */
-	private TimeResult calculateTimeResult(Player player, ParkourSession session) {
-		TimeResult result = TimeResult.NONE;
-
-		// if they aren't updating the row, it will be inserted whether it's their best time
-		if (parkour.getParkourConfig().getBoolean("OnFinish.DisplayNewRecords")
-				|| parkour.getParkourConfig().getBoolean("OnFinish.UpdatePlayerDatabaseTime")) {
-
-			if (parkour.getDatabaseManager().isBestCourseTime(session.getCourse().getName(),
-					session.getTimeFinished())) {
-				result = TimeResult.GLOBAL_BEST;
-
-			} else if (parkour.getDatabaseManager().isBestCourseTime(player,
-					session.getCourse().getName(), session.getTimeFinished())) {
-				result = TimeResult.PLAYER_BEST;
-			}
-		}
-		return result;
+	private void startPlayerDataSaveRunnable() {
+		long intervalTicks = Math.max(1, parkour.getParkourConfig().getInt("Other.PlayerData.SaveIntervalSeconds")) * 20L;
+		Bukkit.getScheduler().runTaskTimer(parkour, () -> {
+			parkour.getConfigManager().savePlayerConfigs();
+			parkour.getConfigManager().evictPlayerConfigs();
+		}, intervalTicks, intervalTicks);
 	}
 
 	/**
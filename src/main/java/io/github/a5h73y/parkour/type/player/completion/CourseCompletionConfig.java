@@ -2,14 +2,25 @@ package io.github.a5h73y.parkour.type.player.completion;
 
 import de.leonhard.storage.Yaml;
 import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
 import java.io.File;
 import java.util.List;
 import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
 
 public class CourseCompletionConfig extends Yaml {
 
-    public CourseCompletionConfig(File file) {
+    private final PlayerDataStore playerDataStore;
+
+    /**
+     * Construct the Course Completion config.
+     *
+     * @param file course completions file
+     * @param playerDataStore player data store, or null if the file is used
+     */
+    public CourseCompletionConfig(File file, @Nullable PlayerDataStore playerDataStore) {
         super(file);
+        this.playerDataStore = playerDataStore;
     }
 
     /**
@@ -25,7 +36,9 @@ public class CourseCompletionConfig extends Yaml {
      * @return completed course names
      */
     public List<String> getCompletedCourses(OfflinePlayer player) {
-        return this.getStringList(Parkour.getDefaultConfig().getPlayerConfigName(player));
+        String playerKey = Parkour.getDefaultConfig().getPlayerConfigName(player);
+        return playerDataStore != null ? playerDataStore.getCompletedCourses(playerKey)
+                : this.getStringList(playerKey);
     }
 
     public boolean hasCompletedCourse(OfflinePlayer player, String name) {
@@ -37,6 +50,11 @@ public class CourseCompletionConfig extends Yaml {
      * @param courseName completed course name
      */
     public void addCompletedCourse(OfflinePlayer player, String courseName) {
+        if (playerDataStore != null) {
+            playerDataStore.addCompletedCourse(Parkour.getDefaultConfig().getPlayerConfigName(player), courseName);
+            return;
+        }
+
         List<String> completedCourses = getCompletedCourses(player);
 
         if (!completedCourses.contains(courseName)) {
@@ -51,6 +69,11 @@ public class CourseCompletionConfig extends Yaml {
      * @param courseName course name
      */
     public void removeCompletedCourse(String courseName) {
+        if (playerDataStore != null) {
+            playerDataStore.removeCompletedCourse(courseName);
+            return;
+        }
+
         for (String playerKey : this.singleLayerKeySet()) {
             List<String> completedCourses = this.getStringList(playerKey);
 
@@ -66,6 +89,11 @@ public class CourseCompletionConfig extends Yaml {
      * @param targetPlayer target player
      */
     public void removePlayer(OfflinePlayer targetPlayer) {
-        this.remove(Parkour.getDefaultConfig().getPlayerConfigName(targetPlayer));
+        String playerKey = Parkour.getDefaultConfig().getPlayerConfigName(targetPlayer);
+        if (playerDataStore != null) {
+            playerDataStore.removeCompletedCourses(playerKey);
+        } else {
+            this.remove(playerKey);
+        }
     }
 }
@@ -1,20 +1,40 @@
 package io.github.a5h73y.parkour.type.player.quiet;
 
 import de.leonhard.storage.Yaml;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
 import java.io.File;
 import java.util.List;
+import org.jetbrains.annotations.Nullable;
 
 public class QuietModeConfig extends Yaml {
 
-    public QuietModeConfig(File file) {
+    private final PlayerDataStore playerDataStore;
+
+    /**
+     * Construct the Quiet Mode config.
+     *
+     * @param file quiet players file
+     * @param playerDataStore player data store, or null if the file is used
+     */
+    public QuietModeConfig(File file, @Nullable PlayerDataStore playerDataStore) {
         super(file);
+        this.playerDataStore = playerDataStore;
     }
 
     public List<String> getQuietPlayers() {
-        return this.getStringList("Quiet");
+        return playerDataStore != null ? playerDataStore.getQuietPlayers() : this.getStringList("Quiet");
     }
 
+    /**
+     * Set the names of the Players in Quiet Mode.
+     *
+     * @param players quiet player names
+     */
     public void setQuietPlayers(List<String> players) {
-        this.set("Quiet", players);
+        if (playerDataStore != null) {
+            playerDataStore.setQuietPlayers(players);
+        } else {
+            this.set("Quiet", players);
+        }
     }
 }
@@ -3,7 +3,7 @@ package io.github.a5h73y.parkour.type.player.scoreboard;
 import static io.github.a5h73y.parkour.Parkour.PLUGIN_NAME;
 
 import io.github.a5h73y.parkour.Parkour;
-import io.github.a5h73y.parkour.database.TimeEntry;
+import io.github.a5h73y.parkour.database.DatabaseManager;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
 import io.github.a5h73y.parkour.type.player.session.ParkourSession;
 import io.github.a5h73y.parkour.utility.PluginUtils;
@@ -12,7 +12,6 @@ import io.github.a5h73y.parkour.utility.TranslationUtils;
 import io.github.a5h73y.parkour.utility.time.DateTimeUtils;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -227,16 +226,19 @@ public class ScoreboardManager extends AbstractPluginReceiver {
             return;
         }
 
-        TimeEntry result = parkour.getDatabaseManager().getNthBestTime(playerBoard.getSession().getCourseName(), 1);
-
-        if (scoreboardDetails.get(BEST_TIME_EVER).isEnabled()) {
-            String bestTimeEver = result != null ? DateTimeUtils.displayCurrentTime(result.getTime()) : notCompleted;
-            playerBoard.scoreboard.getTeam(BEST_TIME_EVER).setPrefix(bestTimeEver);
-        }
-        if (scoreboardDetails.get(BEST_TIME_EVER_NAME).isEnabled()) {
-            String bestTimeName = result != null ? result.getPlayerName() : notCompleted;
-            playerBoard.scoreboard.getTeam(BEST_TIME_EVER_NAME).setPrefix(bestTimeName);
-        }
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+        databaseManager.acceptOnMainThread(
+                databaseManager.getNthBestTimeAsync(playerBoard.getSession().getCourseName(), 1), result -> {
+            if (scoreboardDetails.get(BEST_TIME_EVER).isEnabled()) {
+                String bestTimeEver = result != null
+                        ? DateTimeUtils.displayCurrentTime(result.getTime()) : notCompleted;
+                playerBoard.scoreboard.getTeam(BEST_TIME_EVER).setPrefix(bestTimeEver);
+            }
+            if (scoreboardDetails.get(BEST_TIME_EVER_NAME).isEnabled()) {
+                String bestTimeName = result != null ? result.getPlayerName() : notCompleted;
+                playerBoard.scoreboard.getTeam(BEST_TIME_EVER_NAME).setPrefix(bestTimeName);
+            }
+        });
     }
 
     private void setMyBestTimeEver(PlayerScoreboard playerBoard) {
@@ -244,10 +246,13 @@ public class ScoreboardManager extends AbstractPluginReceiver {
             return;
         }
 
-        List<TimeEntry> result = parkour.getDatabaseManager().getTopPlayerCourseResults(
-                playerBoard.getPlayer(), playerBoard.getSession().getCourseName(), 1);
-        String bestTime = !result.isEmpty() ? DateTimeUtils.displayCurrentTime(result.get(0).getTime()) : notCompleted;
-        playerBoard.scoreboard.getTeam(MY_BEST_TIME_EVER).setPrefix(bestTime);
+        DatabaseManager databaseManager = parkour.getDatabaseManager();
+        databaseManager.acceptOnMainThread(databaseManager.getTopPlayerCourseResultsAsync(
+                playerBoard.getPlayer(), playerBoard.getSession().getCourseName(), 1), result -> {
+            String bestTime = !result.isEmpty()
+                    ? DateTimeUtils.displayCurrentTime(result.get(0).getTime()) : notCompleted;
+            playerBoard.scoreboard.getTeam(MY_BEST_TIME_EVER).setPrefix(bestTime);
+        });
     }
 
     private void registerTeam(PlayerScoreboard playerBoard, String key, ScoreboardEntry scoreboardKey) {
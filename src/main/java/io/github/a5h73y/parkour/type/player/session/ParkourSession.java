@@ -206,6 +206,14 @@ public class ParkourSession implements ParkourSerializable {
         this.currentCheckpoint = currentCheckpoint;
     }
 
+    /**
+     * Get the seconds accumulated, counting down when the Course has a maximum time.
+     * @return seconds accumulated
+     */
+    public int getSecondsAccumulated() {
+        return secondsAccumulated;
+    }
+
     /**
      * Get associated {@link Course}.
      * @return course
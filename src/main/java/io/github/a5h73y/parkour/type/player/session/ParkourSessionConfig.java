@@ -19,6 +19,8 @@ import org.jetbrains.annotations.Nullable;
 /**
  * ParkourSession Config class.
  * Convenience methods for accessing the ParkourSession configuration file.
+ * Sessions are saved to each Player's {@link ParkourSessionFile},
+ * these JSON files are migrated into it the first time it's loaded.
  */
 public class ParkourSessionConfig extends Json {
 
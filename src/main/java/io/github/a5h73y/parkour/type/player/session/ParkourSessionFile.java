@@ -0,0 +1,430 @@
+package io.github.a5h73y.parkour.type.player.session;
+
+import io.github.a5h73y.parkour.Parkour;
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.bukkit.util.NumberConversions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Binary file of every saved ParkourSession of a Player.
+ * A single file per Player holds a session for each Course, encoded using variable length numbers.
+ * The file starts with a header of the format identifier and version, followed by the number of sessions.
+ * Each session is prefixed by its Course name and length, so only the session requested is decoded.
+ * Any JSON session files from the Player's sessions folder are migrated into the file the first time it's loaded.
+ * A file which can't be read is moved aside as corrupt, rather than being replaced by the sessions which could be read.
+ */
+public class ParkourSessionFile {
+
+    private static final int MAGIC = 0x504B5353;
+    private static final byte VERSION = 1;
+    private static final String EXTENSION = ".dat";
+    private static final String CORRUPT_EXTENSION = ".corrupt";
+
+    private static final byte HAS_FREEDOM_LOCATION = 1;
+    private static final byte HAS_FREEDOM_WORLD = 2;
+
+    private final File file;
+    private final Map<String, byte[]> sessions = new LinkedHashMap<>();
+
+    private boolean corrupt;
+
+    private ParkourSessionFile(File file) {
+        this.file = file;
+    }
+
+    public static File getPlayerParkourSessionsFile(String playerKey) {
+        return new File(Parkour.getInstance().getConfigManager().getParkourSessionsDir(), playerKey + EXTENSION);
+    }
+
+    /**
+     * Load the Player's ParkourSession file.
+     * The Player's JSON session files are migrated into the file if they exist,
+     * unless the file couldn't be read.
+     *
+     * @param playerKey player key
+     * @return player's parkour session file
+     */
+    @NotNull
+    public static ParkourSessionFile load(@NotNull String playerKey) {
+        ParkourSessionFile sessionFile = new ParkourSessionFile(getPlayerParkourSessionsFile(playerKey));
+        sessionFile.read();
+        if (!sessionFile.corrupt) {
+            sessionFile.migrateJsonSessions(new File(sessionFile.file.getParentFile(), playerKey));
+        }
+        return sessionFile;
+    }
+
+    /**
+     * Save the Player's ParkourSession, keeping their sessions on other Courses.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     * @param sessionData serialized parkour session
+     * @return session was saved
+     */
+    public static boolean save(@NotNull String playerKey, @NotNull String courseName,
+                               @NotNull Map<String, Object> sessionData) {
+        ParkourSessionFile sessionFile = load(playerKey);
+        sessionFile.putSessionData(courseName, sessionData);
+        return sessionFile.write();
+    }
+
+    /**
+     * Delete the Player's ParkourSession for the Course.
+     *
+     * @param playerKey player key
+     * @param courseName course name
+     */
+    public static void delete(@NotNull String playerKey, @NotNull String courseName) {
+        ParkourSessionFile sessionFile = load(playerKey);
+        if (sessionFile.removeSession(courseName)) {
+            sessionFile.write();
+        }
+    }
+
+    /**
+     * Delete every ParkourSession of the Player.
+     *
+     * @param playerKey player key
+     */
+    public static void deleteAll(@NotNull String playerKey) {
+        File sessionsFile = getPlayerParkourSessionsFile(playerKey);
+        try {
+            Files.deleteIfExists(sessionsFile.toPath());
+            deleteFolder(new File(sessionsFile.getParentFile(), playerKey));
+        } catch (IOException e) {
+            PluginUtils.log("Player's sessions couldn't be deleted: " + e.getMessage(), 2);
+        }
+    }
+
+    /**
+     * Read every ParkourSession in the file, without migrating any JSON session files.
+     *
+     * @param file parkour sessions file
+     * @return parkour session file
+     */
+    @NotNull
+    public static ParkourSessionFile read(@NotNull File file) {
+        ParkourSessionFile sessionFile = new ParkourSessionFile(file);
+        sessionFile.read();
+        return sessionFile;
+    }
+
+    /**
+     * Check if the file couldn't be read.
+     * None of its sessions are held, and the file has been moved aside if possible.
+     *
+     * @return the file is corrupt
+     */
+    public boolean isCorrupt() {
+        return corrupt;
+    }
+
+    public boolean hasSession(@NotNull String courseName) {
+        return sessions.containsKey(courseName.toLowerCase());
+    }
+
+    public Set<String> getCourseNames() {
+        return sessions.keySet();
+    }
+
+    /**
+     * Decode the ParkourSession for the Course.
+     *
+     * @param courseName course name
+     * @return serialized parkour session, or null if there isn't a valid session
+     */
+    @Nullable
+    public Map<String, Object> getSessionData(@NotNull String courseName) {
+        byte[] payload = sessions.get(courseName.toLowerCase());
+        if (payload == null) {
+            return null;
+        }
+
+        try {
+            return decodeSession(ByteBuffer.wrap(payload));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            PluginUtils.log("Player's session for " + courseName + " in " + file.getName() + " is invalid.", 1);
+            return null;
+        }
+    }
+
+    /**
+     * Encode the ParkourSession for the Course.
+     *
+     * @param courseName course name
+     * @param sessionData serialized parkour session
+     */
+    public void putSessionData(@NotNull String courseName, @NotNull Map<String, Object> sessionData) {
+        sessions.put(courseName.toLowerCase(), encodeSession(sessionData));
+    }
+
+    public boolean removeSession(@NotNull String courseName) {
+        return sessions.remove(courseName.toLowerCase()) != null;
+    }
+
+    /**
+     * Write every session to the file, or delete the file when there aren't any sessions.
+     * The file is written to a temporary file first, which then replaces the existing file.
+     * A corrupt file which couldn't be moved aside is never replaced.
+     *
+     * @return sessions were written
+     */
+    public boolean write() {
+        Path path = file.toPath();
+        if (corrupt && file.exists()) {
+            PluginUtils.log("Unable to save parkour sessions " + file.getName() + ", the existing file is corrupt.", 2);
+            return false;
+        }
+
+        try {
+            if (sessions.isEmpty()) {
+                Files.deleteIfExists(path);
+                return true;
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            writeVarLong(output, sessions.size());
+            for (Map.Entry<String, byte[]> entry : sessions.entrySet()) {
+                writeString(output, entry.getKey());
+                writeVarLong(output, entry.getValue().length);
+                output.write(entry.getValue());
+            }
+
+            Path partPath = path.resolveSibling(path.getFileName() + ".part");
+            Files.createDirectories(path.getParent());
+            Files.write(partPath, bytes.toByteArray());
+            try {
+                Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+
+        } catch (IOException e) {
+            PluginUtils.log("Unable to save parkour sessions " + file.getName() + ": " + e.getMessage(), 2);
+            return false;
+        }
+    }
+
+    private void read() {
+        if (!file.exists()) {
+            return;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("not a parkour sessions file");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported version " + version);
+            }
+
+            long count = readVarLong(buffer);
+            for (long i = 0; i < count; i++) {
+                String courseName = readString(buffer);
+                byte[] payload = new byte[readLength(buffer)];
+                buffer.get(payload);
+                sessions.put(courseName, payload);
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            PluginUtils.log("Unable to read parkour sessions " + file.getName() + ": " + e.getMessage(), 2);
+            sessions.clear();
+            corrupt = true;
+            moveAside();
+        }
+    }
+
+    /**
+     * Move the corrupt file aside, so it can be recovered manually.
+     */
+    private void moveAside() {
+        Path path = file.toPath();
+        Path corruptPath = path.resolveSibling(path.getFileName() + CORRUPT_EXTENSION);
+        try {
+            Files.move(path, corruptPath, StandardCopyOption.REPLACE_EXISTING);
+            PluginUtils.log("Moved corrupt parkour sessions to " + corruptPath.getFileName() + ".", 1);
+        } catch (IOException e) {
+            PluginUtils.log("Unable to move aside corrupt parkour sessions " + file.getName() + ": " + e.getMessage(), 2);
+        }
+    }
+
+    /**
+     * Migrate the JSON session files from the Player's sessions folder.
+     * A session already in the file is newer than the JSON session, so it is kept.
+     * The folder is deleted once the sessions have been written, unless a session couldn't be migrated.
+     */
+    private void migrateJsonSessions(File sessionsFolder) {
+        File[] jsonFiles = sessionsFolder.listFiles((dir, name) -> name.toLowerCase().endsWith(".json"));
+        if (jsonFiles == null) {
+            return;
+        }
+
+        boolean migrated = true;
+        for (File jsonFile : jsonFiles) {
+            String fileName = jsonFile.getName();
+            String courseName = fileName.substring(0, fileName.length() - ".json".length());
+            if (hasSession(courseName)) {
+                continue;
+            }
+
+            try {
+                String json = new String(Files.readAllBytes(jsonFile.toPath()), StandardCharsets.UTF_8);
+                putSessionData(courseName, new JSONObject(json).toMap());
+            } catch (IOException | JSONException e) {
+                PluginUtils.log("Unable to migrate parkour session " + jsonFile.getPath() + ": " + e.getMessage(), 1);
+                migrated = false;
+            }
+        }
+
+        if (write() && migrated) {
+            try {
+                deleteFolder(sessionsFolder);
+            } catch (IOException e) {
+                PluginUtils.log("Unable to delete " + sessionsFolder.getPath() + ", it should be removed manually.", 1);
+            }
+        }
+    }
+
+    private static void deleteFolder(File folder) throws IOException {
+        if (!folder.exists()) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    private static byte[] encodeSession(Map<String, Object> sessionData) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            writeString(output, String.valueOf(sessionData.get("CourseName")));
+            writeVarLong(output, NumberConversions.toInt(sessionData.get("Deaths")));
+            writeVarLong(output, NumberConversions.toInt(sessionData.get("CurrentCheckpoint")));
+            writeVarLong(output, NumberConversions.toInt(sessionData.get("SecondsAccumulated")));
+            writeVarLong(output, NumberConversions.toLong(sessionData.get("TimeStarted")));
+            writeVarLong(output, NumberConversions.toLong(sessionData.get("TimeAccumulated")));
+
+            Map<String, Object> freedomLocation = (Map<String, Object>) sessionData.get("FreedomLocation");
+            if (freedomLocation == null) {
+                output.writeByte(0);
+                return bytes.toByteArray();
+            }
+
+            Object world = freedomLocation.get("world");
+            output.writeByte(HAS_FREEDOM_LOCATION | (world != null ? HAS_FREEDOM_WORLD : 0));
+            if (world != null) {
+                writeString(output, String.valueOf(world));
+            }
+            output.writeDouble(NumberConversions.toDouble(freedomLocation.get("x")));
+            output.writeDouble(NumberConversions.toDouble(freedomLocation.get("y")));
+            output.writeDouble(NumberConversions.toDouble(freedomLocation.get("z")));
+            output.writeFloat(NumberConversions.toFloat(freedomLocation.get("yaw")));
+            output.writeFloat(NumberConversions.toFloat(freedomLocation.get("pitch")));
+
+        } catch (IOException e) {
+            // writing to memory can't fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, Object> decodeSession(ByteBuffer buffer) {
+        HashMap<String, Object> sessionData = new HashMap<>();
+        sessionData.put("CourseName", readString(buffer));
+        sessionData.put("Deaths", (int) readVarLong(buffer));
+        sessionData.put("CurrentCheckpoint", (int) readVarLong(buffer));
+        sessionData.put("SecondsAccumulated", (int) readVarLong(buffer));
+        sessionData.put("TimeStarted", readVarLong(buffer));
+        sessionData.put("TimeAccumulated", readVarLong(buffer));
+
+        byte flags = buffer.get();
+        if ((flags & HAS_FREEDOM_LOCATION) != 0) {
+            HashMap<String, Object> freedomLocation = new HashMap<>();
+            if ((flags & HAS_FREEDOM_WORLD) != 0) {
+                freedomLocation.put("world", readString(buffer));
+            }
+            freedomLocation.put("x", buffer.getDouble());
+            freedomLocation.put("y", buffer.getDouble());
+            freedomLocation.put("z", buffer.getDouble());
+            freedomLocation.put("yaw", buffer.getFloat());
+            freedomLocation.put("pitch", buffer.getFloat());
+            sessionData.put("FreedomLocation", freedomLocation);
+        }
+        return sessionData;
+    }
+
+    /**
+     * Write the number using as few bytes as possible, 7 bits per byte.
+     * The sign is zigzag encoded, so small negative numbers are also small.
+     */
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        output.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = buffer.get();
+            zigzag |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("malformed number");
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid length " + length);
+        }
+        return (int) length;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,400 @@
+package io.github.a5h73y.parkour.type.player.session;
+
+import io.github.a5h73y.parkour.utility.PluginUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Append-only journal of the active Parkour Sessions.
+ * Each change to a session is appended as a small record, which are written and synced to the file
+ * in batches off the main thread, so sessions in progress can be recovered when the server stops without saving them.
+ * The journal is periodically compacted into a single record per active session to keep it small.
+ * Each record is prefixed with its length and checksum, so a record partially written during a crash is ignored.
+ */
+public class ParkourSessionJournal {
+
+    private static final byte START = 1;
+    private static final byte CHECKPOINT = 2;
+    private static final byte DEATH = 3;
+    private static final byte TIME = 4;
+    private static final byte END = 5;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAXIMUM_RECORD_BYTES = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final File journalFile;
+    private final Object pendingLock = new Object();
+
+    private List<byte[]> pendingRecords = new ArrayList<>();
+    private List<byte[]> compactedRecords;
+
+    private FileChannel channel;
+    private ScheduledExecutorService writer;
+
+    public ParkourSessionJournal(@NotNull File journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Recover the sessions which were still active when the journal was last written.
+     * The records are replayed in order, stopping at the first record which is incomplete or corrupt.
+     *
+     * @return serialized ParkourSession of each Player
+     */
+    @NotNull
+    public Map<UUID, Map<String, Object>> recover() {
+        Map<UUID, Map<String, Object>> sessions = new LinkedHashMap<>();
+        if (!journalFile.exists()) {
+            return sessions;
+        }
+
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile.toPath()));
+        } catch (IOException e) {
+            PluginUtils.log("Unable to read the session journal: " + e.getMessage(), 2);
+            return sessions;
+        }
+
+        CRC32 checksum = new CRC32();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int position = buffer.position();
+            int length = buffer.getInt();
+            int expectedChecksum = buffer.getInt();
+            if (length <= 0 || length > MAXIMUM_RECORD_BYTES || length > buffer.remaining()) {
+                buffer.position(position);
+                break;
+            }
+
+            byte[] record = new byte[length];
+            buffer.get(record);
+            checksum.reset();
+            checksum.update(record, 0, length);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                buffer.position(position);
+                break;
+            }
+
+            try {
+                applyRecord(sessions, record);
+            } catch (IOException e) {
+                buffer.position(position);
+                break;
+            }
+        }
+
+        if (buffer.hasRemaining()) {
+            PluginUtils.log("Ignored " + buffer.remaining() + " bytes of the session journal which were incomplete.", 1);
+        }
+        return sessions;
+    }
+
+    /**
+     * Open the journal, discarding any previous records.
+     * Appended records are written and synced to the file every interval.
+     *
+     * @param flushIntervalMillis milliseconds between each write
+     * @return the journal was opened
+     */
+    public boolean open(long flushIntervalMillis) {
+        try {
+            Files.createDirectories(journalFile.getParentFile().toPath());
+            channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            PluginUtils.log("Unable to open the session journal: " + e.getMessage(), 2);
+            return false;
+        }
+
+        long interval = Math.max(1, flushIntervalMillis);
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Parkour Session Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::writePendingRecords, interval, interval, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Close the journal, once the pending records have been written.
+     *
+     * @param discard delete the journal, as every session has been saved
+     */
+    public void close(boolean discard) {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            if (!discard) {
+                writePendingRecords();
+            }
+
+            try {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+                if (discard) {
+                    Files.deleteIfExists(journalFile.toPath());
+                }
+            } catch (IOException e) {
+                PluginUtils.log("Unable to close the session journal: " + e.getMessage(), 2);
+            }
+        }
+    }
+
+    /**
+     * Record the Player's session in full.
+     * Used when the session is started, or its progress reset.
+     *
+     * @param playerId player UUID
+     * @param session parkour session
+     */
+    public void start(@NotNull UUID playerId, @NotNull ParkourSession session) {
+        append(createStartRecord(playerId, session));
+    }
+
+    /**
+     * Record the Player achieving a Checkpoint.
+     *
+     * @param playerId player UUID
+     * @param session parkour session
+     */
+    public void checkpoint(@NotNull UUID playerId, @NotNull ParkourSession session) {
+        append(createRecord(CHECKPOINT, playerId, output -> {
+            output.writeInt(session.getCurrentCheckpoint());
+            output.writeLong(session.getCurrentTime());
+        }));
+    }
+
+    /**
+     * Record the Player dying.
+     *
+     * @param playerId player UUID
+     * @param session parkour session
+     */
+    public void death(@NotNull UUID playerId, @NotNull ParkourSession session) {
+        append(createRecord(DEATH, playerId, output -> {
+            output.writeInt(session.getDeaths());
+            output.writeLong(session.getCurrentTime());
+        }));
+    }
+
+    /**
+     * Record the time the Player has spent on the Course.
+     *
+     * @param playerId player UUID
+     * @param session parkour session
+     */
+    public void time(@NotNull UUID playerId, @NotNull ParkourSession session) {
+        append(createRecord(TIME, playerId, output -> {
+            output.writeInt(session.getSecondsAccumulated());
+            output.writeLong(session.getCurrentTime());
+        }));
+    }
+
+    /**
+     * Record the Player's session ending.
+     *
+     * @param playerId player UUID
+     */
+    public void end(@NotNull UUID playerId) {
+        append(createRecord(END, playerId, output -> { }));
+    }
+
+    /**
+     * Compact the journal into a single record of each active session.
+     * The records are created immediately, then replace the journal when it's next written.
+     *
+     * @param sessions active parkour sessions
+     */
+    public void compact(@NotNull Map<UUID, ParkourSession> sessions) {
+        List<byte[]> records = new ArrayList<>(sessions.size());
+        sessions.forEach((playerId, session) -> records.add(createStartRecord(playerId, session)));
+
+        synchronized (pendingLock) {
+            // the pending records are superseded by the compacted records
+            pendingRecords = new ArrayList<>();
+            compactedRecords = records;
+        }
+    }
+
+    private void append(byte[] record) {
+        if (record == null) {
+            return;
+        }
+
+        synchronized (pendingLock) {
+            pendingRecords.add(record);
+        }
+    }
+
+    private synchronized void writePendingRecords() {
+        List<byte[]> records;
+        List<byte[]> compacted;
+        synchronized (pendingLock) {
+            records = pendingRecords;
+            compacted = compactedRecords;
+            pendingRecords = new ArrayList<>();
+            compactedRecords = null;
+        }
+
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            if (compacted != null) {
+                replaceJournal(compacted);
+            }
+            if (!records.isEmpty()) {
+                writeRecords(channel, records);
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            PluginUtils.log("Unable to write the session journal: " + e.getMessage(), 2);
+        }
+    }
+
+    private void replaceJournal(List<byte[]> records) throws IOException {
+        Path path = journalFile.toPath();
+        Path partPath = path.resolveSibling(path.getFileName() + ".part");
+
+        try (FileChannel partChannel = FileChannel.open(partPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecords(partChannel, records);
+            partChannel.force(true);
+        }
+
+        channel.close();
+        try {
+            Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private void writeRecords(FileChannel fileChannel, List<byte[]> records) throws IOException {
+        int size = 0;
+        for (byte[] record : records) {
+            size += HEADER_BYTES + record.length;
+        }
+
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] record : records) {
+            checksum.reset();
+            checksum.update(record, 0, record.length);
+            buffer.putInt(record.length).putInt((int) checksum.getValue()).put(record);
+        }
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    private byte[] createStartRecord(UUID playerId, ParkourSession session) {
+        return createRecord(START, playerId, output -> {
+            output.writeUTF(session.getCourseName());
+            output.writeInt(session.getDeaths());
+            output.writeInt(session.getCurrentCheckpoint());
+            output.writeInt(session.getSecondsAccumulated());
+            output.writeLong(session.getCurrentTime());
+        });
+    }
+
+    private byte[] createRecord(byte type, UUID playerId, RecordWriter recordWriter) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(type);
+            output.writeLong(playerId.getMostSignificantBits());
+            output.writeLong(playerId.getLeastSignificantBits());
+            recordWriter.write(output);
+        } catch (IOException e) {
+            PluginUtils.log("Unable to create session journal record: " + e.getMessage(), 2);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private void applyRecord(Map<UUID, Map<String, Object>> sessions, byte[] record) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = input.readByte();
+        UUID playerId = new UUID(input.readLong(), input.readLong());
+
+        if (type == START) {
+            Map<String, Object> session = new HashMap<>();
+            session.put("CourseName", input.readUTF());
+            session.put("Deaths", input.readInt());
+            session.put("CurrentCheckpoint", input.readInt());
+            session.put("SecondsAccumulated", input.readInt());
+            session.put("TimeAccumulated", input.readLong());
+            sessions.put(playerId, session);
+            return;
+        }
+
+        if (type == END) {
+            sessions.remove(playerId);
+            return;
+        }
+
+        Map<String, Object> session = sessions.get(playerId);
+        if (session == null) {
+            return;
+        }
+
+        switch (type) {
+            case CHECKPOINT:
+                session.put("CurrentCheckpoint", input.readInt());
+                break;
+            case DEATH:
+                session.put("Deaths", input.readInt());
+                break;
+            case TIME:
+                session.put("SecondsAccumulated", input.readInt());
+                break;
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+        session.put("TimeAccumulated", input.readLong());
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
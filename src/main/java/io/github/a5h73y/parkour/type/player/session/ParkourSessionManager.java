@@ -4,6 +4,7 @@ import static io.github.a5h73y.parkour.other.ParkourConstants.TEST_MODE;
 
 import io.github.a5h73y.parkour.Parkour;
 import io.github.a5h73y.parkour.commands.CommandProcessor;
+import io.github.a5h73y.parkour.database.PlayerDataStore;
 import io.github.a5h73y.parkour.other.AbstractPluginReceiver;
 import io.github.a5h73y.parkour.other.ParkourConstants;
 import io.github.a5h73y.parkour.type.Initializable;
@@ -11,25 +12,34 @@ import io.github.a5h73y.parkour.type.Teardownable;
 import io.github.a5h73y.parkour.type.course.Course;
 import io.github.a5h73y.parkour.type.player.PlayerConfig;
 import io.github.a5h73y.parkour.utility.PlayerUtils;
+import io.github.a5h73y.parkour.utility.PluginUtils;
 import io.github.a5h73y.parkour.utility.TranslationUtils;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
-import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
 
 /**
  * Parkour Session Manager.
@@ -38,11 +48,16 @@ import org.jetbrains.annotations.Nullable;
  */
 public class ParkourSessionManager extends AbstractPluginReceiver implements CommandProcessor, Teardownable, Initializable {
 
-	private final Map<UUID, ParkourSession> parkourPlayers = new WeakHashMap<>();
+	private final Map<UUID, ParkourSession> parkourPlayers = new ConcurrentHashMap<>();
+	private final Map<String, Set<UUID>> courseSessions = new ConcurrentHashMap<>();
 	private final Set<UUID> hiddenPlayers = new HashSet<>();
 
 	private final Map<String, Consumer<Player>> sessionActions = new HashMap<>();
 
+	@Nullable
+	private ParkourSessionJournal sessionJournal;
+	private long sessionJournalCompacted;
+
 	public ParkourSessionManager(final Parkour parkour) {
 		super(parkour);
 		populateSessionActions();
@@ -55,6 +70,9 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 
 	@Override
 	public void initialize() {
+		if (parkour.getParkourConfig().getBoolean("Other.PlayerData.SessionJournal.Enabled")) {
+			openSessionJournal();
+		}
 		populateParkourPlayers();
 	}
 
@@ -65,7 +83,17 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	 * @param session ParkourSession
 	 */
 	public ParkourSession addPlayer(Player player, ParkourSession session) {
-		parkourPlayers.put(player.getUniqueId(), session);
+		UUID playerId = player.getUniqueId();
+		ParkourSession previousSession = parkourPlayers.put(playerId, session);
+		if (previousSession != null) {
+			removeCourseSession(previousSession.getCourseName(), playerId);
+		}
+		courseSessions.compute(getCourseKey(session.getCourseName()), (key, playerIds) -> {
+			Set<UUID> results = playerIds == null ? ConcurrentHashMap.newKeySet() : playerIds;
+			results.add(playerId);
+			return results;
+		});
+		journalSession(player, session);
 		return session;
 	}
 
@@ -75,13 +103,25 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	 * @param player target player
 	 */
 	public void removePlayer(Player player) {
-		if (player != null && isPlaying(player)) {
-			parkourPlayers.remove(player.getUniqueId());
+		if (player != null) {
+			ParkourSession session = parkourPlayers.remove(player.getUniqueId());
+			if (session != null) {
+				removeCourseSession(session.getCourseName(), player.getUniqueId());
+				if (sessionJournal != null && !isTestModeSession(session)) {
+					sessionJournal.end(player.getUniqueId());
+				}
+			}
 		}
 	}
 
+	/**
+	 * Get a read-only view of each Player's {@link ParkourSession}.
+	 * Sessions must be added and removed through the manager, to keep the course index in sync.
+	 *
+	 * @return parkour players
+	 */
 	public Map<UUID, ParkourSession> getParkourPlayers() {
-		return parkourPlayers;
+		return Collections.unmodifiableMap(parkourPlayers);
 	}
 
 	/**
@@ -150,9 +190,8 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	 * @return number of players
 	 */
 	public int getNumberOfPlayersOnCourse(@NotNull String courseName) {
-		return (int) parkourPlayers.values().stream()
-				.filter(parkourSession -> parkourSession.getCourseName().equalsIgnoreCase(courseName))
-				.count();
+		Set<UUID> playerIds = courseSessions.get(getCourseKey(courseName));
+		return playerIds == null ? 0 : playerIds.size();
 	}
 
 	/**
@@ -162,25 +201,88 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	 * @return list of player names
 	 */
 	public List<String> getPlayerNamesOnCourse(@NotNull String courseName) {
-		return parkourPlayers.entrySet().stream()
-				.filter(session -> session.getValue().getCourseName().equals(courseName))
-				.map(session -> Bukkit.getPlayer(session.getKey()))
-				.filter(Objects::nonNull)
-				.map(HumanEntity::getName)
-				.collect(Collectors.toList());
+		Set<UUID> playerIds = courseSessions.get(getCourseKey(courseName));
+		if (playerIds == null) {
+			return Collections.emptyList();
+		}
+
+		List<String> playerNames = new ArrayList<>(playerIds.size());
+		for (UUID playerId : playerIds) {
+			Player player = Bukkit.getPlayer(playerId);
+			if (player != null) {
+				playerNames.add(player.getName());
+			}
+		}
+		return playerNames;
 	}
 
 	/**
 	 * Teardown all active Parkour Players.
 	 * Remove all in-memory references to each player, persisting any data to a file.
+	 * Each session is captured on the main thread, then the sessions are written in parallel.
 	 */
 	@Override
 	public void teardown() {
-		for (UUID uuid : parkourPlayers.keySet()) {
-			Player player = Bukkit.getPlayer(uuid);
-			saveParkourSession(player, false);
-		}
+		List<ParkourSessionSnapshot> snapshots = new ArrayList<>(parkourPlayers.size());
+		parkourPlayers.forEach((playerId, session) -> {
+			if (!isTestModeSession(session)) {
+				OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
+				session.markTimeAccumulated();
+				parkour.getConfigManager().getPlayerConfig(player).setExistingSessionCourseName(session.getCourseName());
+				snapshots.add(new ParkourSessionSnapshot(player, session));
+			}
+		});
 		parkourPlayers.clear();
+		courseSessions.clear();
+
+		int persisted = persistParkourSessions(snapshots);
+		if (!snapshots.isEmpty()) {
+			PluginUtils.log("Saved " + persisted + " of " + snapshots.size() + " parkour sessions.",
+					persisted < snapshots.size() ? 2 : 0);
+		}
+
+		if (sessionJournal != null) {
+			// once every session has been saved there is nothing to recover
+			sessionJournal.close(persisted == snapshots.size());
+			sessionJournal = null;
+		}
+	}
+
+	/**
+	 * Record the Player's session in full to the session journal.
+	 * Used when the session is started, or its progress or time is reset.
+	 *
+	 * @param player player
+	 * @param session parkour session
+	 */
+	public void journalSession(Player player, ParkourSession session) {
+		if (sessionJournal != null && !isTestModeSession(session)) {
+			sessionJournal.start(player.getUniqueId(), session);
+		}
+	}
+
+	/**
+	 * Record the Player achieving a Checkpoint to the session journal.
+	 *
+	 * @param player player
+	 * @param session parkour session
+	 */
+	public void journalCheckpoint(Player player, ParkourSession session) {
+		if (sessionJournal != null && !isTestModeSession(session)) {
+			sessionJournal.checkpoint(player.getUniqueId(), session);
+		}
+	}
+
+	/**
+	 * Record the Player dying to the session journal.
+	 *
+	 * @param player player
+	 * @param session parkour session
+	 */
+	public void journalDeath(Player player, ParkourSession session) {
+		if (sessionJournal != null && !isTestModeSession(session)) {
+			sessionJournal.death(player.getUniqueId(), session);
+		}
 	}
 
 	/**
@@ -195,8 +297,7 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 
 		if (session != null && !session.getCourseName().equals(TEST_MODE)) {
 			session.markTimeAccumulated();
-			parkour.getConfigManager().getPlayerConfig(player).setExistingSessionCourseName(session.getCourseName());
-			ParkourSessionConfig.getConfig(player, session.getCourseName()).saveParkourSession(session);
+			persistParkourSession(player, session);
 		}
 
 		if (removePlaying) {
@@ -214,12 +315,12 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	public ParkourSession loadParkourSession(Player player, String courseName) {
 		ParkourSession result = null;
 
-		if (courseName != null && ParkourSessionConfig.hasParkourSessionConfig(player, courseName)) {
-			ParkourSessionConfig config = ParkourSessionConfig.getConfig(player, courseName);
+		Map<String, Object> sessionData = courseName != null ? findParkourSessionData(player, courseName) : null;
 
+		if (sessionData != null) {
 			// course is populated by deserializing
-			if (parkour.getCourseManager().doesCourseExist(config.getCourseName())) {
-				ParkourSession session = config.getParkourSession();
+			if (parkour.getCourseManager().doesCourseExist((String) sessionData.get("CourseName"))) {
+				ParkourSession session = ParkourSession.deserialize(sessionData);
 				session.recalculateTime();
 				session.setStartTimer(true);
 				addPlayer(player, session);
@@ -241,11 +342,180 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 	 * @param player player
 	 */
 	public void deleteParkourSession(OfflinePlayer player, String courseName) {
-		ParkourSessionConfig.deleteParkourSessionFile(player, courseName);
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		if (playerDataStore != null) {
+			playerDataStore.deleteParkourSession(getPlayerKey(player), courseName);
+		} else {
+			ParkourSessionFile.delete(getPlayerKey(player), courseName);
+		}
+	}
+
+	/**
+	 * Find the Player's saved ParkourSession data for the Course.
+	 *
+	 * @param player player
+	 * @param courseName course name
+	 * @return parkour session data, or null if there isn't a saved session
+	 */
+	@Nullable
+	private Map<String, Object> findParkourSessionData(OfflinePlayer player, String courseName) {
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		if (playerDataStore != null) {
+			String data = playerDataStore.loadParkourSession(getPlayerKey(player), courseName);
+			return data != null ? new JSONObject(data).toMap() : null;
+		}
+
+		return ParkourSessionFile.load(getPlayerKey(player)).getSessionData(courseName);
+	}
+
+	/**
+	 * Persist the ParkourSession, as the Player's existing session.
+	 *
+	 * @param player player
+	 * @param session parkour session with the time accumulated marked
+	 */
+	private void persistParkourSession(OfflinePlayer player, ParkourSession session) {
+		parkour.getConfigManager().getPlayerConfig(player).setExistingSessionCourseName(session.getCourseName());
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		if (playerDataStore != null) {
+			playerDataStore.saveParkourSession(getPlayerKey(player), session.getCourseName(),
+					new JSONObject(session.serialize()).toString());
+		} else {
+			ParkourSessionFile.save(getPlayerKey(player), session.getCourseName(), session.serialize());
+		}
+	}
+
+	/**
+	 * Persist the captured sessions in parallel, waiting until they have been written or the timeout has passed.
+	 *
+	 * @param snapshots parkour session snapshots
+	 * @return number of sessions persisted
+	 */
+	private int persistParkourSessions(List<ParkourSessionSnapshot> snapshots) {
+		if (snapshots.isEmpty()) {
+			return 0;
+		}
+
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		List<Callable<Boolean>> tasks = new ArrayList<>(snapshots.size());
+		for (ParkourSessionSnapshot snapshot : snapshots) {
+			tasks.add(() -> persistParkourSession(snapshot, playerDataStore));
+		}
+
+		int threads = Math.max(1, Math.min(snapshots.size(),
+				parkour.getParkourConfig().getInt("Other.PlayerData.SessionSaveThreads")));
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				runnable -> new Thread(runnable, "Parkour Session Writer"));
+
+		int persisted = 0;
+		try {
+			List<Future<Boolean>> results = executor.invokeAll(tasks,
+					parkour.getParkourConfig().getInt("Other.PlayerData.SessionSaveTimeoutSeconds"), TimeUnit.SECONDS);
+			for (Future<Boolean> result : results) {
+				if (!result.isCancelled() && Boolean.TRUE.equals(result.get())) {
+					persisted++;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			PluginUtils.log("Unable to save parkour session: " + e.getMessage(), 2);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// the sessions are only held by the store until flushed
+		if (playerDataStore != null && !playerDataStore.flushPlayerData()) {
+			persisted = 0;
+		}
+		return persisted;
+	}
+
+	private boolean persistParkourSession(ParkourSessionSnapshot snapshot, @Nullable PlayerDataStore playerDataStore) {
+		try {
+			if (playerDataStore != null) {
+				playerDataStore.saveParkourSession(snapshot.getPlayerKey(), snapshot.getCourseName(), snapshot.toJson());
+				return true;
+			}
+			return ParkourSessionFile.save(snapshot.getPlayerKey(), snapshot.getCourseName(), snapshot.getData());
+
+		} catch (RuntimeException e) {
+			PluginUtils.log("Unable to save parkour session of " + snapshot.getPlayerKey() + ": " + e.getMessage(), 2);
+			return false;
+		}
+	}
+
+	/**
+	 * Open the session journal.
+	 * Any sessions remaining in the journal weren't saved before the server stopped,
+	 * so they are recovered and saved before the journal is started afresh.
+	 */
+	private void openSessionJournal() {
+		ParkourSessionJournal journal = new ParkourSessionJournal(
+				new File(parkour.getConfigManager().getOtherDir(), "session-journal.dat"));
+
+		int recovered = 0;
+		for (Map.Entry<UUID, Map<String, Object>> entry : journal.recover().entrySet()) {
+			if (!parkour.getCourseManager().doesCourseExist((String) entry.getValue().get("CourseName"))) {
+				continue;
+			}
+
+			OfflinePlayer player = Bukkit.getOfflinePlayer(entry.getKey());
+			persistParkourSession(player, ParkourSession.deserialize(entry.getValue()));
+			parkour.getConfigManager().savePlayerConfig(player);
+			recovered++;
+		}
+
+		if (recovered > 0) {
+			PluginUtils.log("Recovered " + recovered + " parkour sessions from the session journal.");
+		}
+
+		if (!journal.open(parkour.getParkourConfig().getInt("Other.PlayerData.SessionJournal.FlushIntervalMillis"))) {
+			return;
+		}
+
+		sessionJournal = journal;
+		startSessionJournalRunnable();
+	}
+
+	/**
+	 * Periodically record the time of each session to the session journal.
+	 * The journal is compacted into the current state of each session once the compact interval has passed.
+	 */
+	private void startSessionJournalRunnable() {
+		long intervalTicks = Math.max(1,
+				parkour.getParkourConfig().getInt("Other.PlayerData.SessionJournal.TimeIntervalSeconds")) * 20L;
+		long compactIntervalMillis = TimeUnit.MINUTES.toMillis(
+				parkour.getParkourConfig().getInt("Other.PlayerData.SessionJournal.CompactIntervalMinutes"));
+		sessionJournalCompacted = System.currentTimeMillis();
+
+		Bukkit.getScheduler().runTaskTimer(parkour, () -> {
+			if (sessionJournal == null) {
+				return;
+			}
+
+			Map<UUID, ParkourSession> sessions = new HashMap<>();
+			parkourPlayers.forEach((playerId, session) -> {
+				if (!isTestModeSession(session)) {
+					sessions.put(playerId, session);
+				}
+			});
+
+			if (System.currentTimeMillis() - sessionJournalCompacted >= compactIntervalMillis) {
+				sessionJournal.compact(sessions);
+				sessionJournalCompacted = System.currentTimeMillis();
+			} else {
+				sessions.forEach(sessionJournal::time);
+			}
+		}, intervalTicks, intervalTicks);
+	}
+
+	private String getPlayerKey(OfflinePlayer player) {
+		return parkour.getParkourConfig().getPlayerConfigName(player);
 	}
 
 	private boolean isTestModeSession(@NotNull ParkourSession session) {
-		return ParkourConstants.TEST_MODE.equals(session.getCourse().getName());
+		return ParkourConstants.TEST_MODE.equals(session.getCourseName());
 	}
 
 	/**
@@ -260,7 +530,7 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 				continue;
 			}
 
-			PlayerConfig playerConfig = PlayerConfig.getConfig(onlinePlayer);
+			PlayerConfig playerConfig = parkour.getConfigManager().getPlayerConfig(onlinePlayer);
 			if (!playerConfig.hasExistingSessionCourseName()) {
 				continue;
 			}
@@ -285,12 +555,31 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 		}
 	}
 
+	/**
+	 * Delete every saved ParkourSession of the Player.
+	 *
+	 * @param targetPlayer target player
+	 */
 	public void deleteParkourSessions(OfflinePlayer targetPlayer) {
-		ParkourSessionConfig.deleteParkourSessions(targetPlayer);
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		if (playerDataStore != null) {
+			playerDataStore.deleteParkourSessions(getPlayerKey(targetPlayer));
+		} else {
+			ParkourSessionFile.deleteAll(getPlayerKey(targetPlayer));
+		}
 	}
 
+	/**
+	 * Check if the Player has a saved ParkourSession for the Course.
+	 *
+	 * @param player player
+	 * @param course course
+	 * @return player has a saved session
+	 */
 	public boolean hasValidParkourSessionFile(Player player, Course course) {
-		return ParkourSessionConfig.hasParkourSessionConfig(player, course.getName());
+		PlayerDataStore playerDataStore = parkour.getConfigManager().getPlayerDataStore();
+		return playerDataStore != null ? playerDataStore.hasParkourSession(getPlayerKey(player), course.getName())
+				: ParkourSessionFile.load(getPlayerKey(player)).hasSession(course.getName());
 	}
 
 	public void toggleVisibility(Player player) {
@@ -436,4 +725,15 @@ public class ParkourSessionManager extends AbstractPluginReceiver implements Com
 		sessionActions.put("manualcheckpoint", player -> parkour.getPlayerManager().setManualCheckpoint(player, null));
 		sessionActions.put("quiet", player -> parkour.getQuietModeManager().toggleQuietMode(player));
 	}
+
+	private void removeCourseSession(String courseName, UUID playerId) {
+		courseSessions.computeIfPresent(getCourseKey(courseName), (key, playerIds) -> {
+			playerIds.remove(playerId);
+			return playerIds.isEmpty() ? null : playerIds;
+		});
+	}
+
+	private String getCourseKey(String courseName) {
+		return courseName.toLowerCase();
+	}
 }
@@ -0,0 +1,53 @@
+package io.github.a5h73y.parkour.type.player.session;
+
+import io.github.a5h73y.parkour.Parkour;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONObject;
+
+/**
+ * Immutable snapshot of a Player's {@link ParkourSession}.
+ * Captured on the main thread, so the session can be serialized and written from another thread.
+ */
+public class ParkourSessionSnapshot {
+
+    private final String playerKey;
+    private final String courseName;
+    private final Map<String, Object> data;
+
+    /**
+     * Capture the Player's ParkourSession.
+     *
+     * @param player player
+     * @param session parkour session with the time accumulated marked
+     */
+    public ParkourSessionSnapshot(@NotNull OfflinePlayer player, @NotNull ParkourSession session) {
+        this.playerKey = Parkour.getDefaultConfig().getPlayerConfigName(player);
+        this.courseName = session.getCourseName();
+        this.data = Collections.unmodifiableMap(new HashMap<>(session.serialize()));
+    }
+
+    public String getPlayerKey() {
+        return playerKey;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    /**
+     * Serialize the session to JSON.
+     *
+     * @return session JSON
+     */
+    public String toJson() {
+        return new JSONObject(data).toString();
+    }
+}
@@ -2,6 +2,7 @@ package io.github.a5h73y.parkour.upgrade.major;
 
 import static io.github.a5h73y.parkour.utility.PluginUtils.readContentsOfResource;
 
+import io.github.a5h73y.parkour.database.DatabaseMigrator;
 import io.github.a5h73y.parkour.upgrade.ParkourUpgrader;
 import io.github.a5h73y.parkour.upgrade.TimedUpgradeTask;
 import io.github.a5h73y.parkour.utility.PluginUtils;
@@ -24,6 +25,10 @@ public class DatabaseUpgradeTask extends TimedUpgradeTask {
 	@Override
 	protected boolean doWork() {
 		Database database = getParkourUpgrader().getDatabase();
+		if (database == null) {
+			getParkourUpgrader().getLogger().info("Times are only held in memory, there is nothing to upgrade.");
+			return true;
+		}
 		String sqlResourcePrefix = "sql/" + (database instanceof MySQL ? "mysql" : "sqlite") + "/";
 		PluginUtils.debug("Upgrading the 'time' table.");
 		try {
@@ -38,6 +43,9 @@ public class DatabaseUpgradeTask extends TimedUpgradeTask {
 			database.update("INSERT INTO time (courseId, playerId, time, deaths) "
 					+ "SELECT courseId, playerId, time, deaths FROM time_backup;");
 			database.update("DROP TABLE time_backup;");
+
+			getParkourUpgrader().getLogger().info("Recreating indexes...");
+			new DatabaseMigrator(database).applyMigration(DatabaseMigrator.TIME_INDEXES_VERSION);
 		} catch (SQLException | IOException e) {
 			e.printStackTrace();
 		}
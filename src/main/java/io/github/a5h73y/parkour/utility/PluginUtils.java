@@ -12,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.logging.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
@@ -40,19 +41,20 @@ public class PluginUtils {
      * @param severity (0 - 3)
      */
     public static void log(String message, int severity) {
+        Logger logger = getLogger();
         switch (severity) {
             case 1:
-                Parkour.getInstance().getLogger().warning(message);
+                logger.warning(message);
                 break;
             case 2:
-                Parkour.getInstance().getLogger().severe("! " + message);
+                logger.severe("! " + message);
                 break;
             case 3:
-                Parkour.getInstance().getLogger().info("~ " + message);
+                logger.info("~ " + message);
                 break;
             case 0:
             default:
-                Parkour.getInstance().getLogger().info(message);
+                logger.info(message);
                 break;
         }
     }
@@ -73,7 +75,7 @@ public class PluginUtils {
      * @param message message to log
      */
     public static void debug(String message) {
-        if (Parkour.getDefaultConfig().getOrDefault("Debug", false)) {
+        if (Parkour.getInstance() != null && Parkour.getDefaultConfig().getOrDefault("Debug", false)) {
             log(message, 3);
         }
     }
@@ -109,7 +111,12 @@ public class PluginUtils {
     }
 
     public static String readContentsOfResource(String resourcePath) throws IOException {
-        InputStream inputStream = Parkour.getInstance().getResource(resourcePath);
+        InputStream inputStream = Parkour.getInstance() != null
+                ? Parkour.getInstance().getResource(resourcePath)
+                : PluginUtils.class.getClassLoader().getResourceAsStream(resourcePath);
+        if (inputStream == null) {
+            throw new IOException("Resource not found: " + resourcePath);
+        }
         return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
     }
 
@@ -172,5 +179,15 @@ public class PluginUtils {
         return valid;
     }
 
+    /**
+     * Get the Plugin's logger.
+     * When running outside of the server, such as in the benchmarks, a standalone logger is used.
+     *
+     * @return logger
+     */
+    private static Logger getLogger() {
+        return Parkour.getInstance() != null ? Parkour.getInstance().getLogger() : Logger.getLogger("Parkour");
+    }
+
     private PluginUtils() {}
 }
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS player (
+    playerId CHAR(36) CHARACTER SET ascii PRIMARY KEY NOT NULL,
+    name VARCHAR(16) NOT NULL
+);
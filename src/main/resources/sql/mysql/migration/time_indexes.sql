@@ -0,0 +1,2 @@
+CREATE INDEX time_course_time_idx ON time (courseId, time);
+CREATE INDEX time_course_player_time_idx ON time (courseId, playerId, time);
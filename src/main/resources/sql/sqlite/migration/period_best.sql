@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS period_best (
+    courseId INTEGER NOT NULL,
+    playerId CHAR(36) NOT NULL,
+    periodType VARCHAR(8) NOT NULL,
+    periodStart DECIMAL(13,0) NOT NULL,
+    time DECIMAL(13,0) NOT NULL,
+    deaths INT(5) NOT NULL,
+    achieved TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (courseId, periodType, periodStart, playerId),
+    FOREIGN KEY (courseId) REFERENCES course(courseId) ON DELETE CASCADE ON UPDATE CASCADE
+);
+CREATE INDEX IF NOT EXISTS period_best_course_time_idx ON period_best (courseId, periodType, periodStart, time);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS personal_best (
+    courseId INTEGER NOT NULL,
+    playerId CHAR(36) NOT NULL,
+    time DECIMAL(13,0) NOT NULL,
+    deaths INT(5) NOT NULL,
+    achieved TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (courseId, playerId),
+    FOREIGN KEY (courseId) REFERENCES course(courseId) ON DELETE CASCADE ON UPDATE CASCADE
+);
+CREATE INDEX IF NOT EXISTS personal_best_course_time_idx ON personal_best (courseId, time);
+INSERT OR IGNORE INTO personal_best (courseId, playerId, time, deaths, achieved)
+    SELECT t.courseId, t.playerId, t.time, t.deaths, t.achieved FROM time t
+    WHERE t.timeId = (SELECT b.timeId FROM time b WHERE b.courseId = t.courseId AND b.playerId = t.playerId
+        ORDER BY b.time, b.timeId LIMIT 1);